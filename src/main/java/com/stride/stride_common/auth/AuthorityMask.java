@@ -0,0 +1,151 @@
+package com.stride.stride_common.auth;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/**
+ * Dense bitset encoding of a principal's roles and permissions.
+ * Bit {@code n} is {@code StrideAuthority.values()[n]}; {@link #CUSTOM} marks principals that also
+ * hold roles outside the platform set. Checks are a single AND; the authority list for a mask is
+ * built once and shared by every principal with the same mask.
+ */
+public final class AuthorityMask {
+
+    /**
+     * Set when the role list contains names that are not StrideAuthority constants
+     */
+    public static final long CUSTOM = 1L << 63;
+
+    private static final StrideAuthority[] AUTHORITIES = StrideAuthority.values();
+    // Permission bits; a role claim carrying a permission name also grants ROLE_<name>
+    private static final long PERMISSIONS = permissions();
+    private static final AtomicReferenceArray<List<GrantedAuthority>> LISTS =
+        new AtomicReferenceArray<>(1 << AUTHORITIES.length);
+    // Custom role authorities are interned up to this many distinct names
+    private static final int MAX_CUSTOM_AUTHORITIES = 1024;
+    private static final ConcurrentHashMap<String, GrantedAuthority> CUSTOM_AUTHORITIES = new ConcurrentHashMap<>();
+
+    private AuthorityMask() {
+    }
+
+    /**
+     * Mask of a role claim. Entries may be role names or permission names.
+     */
+    public static long of(Collection<String> roles) {
+        long mask = 0;
+        if (roles == null) {
+            return mask;
+        }
+        for (String role : roles) {
+            StrideAuthority authority = StrideAuthority.forName(role);
+            mask |= authority != null ? authority.bit() : CUSTOM;
+        }
+        return mask;
+    }
+
+    public static long of(StrideAuthority... authorities) {
+        long mask = 0;
+        for (StrideAuthority authority : authorities) {
+            mask |= authority.bit();
+        }
+        return mask;
+    }
+
+    /**
+     * Mask of an arbitrary Authentication: the precomputed mask of a UserPrincipal, otherwise
+     * derived from its granted authorities. Implied permissions are not included.
+     */
+    public static long of(Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return 0;
+        }
+        if (authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.authorityMask();
+        }
+        long mask = 0;
+        for (GrantedAuthority granted : authentication.getAuthorities()) {
+            StrideAuthority authority = StrideAuthority.forAuthority(granted.getAuthority());
+            if (authority != null) {
+                mask |= authority.bit();
+            }
+        }
+        return mask;
+    }
+
+    public static boolean hasAll(long mask, long required) {
+        return (mask & required) == required;
+    }
+
+    public static boolean hasAny(long mask, long required) {
+        return (mask & required) != 0;
+    }
+
+    /**
+     * Shared immutable authority list for the platform bits of a mask, in StrideAuthority order
+     */
+    public static List<GrantedAuthority> authorities(long mask) {
+        int index = (int) (mask & ~CUSTOM);
+        List<GrantedAuthority> list = LISTS.get(index);
+        if (list == null) {
+            List<GrantedAuthority> built = new ArrayList<>(Long.bitCount(index));
+            for (StrideAuthority authority : AUTHORITIES) {
+                if ((index & authority.bit()) != 0) {
+                    built.add(authority);
+                }
+            }
+            list = List.copyOf(built);
+            LISTS.compareAndSet(index, null, list);
+        }
+        return list;
+    }
+
+    /**
+     * Authorities for a role claim: the shared list when every role is a platform role,
+     * otherwise platform flyweights plus interned authorities for the custom roles. Permission
+     * names in the claim keep their {@code ROLE_<name>} authority next to the bare permission,
+     * so {@code hasRole} checks written against them still match.
+     */
+    public static List<GrantedAuthority> authorities(long mask, Collection<String> roles) {
+        if ((mask & (CUSTOM | PERMISSIONS)) == 0) {
+            return authorities(mask);
+        }
+        List<GrantedAuthority> list = new ArrayList<>(authorities(mask));
+        for (String role : roles) {
+            StrideAuthority authority = StrideAuthority.forName(role);
+            if (authority == null || !authority.isRole()) {
+                list.add(customRole(role));
+            }
+        }
+        return List.copyOf(list);
+    }
+
+    private static long permissions() {
+        long mask = 0;
+        for (StrideAuthority authority : AUTHORITIES) {
+            if (!authority.isRole()) {
+                mask |= authority.bit();
+            }
+        }
+        return mask;
+    }
+
+    private static GrantedAuthority customRole(String role) {
+        GrantedAuthority authority = CUSTOM_AUTHORITIES.get(role);
+        if (authority != null) {
+            return authority;
+        }
+        authority = new SimpleGrantedAuthority("ROLE_" + role);
+        if (CUSTOM_AUTHORITIES.size() < MAX_CUSTOM_AUTHORITIES) {
+            GrantedAuthority existing = CUSTOM_AUTHORITIES.putIfAbsent(role, authority);
+            return existing != null ? existing : authority;
+        }
+        return authority;
+    }
+}
@@ -0,0 +1,258 @@
+package com.stride.stride_common.auth;
+
+import java.util.Arrays;
+
+/**
+ * Minimal pull scanner over one base64url-encoded JSON object inside a JWT, decoding bytes on
+ * demand straight from the token String. Only understands what token checks need: top-level keys,
+ * string comparison and extraction, integers, and skipping.
+ */
+final class Base64UrlJson {
+
+    private static final int[] BASE64URL = new int[128];
+
+    static {
+        Arrays.fill(BASE64URL, -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        for (int i = 0; i < alphabet.length(); i++) {
+            BASE64URL[alphabet.charAt(i)] = i;
+        }
+    }
+
+    private final String token;
+    private final int start;
+    private final int length;
+    private int pos;
+    private int keyStart;
+    private int keyEnd;
+    private boolean malformed;
+
+    Base64UrlJson(String token, int start, int end) {
+        int chars = end - start;
+        this.token = token;
+        this.start = start;
+        // Unpadded base64url: a trailing group of 1 character is impossible
+        this.length = chars % 4 == 1 ? 0 : chars / 4 * 3 + Math.max(0, chars % 4 - 1);
+        this.malformed = chars % 4 == 1;
+    }
+
+    private int byteAt(int index) {
+        int group = start + index / 3 * 4;
+        return switch (index % 3) {
+            case 0 -> (sextet(group) << 2 | sextet(group + 1) >> 4) & 0xFF;
+            case 1 -> (sextet(group + 1) << 4 | sextet(group + 2) >> 2) & 0xFF;
+            default -> (sextet(group + 2) << 6 | sextet(group + 3)) & 0xFF;
+        };
+    }
+
+    private int sextet(int charIndex) {
+        char c = token.charAt(charIndex);
+        if (c >= 128 || BASE64URL[c] < 0) {
+            malformed = true;
+            return 0;
+        }
+        return BASE64URL[c];
+    }
+
+    boolean isMalformed() {
+        return malformed;
+    }
+
+    static boolean isBase64UrlChar(char c) {
+        return c < 128 && BASE64URL[c] >= 0;
+    }
+
+    private int peek() {
+        return pos < length ? byteAt(pos) : -1;
+    }
+
+    private void skipWhitespace() {
+        while (pos < length) {
+            int b = byteAt(pos);
+            if (b != ' ' && b != '\t' && b != '\n' && b != '\r') {
+                return;
+            }
+            pos++;
+        }
+    }
+
+    private boolean fail() {
+        malformed = true;
+        pos = length;
+        return false;
+    }
+
+    boolean beginObject() {
+        skipWhitespace();
+        if (peek() != '{') {
+            return fail();
+        }
+        pos++;
+        return !malformed;
+    }
+
+    /**
+     * Advance to the next top-level key and past its colon; false at the end of the object
+     */
+    boolean nextKey() {
+        if (malformed) {
+            return false;
+        }
+        skipWhitespace();
+        if (peek() == ',') {
+            pos++;
+            skipWhitespace();
+        } else if (peek() == '}') {
+            pos++;
+            return false;
+        }
+        if (peek() != '"') {
+            return fail();
+        }
+        keyStart = pos + 1;
+        if (!skipString()) {
+            return false;
+        }
+        keyEnd = pos - 1;
+        skipWhitespace();
+        if (peek() != ':') {
+            return fail();
+        }
+        pos++;
+        skipWhitespace();
+        return true;
+    }
+
+    boolean keyIs(String name) {
+        return rangeEquals(keyStart, keyEnd, name);
+    }
+
+    boolean valueIsOneOf(String... candidates) {
+        if (peek() != '"') {
+            skipValue();
+            return false;
+        }
+        int valueStart = pos + 1;
+        if (!skipString()) {
+            return false;
+        }
+        for (String candidate : candidates) {
+            if (rangeEquals(valueStart, pos - 1, candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * String value without escape sequences, or null (and the value skipped) for anything else
+     */
+    String readSimpleString() {
+        if (peek() != '"') {
+            skipValue();
+            return null;
+        }
+        int valueStart = pos + 1;
+        if (!skipString()) {
+            return null;
+        }
+        StringBuilder value = new StringBuilder(pos - 1 - valueStart);
+        for (int i = valueStart; i < pos - 1; i++) {
+            int b = byteAt(i);
+            if (b == '\\' || b >= 0x80) {
+                return null;
+            }
+            value.append((char) b);
+        }
+        return value.toString();
+    }
+
+    /**
+     * Integer part of a JSON number; fractions and exponents are not used for NumericDate claims
+     */
+    long readLong() {
+        boolean negative = peek() == '-';
+        if (negative) {
+            pos++;
+        }
+        long value = 0;
+        int digits = 0;
+        for (int b = peek(); b >= '0' && b <= '9'; b = peek()) {
+            if (++digits > 18) {
+                fail();
+                return Long.MIN_VALUE;
+            }
+            value = value * 10 + (b - '0');
+            pos++;
+        }
+        int next = peek();
+        if (digits == 0 || next == '.' || next == 'e' || next == 'E') {
+            fail();
+            return Long.MIN_VALUE;
+        }
+        return negative ? -value : value;
+    }
+
+    void skipValue() {
+        int depth = 0;
+        do {
+            int b = peek();
+            switch (b) {
+                case -1 -> {
+                    fail();
+                    return;
+                }
+                case '"' -> {
+                    if (!skipString()) {
+                        return;
+                    }
+                    continue;
+                }
+                case '{', '[' -> depth++;
+                case '}', ']' -> {
+                    if (depth == 0) {
+                        // End of the enclosing object: a missing value
+                        fail();
+                        return;
+                    }
+                    depth--;
+                }
+                case ',' -> {
+                    if (depth == 0) {
+                        return;
+                    }
+                }
+                default -> { }
+            }
+            pos++;
+        } while (depth > 0 || (peek() != ',' && peek() != '}' && peek() != -1));
+    }
+
+    /**
+     * Skip a string starting at the opening quote; leaves pos after the closing quote
+     */
+    private boolean skipString() {
+        pos++;
+        while (pos < length) {
+            int b = byteAt(pos++);
+            if (b == '\\') {
+                pos++;
+            } else if (b == '"') {
+                return true;
+            }
+        }
+        return fail();
+    }
+
+    private boolean rangeEquals(int from, int to, String expected) {
+        if (to - from != expected.length()) {
+            return false;
+        }
+        for (int i = 0; i < expected.length(); i++) {
+            if (byteAt(from + i) != expected.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
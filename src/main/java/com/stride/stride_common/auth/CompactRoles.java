@@ -0,0 +1,152 @@
+package com.stride.stride_common.auth;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.stride.stride_common.security.SecurityConstants;
+
+/**
+ * Compact {@code rm} claim: a principal's platform roles and permissions as a base64url bitmask,
+ * e.g. {@code "1.CA"} instead of {@code "roles":["TEAM_MEMBER"]}. The leading number selects the
+ * mapping from claim bits to SecurityConstants names. Bits of a published mapping never move, so
+ * tokens minted before an authority is added keep decoding; a new authority means a new version.
+ * Roles outside the platform set have no bit and are only carried by the {@code roles} list.
+ */
+public final class CompactRoles {
+
+    /**
+     * How access tokens carry roles. LIST is the original {@code roles} array, COMPACT only the
+     * {@code rm} claim, BOTH writes both while services that only read {@code roles} are upgraded.
+     * Verification accepts either claim whatever the setting.
+     */
+    public enum Encoding {
+        LIST,
+        BOTH,
+        COMPACT
+    }
+
+    /**
+     * Claim bit {@code n} of mapping version 1 is the n-th name
+     */
+    private static final String[] MAPPING_V1 = {
+        SecurityConstants.ROLE_SUPER_ADMIN,
+        SecurityConstants.ROLE_ORG_ADMIN,
+        SecurityConstants.ROLE_TEAM_ADMIN,
+        SecurityConstants.ROLE_TEAM_MEMBER,
+        SecurityConstants.PERMISSION_CREATE_ORGANIZATION,
+        SecurityConstants.PERMISSION_MANAGE_USERS,
+        SecurityConstants.PERMISSION_MANAGE_TEAMS,
+        SecurityConstants.PERMISSION_CREATE_TASKS,
+        SecurityConstants.PERMISSION_ASSIGN_TASKS,
+        SecurityConstants.PERMISSION_VIEW_ALL_TASKS
+    };
+    private static final int CURRENT_VERSION = 1;
+
+    // AuthorityMask bit of each claim bit, per version (index 0 unused)
+    private static final long[][] CLAIM_TO_MASK = { null, maskBits(MAPPING_V1) };
+    // Claim bit of each AuthorityMask bit in the current version
+    private static final long[] MASK_TO_CLAIM = new long[StrideAuthority.values().length];
+    private static final AtomicReferenceArray<List<String>> NAMES =
+        new AtomicReferenceArray<>(1 << StrideAuthority.values().length);
+
+    static {
+        long[] current = CLAIM_TO_MASK[CURRENT_VERSION];
+        for (int claimBit = 0; claimBit < current.length; claimBit++) {
+            MASK_TO_CLAIM[Long.numberOfTrailingZeros(current[claimBit])] = 1L << claimBit;
+        }
+        for (StrideAuthority authority : StrideAuthority.values()) {
+            if (MASK_TO_CLAIM[authority.ordinal()] == 0) {
+                throw new IllegalStateException("Authority " + authority.getName() + " has no bit in compact role mapping "
+                    + CURRENT_VERSION);
+            }
+        }
+    }
+
+    private CompactRoles() {
+    }
+
+    /**
+     * Claim value for the platform bits of an AuthorityMask (not expanded, as minted from the role list)
+     */
+    public static String encode(long mask) {
+        long claimBits = 0;
+        for (long bits = mask & ~AuthorityMask.CUSTOM; bits != 0; bits &= bits - 1) {
+            claimBits |= MASK_TO_CLAIM[Long.numberOfTrailingZeros(bits)];
+        }
+        int length = Math.max(1, (64 - Long.numberOfLeadingZeros(claimBits) + 7) / 8);
+        byte[] bytes = new byte[length];
+        for (int i = length - 1; i >= 0; i--) {
+            bytes[i] = (byte) claimBits;
+            claimBits >>>= 8;
+        }
+        return CURRENT_VERSION + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * AuthorityMask of a claim value, or -1 when it is malformed or of an unknown mapping version
+     */
+    public static long decode(String claim) {
+        int dot = claim != null ? claim.indexOf('.') : -1;
+        if (dot < 1 || dot == claim.length() - 1) {
+            return -1;
+        }
+        int version;
+        byte[] bytes;
+        try {
+            version = Integer.parseInt(claim, 0, dot, 10);
+            bytes = Base64.getUrlDecoder().decode(claim.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+        if (version < 1 || version >= CLAIM_TO_MASK.length || bytes.length == 0 || bytes.length > 8) {
+            return -1;
+        }
+        long claimBits = 0;
+        for (byte b : bytes) {
+            claimBits = claimBits << 8 | (b & 0xff);
+        }
+        long[] mapping = CLAIM_TO_MASK[version];
+        if (mapping.length < 64 && claimBits >>> mapping.length != 0) {
+            return -1;
+        }
+        long mask = 0;
+        for (long bits = claimBits; bits != 0; bits &= bits - 1) {
+            mask |= mapping[Long.numberOfTrailingZeros(bits)];
+        }
+        return mask;
+    }
+
+    /**
+     * Shared immutable list of the role and permission names of a mask's platform bits,
+     * in StrideAuthority order
+     */
+    public static List<String> names(long mask) {
+        int index = (int) (mask & ~AuthorityMask.CUSTOM);
+        List<String> list = NAMES.get(index);
+        if (list == null) {
+            List<String> built = new ArrayList<>(Long.bitCount(index));
+            for (StrideAuthority authority : StrideAuthority.values()) {
+                if ((index & authority.bit()) != 0) {
+                    built.add(authority.getName());
+                }
+            }
+            list = List.copyOf(built);
+            NAMES.compareAndSet(index, null, list);
+        }
+        return list;
+    }
+
+    private static long[] maskBits(String[] mapping) {
+        long[] bits = new long[mapping.length];
+        for (int i = 0; i < mapping.length; i++) {
+            StrideAuthority authority = StrideAuthority.forName(mapping[i]);
+            if (authority == null) {
+                throw new IllegalStateException("Unknown authority in compact role mapping: " + mapping[i]);
+            }
+            bits[i] = authority.bit();
+        }
+        return bits;
+    }
+}
@@ -16,23 +16,44 @@ public class JwtAuthenticationToken implements Authentication {
     private final String token;
     private final UserPrincipal principal;
     private final List<GrantedAuthority> authorities;
+    private final VerifiedToken verifiedToken;
     private boolean authenticated;
     
     public JwtAuthenticationToken(String token) {
         this.token = token;
         this.principal = null;
         this.authorities = List.of();
+        this.verifiedToken = null;
         this.authenticated = false;
     }
     
     public JwtAuthenticationToken(String token, UserPrincipal principal, 
                                  List<GrantedAuthority> authorities) {
+        this(token, principal, authorities, null);
+    }
+    
+    /**
+     * Authenticated token whose details are the verified claims it was built from
+     */
+    public JwtAuthenticationToken(String token, UserPrincipal principal, 
+                                 List<GrantedAuthority> authorities, VerifiedToken verifiedToken) {
         this.token = token;
         this.principal = principal;
         this.authorities = authorities;
+        this.verifiedToken = verifiedToken;
         this.authenticated = true;
     }
     
+    /**
+     * Authenticated token for a verified access token, with the principal built from its claims
+     */
+    public static JwtAuthenticationToken of(String token, VerifiedToken verified) {
+        UserPrincipal principal = new UserPrincipal(
+            verified.subject(), verified.subject(), verified.organizationId(), verified.roles(), true,
+            verified.authorityMask());
+        return new JwtAuthenticationToken(token, principal, principal.getAuthorities(), verified);
+    }
+    
     @Override
     public Object getCredentials() {
         return token;
@@ -68,6 +89,6 @@ public class JwtAuthenticationToken implements Authentication {
     
     @Override
     public Object getDetails() {
-        return null;
+        return verifiedToken;
     }
 }
\ No newline at end of file
@@ -0,0 +1,246 @@
+package com.stride.stride_common.auth;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.Key;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKey;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.stride.stride_common.exceptions.AuthenticationException;
+
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.PrivateJwk;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Verification keys indexed by {@code kid}, loaded from a local JWKS file
+ * ({@code stride.jwt.keys.jwks-location}) and reloaded in the background when the file changes.
+ * Supports HS256/384/512 (oct), RS256/384/512 and PS* (RSA), ES256/384/512 (EC) and EdDSA (OKP) keys.
+ * <p>
+ * A token's header is scanned for {@code kid} and {@code alg}, the key is found with one map lookup
+ * and verified by the parser built once for that key - there is never any trial verification.
+ * Each reload swaps in a complete new snapshot, so keys rotate without a restart: add the new key,
+ * then move {@code "key_ops":["sign"]} from the old key to the new one (issuers sign with the single
+ * private/secret key marked for signing, or with {@code stride.jwt.keys.signing-kid} if set), and
+ * drop the old key once its tokens have expired.
+ */
+@Component
+@ConditionalOnProperty(prefix = "stride.jwt.keys", name = "jwks-location")
+@Slf4j
+public class JwtKeyRing implements DisposableBean {
+
+    private final Path jwksLocation;
+    private final String signingKid;
+    private final List<Runnable> reloadListeners = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService reloader;
+    private volatile Snapshot snapshot = new Snapshot(Map.of(), null);
+    private volatile FileTime loadedModifiedTime;
+
+    @Autowired
+    public JwtKeyRing(@Value("${stride.jwt.keys.jwks-location}") String jwksLocation,
+                      @Value("${stride.jwt.keys.signing-kid:}") String signingKid,
+                      @Value("${stride.jwt.keys.reload-interval:PT1M}") Duration reloadInterval) {
+        this.jwksLocation = Path.of(jwksLocation);
+        this.signingKid = signingKid == null || signingKid.isBlank() ? null : signingKid;
+        if (!reload()) {
+            throw new IllegalStateException("Could not load JWKS from " + jwksLocation);
+        }
+        if (reloadInterval.isZero() || reloadInterval.isNegative()) {
+            this.reloader = null;
+        } else {
+            this.reloader = Executors.newSingleThreadScheduledExecutor(
+                runnable -> Thread.ofPlatform().name("stride-jwks-reload").daemon(true).unstarted(runnable));
+            long intervalMillis = reloadInterval.toMillis();
+            reloader.scheduleWithFixedDelay(this::reloadIfModified, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Parser for the key named by the token's {@code kid}.
+     *
+     * @param fallback parser for tokens without a {@code kid} (tokens signed with the configured secret)
+     * @throws AuthenticationException if the kid is unknown or the header's alg does not match the key
+     */
+    public JwtParser parserFor(String token, JwtParser fallback) {
+        int firstDot = token != null ? token.indexOf('.') : -1;
+        if (firstDot < 0) {
+            return fallback;
+        }
+        Base64UrlJson header = new Base64UrlJson(token, 0, firstDot);
+        String kid = null;
+        String alg = null;
+        if (header.beginObject()) {
+            while (header.nextKey()) {
+                if (header.keyIs("kid")) {
+                    kid = header.readSimpleString();
+                } else if (header.keyIs("alg")) {
+                    alg = header.readSimpleString();
+                } else {
+                    header.skipValue();
+                }
+            }
+        }
+        if (header.isMalformed()) {
+            // Let the parser produce the usual malformed-token error
+            return fallback;
+        }
+        if (kid == null) {
+            return fallback;
+        }
+        KeyEntry entry = snapshot.keys().get(kid);
+        if (entry == null) {
+            log.warn("JWT signed with unknown key id {}", kid);
+            throw AuthenticationException.invalidToken();
+        }
+        if (!entry.algorithm().equals(alg)) {
+            log.warn("JWT alg {} does not match key {} ({})", alg, kid, entry.algorithm());
+            throw AuthenticationException.invalidToken();
+        }
+        return entry.parser();
+    }
+
+    /**
+     * Key currently used for minting tokens, or null if the JWKS marks none
+     */
+    public KeyEntry signingKey() {
+        return snapshot.signing();
+    }
+
+    public KeyEntry getKey(String kid) {
+        return snapshot.keys().get(kid);
+    }
+
+    public int size() {
+        return snapshot.keys().size();
+    }
+
+    /**
+     * Run after every successful reload, e.g. to drop cached verifications made with removed keys
+     */
+    public void addReloadListener(Runnable listener) {
+        reloadListeners.add(listener);
+    }
+
+    /**
+     * Re-read the JWKS file now. On any error the current keys stay in place.
+     *
+     * @return whether a new snapshot was installed
+     */
+    public boolean reload() {
+        try {
+            FileTime modified = Files.getLastModifiedTime(jwksLocation);
+            Snapshot loaded = parse(Files.readString(jwksLocation));
+            snapshot = loaded;
+            loadedModifiedTime = modified;
+            log.info("Loaded {} JWT verification key(s) from {}, signing with {}", loaded.keys().size(), jwksLocation,
+                loaded.signing() != null ? loaded.signing().kid() : "the configured secret");
+            reloadListeners.forEach(Runnable::run);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to load JWKS from {}, keeping {} current key(s)", jwksLocation, size(), e);
+            return false;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (reloader != null) {
+            reloader.shutdownNow();
+        }
+    }
+
+    private void reloadIfModified() {
+        try {
+            if (!Files.getLastModifiedTime(jwksLocation).equals(loadedModifiedTime)) {
+                reload();
+            }
+        } catch (IOException e) {
+            log.warn("Cannot stat JWKS file {}: {}", jwksLocation, e.getMessage());
+        }
+    }
+
+    private Snapshot parse(String json) {
+        JwkSet set = Jwks.setParser().build().parse(json);
+        Map<String, KeyEntry> loaded = new HashMap<>();
+        List<KeyEntry> markedForSigning = new ArrayList<>();
+        for (Jwk<?> jwk : set.getKeys()) {
+            if (jwk.getId() == null || jwk.getAlgorithm() == null) {
+                log.warn("Skipping JWK without kid or alg (kty {})", jwk.getType());
+                continue;
+            }
+            KeyEntry entry = toEntry(jwk);
+            if (loaded.put(entry.kid(), entry) != null) {
+                throw new IllegalArgumentException("Duplicate kid " + entry.kid() + " in JWKS");
+            }
+            if (entry.signingKey() != null && jwk.getOperations() != null && jwk.getOperations().contains(Jwks.OP.SIGN)) {
+                markedForSigning.add(entry);
+            }
+        }
+        return new Snapshot(Map.copyOf(loaded), selectSigningKey(loaded, markedForSigning));
+    }
+
+    private KeyEntry selectSigningKey(Map<String, KeyEntry> loaded, List<KeyEntry> markedForSigning) {
+        if (signingKid != null) {
+            KeyEntry configured = loaded.get(signingKid);
+            if (configured == null || configured.signingKey() == null) {
+                throw new IllegalArgumentException("Signing kid " + signingKid + " has no private or secret key in JWKS");
+            }
+            return configured;
+        }
+        if (markedForSigning.size() > 1) {
+            throw new IllegalArgumentException("More than one JWK is marked with key_ops \"sign\"");
+        }
+        return markedForSigning.isEmpty() ? null : markedForSigning.get(0);
+    }
+
+    private static KeyEntry toEntry(Jwk<?> jwk) {
+        Key key = jwk.toKey();
+        JwtParser parser;
+        Key signingKey;
+        if (key instanceof SecretKey secretKey) {
+            parser = Jwts.parser().verifyWith(secretKey).build();
+            signingKey = secretKey;
+        } else if (jwk instanceof PrivateJwk<?, ?, ?> privateJwk) {
+            parser = Jwts.parser().verifyWith((PublicKey) privateJwk.toPublicJwk().toKey()).build();
+            signingKey = (PrivateKey) key;
+        } else if (key instanceof PublicKey publicKey) {
+            parser = Jwts.parser().verifyWith(publicKey).build();
+            signingKey = null;
+        } else {
+            throw new IllegalArgumentException("Unsupported JWK " + jwk.getId() + " of type " + jwk.getType());
+        }
+        return new KeyEntry(jwk.getId(), jwk.getAlgorithm(), signingKey, parser);
+    }
+
+    private record Snapshot(Map<String, KeyEntry> keys, KeyEntry signing) {
+    }
+
+    /**
+     * One key of the ring with the parser that verifies against it
+     */
+    public record KeyEntry(String kid, String algorithm, Key signingKey, JwtParser parser) {
+    }
+}
@@ -2,22 +2,36 @@ package com.stride.stride_common.auth;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 
 import javax.crypto.SecretKey;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import com.stride.stride_common.exceptions.AuthenticationException;
+import com.stride.stride_common.security.SecurityConstants;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecureDigestAlgorithm;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -28,132 +42,363 @@ import lombok.extern.slf4j.Slf4j;
 @Component
 public class JwtTokenProvider {
     
+    /**
+     * Name of an optional Executor bean that replaces the default validateAll executor
+     */
+    public static final String BATCH_EXECUTOR_BEAN = "strideJwtBatchExecutor";
+    
+    // Below this many distinct tokens per task, handing work to another thread costs more than the HMACs
+    private static final int MIN_TOKENS_PER_BATCH_TASK = 32;
+    
     private final SecretKey secretKey;
+    // Thread-safe and immutable; building it per call re-derives the key and parser config every time
+    private final JwtParser parser;
+    private final TokenMinter minter;
     private final long accessTokenValidityInMinutes;
     private final long refreshTokenValidityInDays;
     private final String issuer;
+    private final CompactRoles.Encoding roleEncoding;
+    private VerifiedTokenCache tokenCache;
+    private TokenPrecheck tokenPrecheck;
+    private JwtKeyRing keyRing;
+    private RefreshTokenRevocations revocations;
+    private int batchParallelism = Runtime.getRuntime().availableProcessors();
+    // Verification is CPU-bound, so validateAll never forks more tasks than there are cores
+    private Executor batchExecutor = Executors.newThreadPerTaskExecutor(
+        Thread.ofVirtual().name("stride-jwt-batch-", 0).factory());
+    
+    public JwtTokenProvider(String secret, long accessTokenValidityInMinutes, long refreshTokenValidityInDays,
+                            String issuer) {
+        this(secret, accessTokenValidityInMinutes, refreshTokenValidityInDays, issuer, CompactRoles.Encoding.LIST);
+    }
     
+    @Autowired
     public JwtTokenProvider(
             @Value("${stride.jwt.secret:defaultSecretKeyThatIsAtLeast256BitsLongForHS256Algorithm}") String secret,
             @Value("${stride.jwt.access-token-validity-minutes:60}") long accessTokenValidityInMinutes,
             @Value("${stride.jwt.refresh-token-validity-days:30}") long refreshTokenValidityInDays,
-            @Value("${stride.jwt.issuer:stride-platform}") String issuer) {
+            @Value("${stride.jwt.issuer:stride-platform}") String issuer,
+            @Value("${stride.jwt.role-encoding:LIST}") CompactRoles.Encoding roleEncoding) {
         
         this.secretKey = Keys.hmacShaKeyFor(secret.getBytes());
+        this.parser = Jwts.parser().verifyWith(secretKey).build();
+        this.minter = new TokenMinter(secretKey);
         this.accessTokenValidityInMinutes = accessTokenValidityInMinutes;
         this.refreshTokenValidityInDays = refreshTokenValidityInDays;
         this.issuer = issuer;
+        this.roleEncoding = roleEncoding;
     }
     
     /**
-     * Generate access token for authenticated user
+     * Serve repeated verifications of the same token from a cache (see VerifiedTokenCache)
+     */
+    @Autowired(required = false)
+    public void setTokenCache(VerifiedTokenCache tokenCache) {
+        this.tokenCache = tokenCache;
+    }
+    
+    /**
+     * Reject structurally invalid or expired tokens before spending HMAC work on them
+     */
+    @Autowired(required = false)
+    public void setTokenPrecheck(TokenPrecheck tokenPrecheck) {
+        this.tokenPrecheck = tokenPrecheck;
+    }
+    
+    /**
+     * Verify tokens carrying a {@code kid} against the key ring, and sign new tokens with
+     * its signing key when one is configured. Tokens without a kid keep using the configured secret.
+     */
+    @Autowired(required = false)
+    public void setKeyRing(JwtKeyRing keyRing) {
+        this.keyRing = keyRing;
+        // Cached verifications may have been made with a key that was just removed
+        keyRing.addReloadListener(() -> {
+            if (tokenCache != null) {
+                tokenCache.clear();
+            }
+        });
+    }
+    
+    /**
+     * Reject revoked refresh tokens (see RefreshTokenRevocations)
+     */
+    @Autowired(required = false)
+    public void setRevocations(RefreshTokenRevocations revocations) {
+        this.revocations = revocations;
+    }
+    
+    /**
+     * Replace the executor validateAll forks verification tasks onto
+     */
+    @Autowired(required = false)
+    public void setBatchExecutor(@Qualifier(BATCH_EXECUTOR_BEAN) Executor batchExecutor) {
+        this.batchExecutor = batchExecutor;
+    }
+    
+    void setBatchParallelism(int batchParallelism) {
+        this.batchParallelism = batchParallelism;
+    }
+    
+    /**
+     * Generate access token for authenticated user. Roles are written as configured by
+     * {@code stride.jwt.role-encoding}; role lists with roles outside the platform set always stay a list.
      */
     public String generateAccessToken(String userId, String organizationId, List<String> roles) {
         Instant now = Instant.now();
         Instant expiration = now.plus(accessTokenValidityInMinutes, ChronoUnit.MINUTES);
         
-        return Jwts.builder()
+        String roleMask = null;
+        if (roleEncoding != CompactRoles.Encoding.LIST && roles != null) {
+            long mask = AuthorityMask.of(roles);
+            if ((mask & AuthorityMask.CUSTOM) == 0) {
+                roleMask = CompactRoles.encode(mask);
+                if (roleEncoding == CompactRoles.Encoding.COMPACT) {
+                    roles = null;
+                }
+            }
+        }
+        
+        JwtKeyRing.KeyEntry signing = signingKeyFromRing();
+        if (signing == null) {
+            return minter.mint(userId, issuer, now, expiration, organizationId, roles, roleMask, VerifiedToken.ACCESS_TYPE);
+        }
+        return sign(signing, Jwts.builder()
             .subject(userId)
             .issuer(issuer)
             .issuedAt(Date.from(now))
             .expiration(Date.from(expiration))
             .claim("organizationId", organizationId)
             .claim("roles", roles)
-            .claim("type", "access")
-            .signWith(secretKey)
-            .compact();
+            .claim(SecurityConstants.JWT_ROLE_MASK_CLAIM, roleMask)
+            .claim("type", VerifiedToken.ACCESS_TYPE));
     }
     
     /**
-     * Generate refresh token for token renewal
+     * Generate refresh token for token renewal. Each one carries a random {@code jti}, so two
+     * refresh tokens issued to a user in the same second are still distinct and revocable separately.
      */
     public String generateRefreshToken(String userId) {
         Instant now = Instant.now();
         Instant expiration = now.plus(refreshTokenValidityInDays, ChronoUnit.DAYS);
+        String tokenId = UUID.randomUUID().toString();
         
-        return Jwts.builder()
+        JwtKeyRing.KeyEntry signing = signingKeyFromRing();
+        if (signing == null) {
+            return minter.mint(userId, issuer, now, expiration, tokenId, null, null, null, VerifiedToken.REFRESH_TYPE);
+        }
+        return sign(signing, Jwts.builder()
             .subject(userId)
             .issuer(issuer)
             .issuedAt(Date.from(now))
             .expiration(Date.from(expiration))
-            .claim("type", "refresh")
-            .signWith(secretKey)
-            .compact();
+            .id(tokenId)
+            .claim("type", VerifiedToken.REFRESH_TYPE));
     }
     
     /**
      * Validate token and return claims
      */
     public Claims validateToken(String token) {
+        return verify(token).claims();
+    }
+    
+    /**
+     * Verify the token once and return all of its claims.
+     * Prefer this over the individual accessors when more than one claim is needed.
+     */
+    public VerifiedToken introspect(String token) {
+        return verify(token).verified();
+    }
+    
+    /**
+     * Revoke a refresh token on every instance; later validations of it fail with tokenRevoked
+     *
+     * @return completes once the revocation has been published to the other instances
+     */
+    public CompletableFuture<Void> revokeRefreshToken(String token) {
+        if (revocations == null) {
+            throw new IllegalStateException("Token revocation is not enabled (stride.jwt.revocation.enabled)");
+        }
+        VerifiedToken verified = introspect(token);
+        if (!verified.isRefreshToken()) {
+            throw AuthenticationException.invalidToken();
+        }
+        return revocations.revoke(token, verified);
+    }
+    
+    /**
+     * Validate a batch of tokens, e.g. the sub-requests of a gateway fan-out.
+     * Identical tokens are verified once; distinct ones are verified in parallel on the batch
+     * executor. Never throws for a bad token - each result says whether and why it was rejected.
+     *
+     * @return one result per input token, in input order
+     */
+    public List<TokenValidation> validateAll(List<String> tokens) {
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        Map<String, Integer> uniqueIndex = new HashMap<>(tokens.size() * 2);
+        List<String> unique = new ArrayList<>();
+        int[] slots = new int[tokens.size()];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = uniqueIndex.computeIfAbsent(tokens.get(i), token -> {
+                unique.add(token);
+                return unique.size() - 1;
+            });
+        }
+        
+        TokenValidation[] results = new TokenValidation[unique.size()];
+        int tasks = Math.min(batchParallelism, unique.size() / MIN_TOKENS_PER_BATCH_TASK);
+        if (tasks <= 1) {
+            validateRange(unique, results, 0, results.length);
+        } else {
+            CompletableFuture<?>[] forked = new CompletableFuture<?>[tasks - 1];
+            for (int task = 0; task < tasks - 1; task++) {
+                int from = (int) ((long) results.length * task / tasks);
+                int to = (int) ((long) results.length * (task + 1) / tasks);
+                forked[task] = CompletableFuture.runAsync(() -> validateRange(unique, results, from, to), batchExecutor);
+            }
+            // The caller takes the last slice instead of idling until the others finish
+            validateRange(unique, results, (int) ((long) results.length * (tasks - 1) / tasks), results.length);
+            CompletableFuture.allOf(forked).join();
+        }
+        
+        TokenValidation[] ordered = new TokenValidation[slots.length];
+        for (int i = 0; i < slots.length; i++) {
+            ordered[i] = results[slots[i]];
+        }
+        return List.of(ordered);
+    }
+    
+    private void validateRange(List<String> tokens, TokenValidation[] results, int from, int to) {
+        for (int i = from; i < to; i++) {
+            results[i] = validate(tokens.get(i));
+        }
+    }
+    
+    private TokenValidation verify(String token) {
+        TokenValidation result = validate(token);
+        if (!result.isValid()) {
+            throw result.failure().toException();
+        }
+        return result;
+    }
+    
+    private TokenValidation validate(String token) {
+        TokenValidation result = verifySignature(token);
+        // Checked on cached entries too: a token may be revoked after it was cached
+        if (result.isValid() && revocations != null && result.verified().isRefreshToken()
+                && revocations.isRevoked(token)) {
+            log.debug("Revoked refresh token presented for subject {}", result.verified().subject());
+            return TokenValidation.failed(TokenValidation.Failure.REVOKED);
+        }
+        return result;
+    }
+    
+    private TokenValidation verifySignature(String token) {
+        if (tokenCache != null && token != null) {
+            VerifiedTokenCache.Entry cached = tokenCache.get(token);
+            if (cached != null) {
+                return TokenValidation.valid(cached.claims(), cached.verified());
+            }
+        }
+        if (tokenPrecheck != null) {
+            TokenPrecheck.Reason rejected = tokenPrecheck.check(token);
+            if (rejected != null) {
+                log.debug("JWT token rejected before verification: {}", rejected);
+                return TokenValidation.failed(rejected == TokenPrecheck.Reason.EXPIRED
+                    ? TokenValidation.Failure.EXPIRED
+                    : TokenValidation.Failure.INVALID);
+            }
+        }
+        Claims claims;
         try {
-            return Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+            claims = parseAndVerify(token);
         } catch (ExpiredJwtException e) {
-            
             log.warn("JWT token expired: {}", e.getMessage());
-            throw AuthenticationException.tokenExpired();
+            return TokenValidation.failed(TokenValidation.Failure.EXPIRED);
         } catch (UnsupportedJwtException e) {
             log.warn("Unsupported JWT token: {}", e.getMessage());
-            throw AuthenticationException.invalidToken();
+            return TokenValidation.failed(TokenValidation.Failure.INVALID);
         } catch (MalformedJwtException e) {
             log.warn("Malformed JWT token: {}", e.getMessage());
-            throw AuthenticationException.invalidToken();
-        } catch (SecurityException | IllegalArgumentException e) {
+            return TokenValidation.failed(TokenValidation.Failure.INVALID);
+        } catch (JwtException | SecurityException | IllegalArgumentException | AuthenticationException e) {
+            // JwtException also covers signature mismatches (io.jsonwebtoken.security.SignatureException);
+            // AuthenticationException comes from the key ring (unknown kid, alg mismatch)
             log.warn("Invalid JWT token: {}", e.getMessage());
-            throw AuthenticationException.invalidToken();
+            return TokenValidation.failed(TokenValidation.Failure.INVALID);
         }
+        VerifiedToken verified = VerifiedToken.from(claims);
+        if (tokenCache != null) {
+            tokenCache.put(VerifiedTokenCache.Entry.of(token, claims, verified));
+        }
+        return TokenValidation.valid(claims, verified);
+    }
+    
+    private Claims parseAndVerify(String token) {
+        JwtParser verifier = keyRing != null ? keyRing.parserFor(token, parser) : parser;
+        return verifier.parseSignedClaims(token).getPayload();
+    }
+    
+    private JwtKeyRing.KeyEntry signingKeyFromRing() {
+        return keyRing != null ? keyRing.signingKey() : null;
+    }
+    
+    /**
+     * General jjwt path, used when the key ring supplies the signing key
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private String sign(JwtKeyRing.KeyEntry signing, JwtBuilder builder) {
+        SecureDigestAlgorithm algorithm = Jwts.SIG.get().forKey(signing.algorithm());
+        return builder.header().keyId(signing.kid()).and()
+            .signWith(signing.signingKey(), algorithm)
+            .compact();
     }
     
     /**
      * Extract user ID from token
      */
     public String getUserId(String token) {
-        Claims claims = validateToken(token);
-        return claims.getSubject();
+        return introspect(token).subject();
     }
     
     /**
      * Extract organization ID from token
      */
     public String getOrganizationId(String token) {
-        Claims claims = validateToken(token);
-        return claims.get("organizationId", String.class);
+        return introspect(token).organizationId();
     }
     
     /**
      * Extract roles from token
+     *
+     * @return the roles, or an empty list (never null) when the token has no roles claim, e.g. refresh tokens
      */
-    @SuppressWarnings("unchecked")
     public List<String> getRoles(String token) {
-        Claims claims = validateToken(token);
-        return claims.get("roles", List.class);
+        return introspect(token).roles();
     }
     
     /**
      * Check if token is access token
      */
     public boolean isAccessToken(String token) {
-        Claims claims = validateToken(token);
-        return "access".equals(claims.get("type", String.class));
+        return introspect(token).isAccessToken();
     }
     
     /**
      * Check if token is refresh token
      */
     public boolean isRefreshToken(String token) {
-        Claims claims = validateToken(token);
-        return "refresh".equals(claims.get("type", String.class));
+        return introspect(token).isRefreshToken();
     }
     
     /**
      * Get token expiration time
      */
     public Instant getExpirationTime(String token) {
-        Claims claims = validateToken(token);
-        return claims.getExpiration().toInstant();
+        return introspect(token).expiresAt();
     }
     
     /**
@@ -0,0 +1,71 @@
+package com.stride.stride_common.auth;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.security.core.Authentication;
+
+import com.stride.stride_common.security.SecurityConstants;
+
+/**
+ * Role to permission matrix compiled once from SecurityConstants.ROLE_PERMISSIONS into one
+ * permission mask per role, so expanding a principal's roles is a few ORs.
+ */
+public final class PermissionMatrix {
+
+    private static final long[] IMPLIED = new long[StrideAuthority.values().length];
+    private static final long ROLE_BITS;
+
+    static {
+        long roleBits = 0;
+        for (StrideAuthority authority : StrideAuthority.values()) {
+            if (authority.isRole()) {
+                roleBits |= authority.bit();
+            }
+        }
+        ROLE_BITS = roleBits;
+
+        for (Map.Entry<String, List<String>> entry : SecurityConstants.ROLE_PERMISSIONS.entrySet()) {
+            StrideAuthority role = StrideAuthority.forName(entry.getKey());
+            if (role == null || !role.isRole()) {
+                throw new IllegalStateException("Unknown role in ROLE_PERMISSIONS: " + entry.getKey());
+            }
+            for (String permissionName : entry.getValue()) {
+                StrideAuthority permission = StrideAuthority.forName(permissionName);
+                if (permission == null || permission.isRole()) {
+                    throw new IllegalStateException("Unknown permission in ROLE_PERMISSIONS: " + permissionName);
+                }
+                IMPLIED[role.ordinal()] |= permission.bit();
+            }
+        }
+    }
+
+    private PermissionMatrix() {
+    }
+
+    /**
+     * The mask plus every permission implied by its role bits
+     */
+    public static long expand(long mask) {
+        long result = mask;
+        for (long roles = mask & ROLE_BITS; roles != 0; roles &= roles - 1) {
+            result |= IMPLIED[Long.numberOfTrailingZeros(roles)];
+        }
+        return result;
+    }
+
+    /**
+     * Mask of an Authentication plus the permissions its roles imply.
+     * Only permission checks expand roles; granted authorities stay exactly the token's roles.
+     */
+    public static long permissionsOf(Authentication authentication) {
+        return expand(AuthorityMask.of(authentication));
+    }
+
+    /**
+     * Permission mask granted by a role
+     */
+    public static long impliedBy(StrideAuthority role) {
+        return IMPLIED[role.ordinal()];
+    }
+}
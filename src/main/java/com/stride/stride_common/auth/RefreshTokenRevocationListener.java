@@ -0,0 +1,90 @@
+package com.stride.stride_common.auth;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.stereotype.Component;
+
+import com.stride.stride_common.events.RefreshTokenRevokedEvent;
+import com.stride.stride_common.exceptions.EventSerializationException;
+import com.stride.stride_common.kafka.EventSerializer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Applies revocations published by any instance (including this one) to the local RefreshTokenRevocations.
+ * Every instance must see every revocation, so each one consumes in its own consumer group: named after
+ * {@code stride.jwt.revocation.instance-id} when set (it must differ between replicas, e.g. the pod name),
+ * otherwise after a random id per process. Replicas never share a group by accident; the price is that each
+ * restart without an instance id leaves an idle group behind until the broker's offset retention drops it.
+ * On every assignment the topic is replayed from the beginning, so committed offsets are never relied on;
+ * applying a revocation twice is harmless and the snapshot covers the gap while the replay catches up.
+ * Topic retention should be at least the refresh-token validity.
+ */
+@Component
+@ConditionalOnProperty(prefix = "stride.jwt.revocation", name = "enabled", havingValue = "true")
+@Slf4j
+public class RefreshTokenRevocationListener implements ConsumerSeekAware {
+
+    private final RefreshTokenRevocations revocations;
+    private final EventSerializer eventSerializer;
+    private final String groupId;
+
+    public RefreshTokenRevocationListener(RefreshTokenRevocations revocations, EventSerializer eventSerializer) {
+        this(revocations, eventSerializer, "stride", "");
+    }
+
+    @Autowired
+    public RefreshTokenRevocationListener(RefreshTokenRevocations revocations, EventSerializer eventSerializer,
+                                          @Value("${spring.application.name:stride}") String applicationName,
+                                          @Value("${stride.jwt.revocation.instance-id:}") String instanceId) {
+        this.revocations = revocations;
+        this.eventSerializer = eventSerializer;
+        this.groupId = applicationName + "-token-revocations-"
+            + (instanceId.isBlank() ? UUID.randomUUID().toString() : instanceId);
+    }
+
+    /**
+     * Consumer group of this instance, unique to it
+     */
+    public String getGroupId() {
+        return groupId;
+    }
+
+    @KafkaListener(
+        id = "stride-token-revocations",
+        topics = "#{@kafkaTopicResolver.tokenRevocationsTopic}",
+        groupId = "#{__listener.groupId}",
+        autoStartup = "${stride.jwt.revocation.listener.auto-startup:true}")
+    public void onMessage(String payload) {
+        RefreshTokenRevokedEvent event;
+        try {
+            byte[] bytes = payload.getBytes(StandardCharsets.UTF_8);
+            event = eventSerializer.decode(bytes, 0, bytes.length, RefreshTokenRevokedEvent.class);
+        } catch (EventSerializationException e) {
+            log.warn("Skipping unreadable token revocation message");
+            return;
+        }
+        if (event.tokenHash() == null) {
+            log.warn("Skipping token revocation {} without token hash", event.eventId());
+            return;
+        }
+        try {
+            revocations.apply(event);
+        } catch (IllegalArgumentException e) {
+            log.warn("Skipping token revocation {} with malformed token hash", event.eventId());
+        }
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        callback.seekToBeginning(assignments.keySet());
+    }
+}
@@ -0,0 +1,386 @@
+package com.stride.stride_common.auth;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.stride.stride_common.events.RefreshTokenRevokedEvent;
+import com.stride.stride_common.kafka.KafkaEventProducer;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Revoked refresh tokens, enabled with {@code stride.jwt.revocation.enabled=true}.
+ * A token is identified by the SHA-256 of its compact form, so revoking one token never affects
+ * another token of the same user (refresh tokens also carry a random {@code jti}).
+ * A Bloom filter answers "definitely not revoked" - the answer for nearly every refresh - with one
+ * SHA-256 and a few word reads; only filter hits consult the exact set, so a false positive costs a map
+ * lookup, never a wrongly rejected token. Revocations are remembered until the token would have
+ * expired anyway, survive restarts through a local snapshot file, and reach the other instances as
+ * {@link RefreshTokenRevokedEvent}s on the token-revocations topic (see RefreshTokenRevocationListener).
+ */
+@Component
+@ConditionalOnProperty(prefix = "stride.jwt.revocation", name = "enabled", havingValue = "true")
+@Slf4j
+public class RefreshTokenRevocations implements MeterBinder, DisposableBean {
+
+    private static final int SNAPSHOT_MAGIC = 0x53545256;
+    private static final int SNAPSHOT_VERSION = 2;
+
+    private final Map<RevokedToken, Long> revoked = new ConcurrentHashMap<>();
+    // Request threads revoke under this lock while a rebuild may run; a ReentrantLock lets waiting
+    // virtual threads park instead of pinning their carrier
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private final LongAdder filtered = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final double falsePositiveRate;
+    private final Path snapshotPath;
+    private final Clock clock;
+    private final ScheduledExecutorService maintainer;
+    private volatile BloomFilter filter;
+    private long capacity;
+    private KafkaEventProducer eventProducer;
+
+    @Autowired
+    public RefreshTokenRevocations(
+            @Value("${stride.jwt.revocation.expected-revocations:100000}") long expectedRevocations,
+            @Value("${stride.jwt.revocation.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${stride.jwt.revocation.snapshot-path:}") String snapshotPath,
+            @Value("${stride.jwt.revocation.snapshot-interval:PT1M}") Duration snapshotInterval) {
+        this(expectedRevocations, falsePositiveRate,
+            snapshotPath == null || snapshotPath.isBlank() ? null : Path.of(snapshotPath),
+            snapshotInterval, Clock.systemUTC());
+    }
+
+    /**
+     * @param snapshotPath file the revocations are persisted to, or null to keep them in memory only
+     * @param snapshotInterval how often expired revocations are purged and a changed set is written out;
+     *                         zero disables the background thread
+     */
+    public RefreshTokenRevocations(long expectedRevocations, double falsePositiveRate,
+                                   Path snapshotPath, Duration snapshotInterval, Clock clock) {
+        this.capacity = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedRevocations, falsePositiveRate);
+        this.snapshotPath = snapshotPath;
+        this.clock = clock;
+        if (snapshotPath != null) {
+            load();
+        }
+        if (snapshotInterval.isZero() || snapshotInterval.isNegative()) {
+            this.maintainer = null;
+        } else {
+            this.maintainer = Executors.newSingleThreadScheduledExecutor(
+                runnable -> Thread.ofPlatform().name("stride-token-revocations").daemon(true).unstarted(runnable));
+            long intervalMillis = snapshotInterval.toMillis();
+            maintainer.scheduleWithFixedDelay(this::maintain, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Publish every local revocation so the other instances apply it too
+     */
+    @Autowired(required = false)
+    public void setEventProducer(KafkaEventProducer eventProducer) {
+        this.eventProducer = eventProducer;
+    }
+
+    /**
+     * Whether the refresh token has been revoked
+     */
+    public boolean isRevoked(String token) {
+        if (token == null) {
+            return false;
+        }
+        RevokedToken key = RevokedToken.of(digest(token));
+        if (!filter.mightContain(key.hash())) {
+            filtered.increment();
+            return false;
+        }
+        if (revoked.containsKey(key)) {
+            rejected.increment();
+            return true;
+        }
+        falsePositives.increment();
+        return false;
+    }
+
+    /**
+     * Revoke the token here and announce it to the other instances
+     *
+     * @return completes once the revocation event is published (immediately without Kafka)
+     */
+    public CompletableFuture<Void> revoke(String token, VerifiedToken verified) {
+        String tokenHash = tokenHash(token);
+        apply(tokenHash, verified.expiresAt());
+        if (eventProducer == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return eventProducer.publish(RefreshTokenRevokedEvent.of(verified.subject(), tokenHash, verified.expiresAt()));
+    }
+
+    /**
+     * Apply a revocation announced by another instance (or replayed from the topic). Idempotent.
+     */
+    public void apply(RefreshTokenRevokedEvent event) {
+        apply(event.tokenHash(), event.expiresAt());
+    }
+
+    void apply(String tokenHash, Instant expiresAt) {
+        if (tokenHash == null) {
+            throw new IllegalArgumentException("A revocation needs the token hash");
+        }
+        long expiresAtMillis = expiresAt != null ? expiresAt.toEpochMilli() : Long.MAX_VALUE;
+        if (expiresAtMillis <= clock.millis()) {
+            return;
+        }
+        RevokedToken token = RevokedToken.of(Base64.getUrlDecoder().decode(tokenHash));
+        writeLock.lock();
+        try {
+            // Exact set first: a reader that sees the filter bits must also find the entry
+            if (revoked.put(token, expiresAtMillis) == null) {
+                if (revoked.size() > capacity) {
+                    // Keep the false positive rate at its target instead of letting the filter saturate
+                    capacity *= 2;
+                    rebuildFilter();
+                } else {
+                    filter.put(token.hash());
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        dirty.set(true);
+    }
+
+    /**
+     * Forget revocations of tokens that have expired anyway, rebuilding the filter without them
+     *
+     * @return number of revocations dropped
+     */
+    public int purgeExpired() {
+        long now = clock.millis();
+        writeLock.lock();
+        try {
+            int before = revoked.size();
+            revoked.values().removeIf(expiresAtMillis -> expiresAtMillis <= now);
+            int removed = before - revoked.size();
+            if (removed > 0) {
+                rebuildFilter();
+                dirty.set(true);
+            }
+            return removed;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Write the current revocations to the snapshot file (atomically replacing the previous one)
+     *
+     * @return false if no snapshot file is configured or writing failed
+     */
+    public boolean snapshot() {
+        if (snapshotPath == null) {
+            return false;
+        }
+        dirty.set(false);
+        List<Map.Entry<RevokedToken, Long>> entries = new ArrayList<>(revoked.entrySet());
+        Path temporary = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+        try {
+            if (snapshotPath.getParent() != null) {
+                Files.createDirectories(snapshotPath.getParent());
+            }
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeInt(SNAPSHOT_VERSION);
+                out.writeInt(entries.size());
+                for (Map.Entry<RevokedToken, Long> entry : entries) {
+                    out.writeLong(entry.getKey().high());
+                    out.writeLong(entry.getKey().low());
+                    out.writeLong(entry.getValue());
+                }
+            }
+            Files.move(temporary, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Wrote {} token revocation(s) to {}", entries.size(), snapshotPath);
+            return true;
+        } catch (IOException e) {
+            dirty.set(true);
+            log.error("Failed to write token revocation snapshot {}", snapshotPath, e);
+            return false;
+        }
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    /**
+     * Lookups that hit the filter but not the exact set
+     */
+    public long getFalsePositiveCount() {
+        return falsePositives.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("stride.jwt.revocation.checks", filtered, LongAdder::sum)
+            .tag("result", "filtered")
+            .description("Refresh tokens cleared by the Bloom filter alone")
+            .register(registry);
+        FunctionCounter.builder("stride.jwt.revocation.checks", falsePositives, LongAdder::sum)
+            .tag("result", "false_positive")
+            .description("Filter hits cleared by the exact revocation set")
+            .register(registry);
+        FunctionCounter.builder("stride.jwt.revocation.checks", rejected, LongAdder::sum)
+            .tag("result", "revoked")
+            .description("Refresh tokens rejected as revoked")
+            .register(registry);
+        Gauge.builder("stride.jwt.revocation.size", revoked, Map::size)
+            .description("Remembered refresh-token revocations")
+            .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        if (maintainer != null) {
+            maintainer.shutdownNow();
+        }
+        if (dirty.get()) {
+            snapshot();
+        }
+    }
+
+    private void maintain() {
+        try {
+            purgeExpired();
+            if (dirty.get()) {
+                snapshot();
+            }
+        } catch (RuntimeException e) {
+            log.error("Token revocation maintenance failed", e);
+        }
+    }
+
+    private void load() {
+        long now = clock.millis();
+        int skipped = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotPath)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                log.warn("Ignoring token revocation snapshot {} with unknown format", snapshotPath);
+                return;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                RevokedToken token = new RevokedToken(in.readLong(), in.readLong());
+                long expiresAtMillis = in.readLong();
+                if (expiresAtMillis > now) {
+                    revoked.put(token, expiresAtMillis);
+                } else {
+                    skipped++;
+                }
+            }
+        } catch (NoSuchFileException e) {
+            log.info("No token revocation snapshot at {}, starting empty", snapshotPath);
+            return;
+        } catch (IOException e) {
+            log.error("Failed to read token revocation snapshot {}, keeping {} revocation(s) read so far",
+                snapshotPath, revoked.size(), e);
+        }
+        writeLock.lock();
+        try {
+            while (revoked.size() > capacity) {
+                capacity *= 2;
+            }
+            rebuildFilter();
+        } finally {
+            writeLock.unlock();
+        }
+        log.info("Loaded {} token revocation(s) from {} ({} expired)", revoked.size(), snapshotPath, skipped);
+    }
+
+    /**
+     * Callers hold writeLock. Readers keep using the old filter until the swap; it is a superset of
+     * the new one, so they can only see extra false positives, never miss a revocation.
+     */
+    private void rebuildFilter() {
+        BloomFilter rebuilt = new BloomFilter(capacity, falsePositiveRate);
+        for (RevokedToken token : revoked.keySet()) {
+            rebuilt.put(token.hash());
+        }
+        filter = rebuilt;
+    }
+
+    /**
+     * Identity of a token in revocation events: unpadded base64url SHA-256 of its compact form
+     */
+    public static String tokenHash(String token) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest(token));
+    }
+
+    private static byte[] digest(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * First 128 bits of the token's SHA-256
+     */
+    private record RevokedToken(long high, long low) {
+
+        static RevokedToken of(byte[] digest) {
+            if (digest.length < 16) {
+                throw new IllegalArgumentException("Token hash is too short");
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(digest);
+            return new RevokedToken(buffer.getLong(), buffer.getLong());
+        }
+
+        /**
+         * Already uniformly distributed, so it feeds the Bloom filter directly
+         */
+        long hash() {
+            return high;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.stride.stride_common.auth;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import com.stride.stride_common.security.SecurityConstants;
+
+/**
+ * The platform's roles and permissions from SecurityConstants as canonical GrantedAuthority
+ * flyweights, each owning one bit of a principal's authority mask.
+ * Roles render as {@code ROLE_<name>} (as Spring's hasRole expects), permissions as their bare name.
+ */
+public enum StrideAuthority implements GrantedAuthority {
+
+    SUPER_ADMIN(true, SecurityConstants.ROLE_SUPER_ADMIN),
+    ORG_ADMIN(true, SecurityConstants.ROLE_ORG_ADMIN),
+    TEAM_ADMIN(true, SecurityConstants.ROLE_TEAM_ADMIN),
+    TEAM_MEMBER(true, SecurityConstants.ROLE_TEAM_MEMBER),
+
+    CREATE_ORGANIZATION(false, SecurityConstants.PERMISSION_CREATE_ORGANIZATION),
+    MANAGE_USERS(false, SecurityConstants.PERMISSION_MANAGE_USERS),
+    MANAGE_TEAMS(false, SecurityConstants.PERMISSION_MANAGE_TEAMS),
+    CREATE_TASKS(false, SecurityConstants.PERMISSION_CREATE_TASKS),
+    ASSIGN_TASKS(false, SecurityConstants.PERMISSION_ASSIGN_TASKS),
+    VIEW_ALL_TASKS(false, SecurityConstants.PERMISSION_VIEW_ALL_TASKS);
+
+    private static final Map<String, StrideAuthority> BY_NAME = new HashMap<>();
+    private static final Map<String, StrideAuthority> BY_AUTHORITY = new HashMap<>();
+
+    static {
+        for (StrideAuthority authority : values()) {
+            BY_NAME.put(authority.name, authority);
+            BY_AUTHORITY.put(authority.authority, authority);
+        }
+    }
+
+    private final boolean role;
+    private final String name;
+    private final String authority;
+    private final long bit;
+
+    StrideAuthority(boolean role, String name) {
+        this.role = role;
+        this.name = name;
+        this.authority = role ? "ROLE_" + name : name;
+        this.bit = 1L << ordinal();
+    }
+
+    @Override
+    public String getAuthority() {
+        return authority;
+    }
+
+    public boolean isRole() {
+        return role;
+    }
+
+    /**
+     * Role or permission name as used in token claims and SecurityConstants
+     */
+    public String getName() {
+        return name;
+    }
+
+    public long bit() {
+        return bit;
+    }
+
+    /**
+     * Lookup by claim name ("ORG_ADMIN", "MANAGE_TEAMS"), or null for names outside the platform set
+     */
+    public static StrideAuthority forName(String name) {
+        return BY_NAME.get(name);
+    }
+
+    /**
+     * Lookup by authority string ("ROLE_ORG_ADMIN", "MANAGE_TEAMS"), or null
+     */
+    public static StrideAuthority forAuthority(String authority) {
+        return BY_AUTHORITY.get(authority);
+    }
+}
@@ -0,0 +1,285 @@
+package com.stride.stride_common.auth;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+
+import com.stride.stride_common.security.SecurityConstants;
+
+/**
+ * Direct HMAC token writer for the platform's fixed claim set, bypassing the general jjwt builder.
+ * The header is base64url-encoded once, the payload JSON is written straight into a byte buffer
+ * in exactly the layout jjwt/Jackson produce (claim order, escaping, null claims omitted), and
+ * initialized Mac instances are reused. For the same key, claims and instants the result is
+ * byte-for-byte the token {@code Jwts.builder()...signWith(key).compact()} would return.
+ */
+final class TokenMinter {
+
+    private static final byte[] ALPHABET =
+        "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+    // Mac pool bound; a burst larger than this just creates short-lived extra instances
+    private static final int MAX_POOLED_MACS = 64;
+
+    private final SecretKey key;
+    private final byte[] encodedHeader;
+    private final Queue<Mac> macs = new ConcurrentLinkedQueue<>();
+
+    TokenMinter(SecretKey key) {
+        this.key = key;
+        String header = "{\"alg\":\"" + algorithmFor(key) + "\"}";
+        this.encodedHeader = Base64.getUrlEncoder().withoutPadding().encode(header.getBytes(StandardCharsets.US_ASCII));
+        // Fail at startup rather than on first login if the JCA provider lacks the algorithm
+        release(acquireMac());
+    }
+
+    String mint(String subject, String issuer, Instant issuedAt, Instant expiresAt,
+                String organizationId, List<String> roles, String type) {
+        return mint(subject, issuer, issuedAt, expiresAt, organizationId, roles, null, type);
+    }
+
+    String mint(String subject, String issuer, Instant issuedAt, Instant expiresAt,
+                String organizationId, List<String> roles, String roleMask, String type) {
+        return mint(subject, issuer, issuedAt, expiresAt, null, organizationId, roles, roleMask, type);
+    }
+
+    /**
+     * @param tokenId {@code jti} claim, omitted when null
+     * @param organizationId omitted when null
+     * @param roles omitted when null
+     * @param roleMask compact {@code rm} claim, omitted when null
+     */
+    String mint(String subject, String issuer, Instant issuedAt, Instant expiresAt, String tokenId,
+                String organizationId, List<String> roles, String roleMask, String type) {
+        ClaimsWriter claims = new ClaimsWriter();
+        claims.registered("sub", subject);
+        claims.registered("iss", issuer);
+        claims.number("iat", issuedAt.getEpochSecond());
+        claims.number("exp", expiresAt.getEpochSecond());
+        claims.registered("jti", tokenId);
+        claims.string("organizationId", organizationId);
+        claims.strings("roles", roles);
+        claims.string(SecurityConstants.JWT_ROLE_MASK_CLAIM, roleMask);
+        claims.string("type", type);
+        claims.end();
+
+        Mac mac = acquireMac();
+        try {
+            byte[] token = new byte[encodedHeader.length + 1 + encodedLength(claims.length) + 1
+                + encodedLength(mac.getMacLength())];
+            System.arraycopy(encodedHeader, 0, token, 0, encodedHeader.length);
+            int pos = encodedHeader.length;
+            token[pos++] = '.';
+            pos = encode(claims.buffer, claims.length, token, pos);
+            mac.update(token, 0, pos);
+            token[pos++] = '.';
+            byte[] signature = mac.doFinal();
+            pos = encode(signature, signature.length, token, pos);
+            return new String(token, 0, pos, StandardCharsets.ISO_8859_1);
+        } finally {
+            release(mac);
+        }
+    }
+
+    private Mac acquireMac() {
+        Mac mac = macs.poll();
+        if (mac != null) {
+            return mac;
+        }
+        try {
+            mac = Mac.getInstance(key.getAlgorithm());
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialize " + key.getAlgorithm(), e);
+        }
+    }
+
+    private void release(Mac mac) {
+        mac.reset();
+        if (macs.size() < MAX_POOLED_MACS) {
+            macs.offer(mac);
+        }
+    }
+
+    private static int encodedLength(int bytes) {
+        return (bytes * 4 + 2) / 3;
+    }
+
+    /**
+     * Unpadded base64url encoding of src[0, length) into dst at offset
+     *
+     * @return offset after the last written character
+     */
+    private static int encode(byte[] src, int length, byte[] dst, int offset) {
+        int i = 0;
+        for (; i + 2 < length; i += 3) {
+            int bits = (src[i] & 0xFF) << 16 | (src[i + 1] & 0xFF) << 8 | (src[i + 2] & 0xFF);
+            dst[offset++] = ALPHABET[bits >>> 18];
+            dst[offset++] = ALPHABET[bits >>> 12 & 0x3F];
+            dst[offset++] = ALPHABET[bits >>> 6 & 0x3F];
+            dst[offset++] = ALPHABET[bits & 0x3F];
+        }
+        if (i < length) {
+            int bits = (src[i] & 0xFF) << 16 | (i + 1 < length ? (src[i + 1] & 0xFF) << 8 : 0);
+            dst[offset++] = ALPHABET[bits >>> 18];
+            dst[offset++] = ALPHABET[bits >>> 12 & 0x3F];
+            if (i + 1 < length) {
+                dst[offset++] = ALPHABET[bits >>> 6 & 0x3F];
+            }
+        }
+        return offset;
+    }
+
+    /**
+     * JWS alg jjwt picks for an HMAC key created by Keys.hmacShaKeyFor
+     */
+    static String algorithmFor(SecretKey key) {
+        return switch (key.getAlgorithm()) {
+            case "HmacSHA256" -> "HS256";
+            case "HmacSHA384" -> "HS384";
+            case "HmacSHA512" -> "HS512";
+            default -> throw new IllegalArgumentException("Not an HMAC-SHA2 key: " + key.getAlgorithm());
+        };
+    }
+
+    /**
+     * Compact JSON object writer producing the same bytes as Jackson's default serializer:
+     * UTF-8, no whitespace, short escapes for backspace/tab/newline/formfeed/return and
+     * hex escapes for other control characters and for surrogates
+     */
+    private static final class ClaimsWriter {
+
+        private byte[] buffer = new byte[256];
+        private int length;
+
+        ClaimsWriter() {
+            buffer[length++] = '{';
+        }
+
+        void string(String name, String value) {
+            if (value != null) {
+                name(name);
+                quoted(value);
+            }
+        }
+
+        /**
+         * jjwt drops registered string claims that have no text, but keeps empty custom claims
+         */
+        void registered(String name, String value) {
+            if (value != null && !value.isBlank()) {
+                string(name, value);
+            }
+        }
+
+        void number(String name, long value) {
+            name(name);
+            ascii(Long.toString(value));
+        }
+
+        void strings(String name, List<String> values) {
+            if (values == null) {
+                return;
+            }
+            name(name);
+            put('[');
+            for (int i = 0; i < values.size(); i++) {
+                if (i > 0) {
+                    put(',');
+                }
+                String value = values.get(i);
+                if (value == null) {
+                    ascii("null");
+                } else {
+                    quoted(value);
+                }
+            }
+            put(']');
+        }
+
+        void end() {
+            put('}');
+        }
+
+        private void name(String name) {
+            if (length > 1) {
+                put(',');
+            }
+            quoted(name);
+            put(':');
+        }
+
+        private void quoted(String value) {
+            put('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c >= 0x20 && c < 0x80) {
+                    if (c == '"' || c == '\\') {
+                        put('\\');
+                    }
+                    put(c);
+                } else if (c < 0x20) {
+                    escapeControl(c);
+                } else if (Character.isSurrogate(c)) {
+                    // Jackson escapes characters outside the BMP as a pair of hex escapes
+                    put('\\');
+                    hexEscape(c);
+                } else if (c < 0x800) {
+                    put(0xC0 | c >> 6);
+                    put(0x80 | c & 0x3F);
+                } else {
+                    put(0xE0 | c >> 12);
+                    put(0x80 | c >> 6 & 0x3F);
+                    put(0x80 | c & 0x3F);
+                }
+            }
+            put('"');
+        }
+
+        private void escapeControl(char c) {
+            put('\\');
+            switch (c) {
+                case '\b' -> put('b');
+                case '\t' -> put('t');
+                case '\n' -> put('n');
+                case '\f' -> put('f');
+                case '\r' -> put('r');
+                default -> hexEscape(c);
+            }
+        }
+
+        private void hexEscape(char c) {
+            put('u');
+            put(HEX[c >> 12]);
+            put(HEX[c >> 8 & 0xF]);
+            put(HEX[c >> 4 & 0xF]);
+            put(HEX[c & 0xF]);
+        }
+
+        private void ascii(String value) {
+            for (int i = 0; i < value.length(); i++) {
+                put(value.charAt(i));
+            }
+        }
+
+        private void put(int b) {
+            ensure(1);
+            buffer[length++] = (byte) b;
+        }
+
+        private void ensure(int extra) {
+            if (length + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+            }
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.stride.stride_common.auth;
+
+import java.time.Clock;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Structural check run before any signature work.
+ * Scans the token in place - base64url is decoded byte by byte straight from the String and the
+ * header and payload JSON are walked without building strings or maps - and rejects tokens that
+ * are oversized, not three segments, not base64url/JSON, unsigned or using an unknown alg, of the wrong typ, or
+ * already past (or missing) their exp. Passing the check proves nothing: every token that passes
+ * still goes through full verification.
+ */
+@Component
+@ConditionalOnProperty(prefix = "stride.jwt.precheck", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TokenPrecheck implements MeterBinder {
+
+    /**
+     * Why a token was rejected
+     */
+    public enum Reason {
+        OVERSIZED,
+        SEGMENT_COUNT,
+        MALFORMED,
+        ALGORITHM,
+        TYPE,
+        MISSING_EXPIRY,
+        EXPIRED
+    }
+
+    private static final String[] SIGNATURE_ALGORITHMS = {
+        "HS256", "HS384", "HS512", "RS256", "RS384", "RS512",
+        "PS256", "PS384", "PS512", "ES256", "ES384", "ES512", "EdDSA"
+    };
+
+    private final int maxLength;
+    private final Clock clock;
+    private final LongAdder passed = new LongAdder();
+    private final Map<Reason, LongAdder> rejections = new EnumMap<>(Reason.class);
+
+    @Autowired
+    public TokenPrecheck(@Value("${stride.jwt.precheck.max-length:8192}") int maxLength) {
+        this(maxLength, Clock.systemUTC());
+    }
+
+    public TokenPrecheck(int maxLength, Clock clock) {
+        this.maxLength = maxLength;
+        this.clock = clock;
+        for (Reason reason : Reason.values()) {
+            rejections.put(reason, new LongAdder());
+        }
+    }
+
+    /**
+     * @return the rejection reason, or null if the token may be passed on to full verification
+     */
+    public Reason check(String token) {
+        Reason reason = scan(token);
+        if (reason == null) {
+            passed.increment();
+        } else {
+            rejections.get(reason).increment();
+        }
+        return reason;
+    }
+
+    public long getPassedCount() {
+        return passed.sum();
+    }
+
+    public long getRejectedCount(Reason reason) {
+        return rejections.get(reason).sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("stride.jwt.precheck", passed, LongAdder::sum)
+            .tag("result", "passed")
+            .description("Tokens handed on to signature verification")
+            .register(registry);
+        rejections.forEach((reason, count) -> FunctionCounter.builder("stride.jwt.precheck", count, LongAdder::sum)
+            .tag("result", "rejected")
+            .tag("reason", reason.name().toLowerCase())
+            .description("Tokens rejected before signature verification")
+            .register(registry));
+    }
+
+    private Reason scan(String token) {
+        if (token == null || token.isEmpty()) {
+            return Reason.MALFORMED;
+        }
+        if (token.length() > maxLength) {
+            return Reason.OVERSIZED;
+        }
+        int firstDot = -1;
+        int secondDot = -1;
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (c == '.') {
+                if (firstDot < 0) {
+                    firstDot = i;
+                } else if (secondDot < 0) {
+                    secondDot = i;
+                } else {
+                    return Reason.SEGMENT_COUNT;
+                }
+            } else if (!Base64UrlJson.isBase64UrlChar(c)) {
+                return Reason.MALFORMED;
+            }
+        }
+        if (secondDot < 0) {
+            return Reason.SEGMENT_COUNT;
+        }
+        if (secondDot == token.length() - 1) {
+            // Unsigned ("alg":"none") token
+            return Reason.ALGORITHM;
+        }
+
+        Reason headerReason = checkHeader(new Base64UrlJson(token, 0, firstDot));
+        if (headerReason != null) {
+            return headerReason;
+        }
+        return checkPayload(new Base64UrlJson(token, firstDot + 1, secondDot));
+    }
+
+    private Reason checkHeader(Base64UrlJson json) {
+        boolean signed = false;
+        if (!json.beginObject()) {
+            return Reason.MALFORMED;
+        }
+        while (json.nextKey()) {
+            if (json.keyIs("alg")) {
+                signed = json.valueIsOneOf(SIGNATURE_ALGORITHMS);
+            } else if (json.keyIs("typ")) {
+                if (!json.valueIsOneOf("JWT")) {
+                    return json.isMalformed() ? Reason.MALFORMED : Reason.TYPE;
+                }
+            } else {
+                json.skipValue();
+            }
+        }
+        if (json.isMalformed()) {
+            return Reason.MALFORMED;
+        }
+        return signed ? null : Reason.ALGORITHM;
+    }
+
+    private Reason checkPayload(Base64UrlJson json) {
+        long expiresAt = Long.MIN_VALUE;
+        if (!json.beginObject()) {
+            return Reason.MALFORMED;
+        }
+        while (json.nextKey()) {
+            if (json.keyIs("exp")) {
+                expiresAt = json.readLong();
+            } else {
+                json.skipValue();
+            }
+        }
+        if (json.isMalformed()) {
+            return Reason.MALFORMED;
+        }
+        if (expiresAt == Long.MIN_VALUE) {
+            return Reason.MISSING_EXPIRY;
+        }
+        return clock.millis() >= expiresAt * 1000 ? Reason.EXPIRED : null;
+    }
+}
@@ -0,0 +1,51 @@
+package com.stride.stride_common.auth;
+
+import com.stride.stride_common.exceptions.AuthenticationException;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Outcome of validating one token without throwing: the verified claims, or why the token was rejected
+ */
+public record TokenValidation(Claims claims, VerifiedToken verified, Failure failure) {
+
+    private static final TokenValidation INVALID = new TokenValidation(null, null, Failure.INVALID);
+    private static final TokenValidation EXPIRED = new TokenValidation(null, null, Failure.EXPIRED);
+    private static final TokenValidation REVOKED = new TokenValidation(null, null, Failure.REVOKED);
+
+    public enum Failure {
+        INVALID,
+        EXPIRED,
+        REVOKED;
+
+        /**
+         * The exception validateToken throws for this failure
+         */
+        public AuthenticationException toException() {
+            return switch (this) {
+                case INVALID -> AuthenticationException.invalidToken();
+                case EXPIRED -> AuthenticationException.tokenExpired();
+                case REVOKED -> AuthenticationException.tokenRevoked();
+            };
+        }
+    }
+
+    public static TokenValidation valid(Claims claims, VerifiedToken verified) {
+        return new TokenValidation(claims, verified, null);
+    }
+
+    /**
+     * Shared instance per failure; failed results carry no token-specific data
+     */
+    public static TokenValidation failed(Failure failure) {
+        return switch (failure) {
+            case INVALID -> INVALID;
+            case EXPIRED -> EXPIRED;
+            case REVOKED -> REVOKED;
+        };
+    }
+
+    public boolean isValid() {
+        return failure == null;
+    }
+}
@@ -1,28 +1,52 @@
 package com.stride.stride_common.auth;
 
-import java.util.Collection;
 import java.util.List;
 
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 /**
  * User principal for JWT authentication
+ *
+ * @param authorityMask precomputed AuthorityMask of the roles; implied permissions are added only by permission checks
  */
 public record UserPrincipal(
     String userId,
     String username,
     String organizationId,
     List<String> roles,
-    boolean enabled
+    boolean enabled,
+    long authorityMask
 ) implements UserDetails {
     
+    public UserPrincipal(String userId, String username, String organizationId, List<String> roles, boolean enabled) {
+        this(userId, username, organizationId, roles, enabled, AuthorityMask.of(roles));
+    }
+    
     @Override
-    public Collection<? extends GrantedAuthority> getAuthorities() {
-        return roles.stream()
-            .map(role -> new SimpleGrantedAuthority("ROLE_" + role))
-            .toList();
+    public List<GrantedAuthority> getAuthorities() {
+        return AuthorityMask.authorities(authorityMask, roles);
+    }
+    
+    /**
+     * Whether the principal holds the role or permission (one bitwise check)
+     */
+    public boolean hasAuthority(StrideAuthority authority) {
+        return (authorityMask & authority.bit()) != 0;
+    }
+    
+    /**
+     * Whether the principal holds every authority in the mask
+     */
+    public boolean hasAll(long requiredMask) {
+        return AuthorityMask.hasAll(authorityMask, requiredMask);
+    }
+    
+    /**
+     * Whether the principal holds at least one authority in the mask
+     */
+    public boolean hasAny(long requiredMask) {
+        return AuthorityMask.hasAny(authorityMask, requiredMask);
     }
     
     @Override
@@ -55,4 +79,4 @@ public record UserPrincipal(
     public boolean isEnabled() {
         return enabled;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,83 @@
+package com.stride.stride_common.auth;
+
+import java.time.Instant;
+import java.util.List;
+
+import com.stride.stride_common.security.SecurityConstants;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Immutable view of a token whose signature and expiry have been verified.
+ * Carries every claim the platform issues so callers never need to re-parse the token.
+ *
+ * @param roles the {@code roles} claim, or the names decoded from the compact {@code rm} claim;
+ *              empty, never null, when the token carries neither
+ * @param authorityMask AuthorityMask of the roles, ready for the principal
+ */
+public record VerifiedToken(
+    String subject,
+    String issuer,
+    String organizationId,
+    List<String> roles,
+    String type,
+    Instant issuedAt,
+    Instant expiresAt,
+    long authorityMask
+) {
+
+    public static final String ACCESS_TYPE = "access";
+    public static final String REFRESH_TYPE = "refresh";
+
+    public VerifiedToken {
+        roles = roles != null ? List.copyOf(roles) : List.of();
+    }
+
+    public VerifiedToken(String subject, String issuer, String organizationId, List<String> roles, String type,
+                         Instant issuedAt, Instant expiresAt) {
+        this(subject, issuer, organizationId, roles, type, issuedAt, expiresAt, AuthorityMask.of(roles));
+    }
+
+    /**
+     * Build from verified JWT claims. A valid compact {@code rm} claim is decoded straight into the
+     * mask; otherwise the {@code roles} list is read.
+     */
+    public static VerifiedToken from(Claims claims) {
+        long compactMask = claims.get(SecurityConstants.JWT_ROLE_MASK_CLAIM) instanceof String roleMask
+            ? CompactRoles.decode(roleMask) : -1;
+        List<String> roles = compactMask >= 0 ? CompactRoles.names(compactMask) : roles(claims);
+        long mask = compactMask >= 0 ? compactMask : AuthorityMask.of(roles);
+        return new VerifiedToken(
+            claims.getSubject(),
+            claims.getIssuer(),
+            claims.get("organizationId", String.class),
+            roles,
+            claims.get("type", String.class),
+            claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+            claims.getExpiration() != null ? claims.getExpiration().toInstant() : null,
+            mask);
+    }
+
+    public boolean isAccessToken() {
+        return ACCESS_TYPE.equals(type);
+    }
+
+    public boolean isRefreshToken() {
+        return REFRESH_TYPE.equals(type);
+    }
+
+    /**
+     * Whether the token is past its expiry at the given instant
+     */
+    public boolean isExpiredAt(Instant now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+
+    private static List<String> roles(Claims claims) {
+        List<?> raw = claims.get("roles", List.class);
+        if (raw == null) {
+            return List.of();
+        }
+        return raw.stream().map(String::valueOf).toList();
+    }
+}
@@ -0,0 +1,202 @@
+package com.stride.stride_common.auth;
+
+import java.time.Clock;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bounded cache of already verified tokens, enabled with {@code stride.jwt.cache.enabled=true}.
+ * Entries are keyed by a 64-bit hash of the token's signature tail, hold the full raw token
+ * (compared in constant time, so a hash collision is only ever a miss) and expire exactly at the
+ * token's {@code exp} - a cached token is never accepted longer than the token itself allows.
+ * Reads are plain ConcurrentHashMap lookups and take no locks.
+ */
+@Component
+@ConditionalOnProperty(prefix = "stride.jwt.cache", name = "enabled", havingValue = "true")
+@Slf4j
+public class VerifiedTokenCache implements MeterBinder {
+
+    private static final int HASHED_TAIL_LENGTH = 16;
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicBoolean purging = new AtomicBoolean();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final int maxSize;
+    private final Clock clock;
+
+    @Autowired
+    public VerifiedTokenCache(@Value("${stride.jwt.cache.max-size:10000}") int maxSize) {
+        this(maxSize, Clock.systemUTC());
+    }
+
+    public VerifiedTokenCache(int maxSize, Clock clock) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Token cache size must be positive");
+        }
+        this.maxSize = maxSize;
+        this.clock = clock;
+    }
+
+    /**
+     * Cached verification result for the token, or null if absent or already expired
+     */
+    public Entry get(String token) {
+        Entry entry = entries.get(hash(token));
+        if (entry == null || !constantTimeEquals(entry.token(), token)) {
+            misses.increment();
+            return null;
+        }
+        if (clock.millis() >= entry.expiresAtMillis()) {
+            entries.remove(hash(token), entry);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry;
+    }
+
+    /**
+     * Remember a successfully verified token until its expiry. Tokens without {@code exp} are not cached.
+     */
+    public void put(Entry entry) {
+        if (entry.verified().expiresAt() == null || clock.millis() >= entry.expiresAtMillis()) {
+            return;
+        }
+        if (entries.size() >= maxSize && !makeRoom()) {
+            return;
+        }
+        entries.put(hash(entry.token()), entry);
+    }
+
+    /**
+     * Drop a single token
+     */
+    public void invalidate(String token) {
+        Entry entry = entries.get(hash(token));
+        if (entry != null && constantTimeEquals(entry.token(), token)) {
+            entries.remove(hash(token), entry);
+        }
+    }
+
+    /**
+     * Drop every cached token of a subject, e.g. after its sessions were revoked
+     *
+     * @return number of entries removed
+     */
+    public int invalidateSubject(String subject) {
+        int before = entries.size();
+        entries.values().removeIf(entry -> subject.equals(entry.verified().subject()));
+        return Math.max(0, before - entries.size());
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("stride.jwt.cache.requests", hits, LongAdder::sum)
+            .tag("result", "hit")
+            .description("Token verifications answered from the cache")
+            .register(registry);
+        FunctionCounter.builder("stride.jwt.cache.requests", misses, LongAdder::sum)
+            .tag("result", "miss")
+            .description("Token verifications that needed a signature check")
+            .register(registry);
+        FunctionCounter.builder("stride.jwt.cache.evictions", evictions, LongAdder::sum)
+            .description("Live entries evicted because the cache was full")
+            .register(registry);
+        Gauge.builder("stride.jwt.cache.size", entries, ConcurrentHashMap::size)
+            .description("Cached verified tokens")
+            .register(registry);
+    }
+
+    /**
+     * Purge expired entries, then arbitrary live ones if still full. Only one thread purges at a
+     * time; the others just skip caching their token meanwhile.
+     */
+    private boolean makeRoom() {
+        if (!purging.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            long now = clock.millis();
+            entries.values().removeIf(entry -> now >= entry.expiresAtMillis());
+            int excess = entries.size() - maxSize + Math.max(1, maxSize / 16);
+            Iterator<Entry> iterator = entries.values().iterator();
+            for (; excess > 0 && iterator.hasNext(); excess--) {
+                iterator.next();
+                iterator.remove();
+                evictions.increment();
+            }
+            return entries.size() < maxSize;
+        } finally {
+            purging.set(false);
+        }
+    }
+
+    /**
+     * FNV-1a over the last characters of the token; for a JWT these belong to the signature,
+     * which is already uniformly distributed
+     */
+    static long hash(String token) {
+        long hash = FNV_OFFSET;
+        for (int i = Math.max(0, token.length() - HASHED_TAIL_LENGTH); i < token.length(); i++) {
+            hash ^= token.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return hash ^ token.length();
+    }
+
+    private static boolean constantTimeEquals(String a, String b) {
+        if (a.length() != b.length()) {
+            return false;
+        }
+        int diff = 0;
+        for (int i = 0; i < a.length(); i++) {
+            diff |= a.charAt(i) ^ b.charAt(i);
+        }
+        return diff == 0;
+    }
+
+    /**
+     * A verified token with its claims and absolute expiry
+     */
+    public record Entry(String token, Claims claims, VerifiedToken verified, long expiresAtMillis) {
+
+        public static Entry of(String token, Claims claims, VerifiedToken verified) {
+            long expiresAtMillis = verified.expiresAt() != null ? verified.expiresAt().toEpochMilli() : Long.MAX_VALUE;
+            return new Entry(token, claims, verified, expiresAtMillis);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.stride.stride_common.config;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.DisposableBean;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Streams JFR {@code jdk.VirtualThreadPinned} events and reports those raised inside stride code:
+ * a virtual thread that parks while holding a monitor (or inside a native frame) keeps its carrier
+ * thread, which caps throughput at the carrier count. Each pinning site is logged once at WARN
+ * with its stack frame and counted in {@code stride.threads.virtual.pinned}; pinning elsewhere is
+ * left to the JFR recording itself.
+ * <p>
+ * Where Flight Recorder is unavailable (disabled with {@code -XX:-FlightRecorder}, or a runtime
+ * without JFR) the monitor logs a warning and stays inactive instead of failing startup.
+ */
+@Slf4j
+public class VirtualThreadPinningMonitor implements MeterBinder, DisposableBean {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String STRIDE_PACKAGE = "com.stride.";
+
+    private final RecordingStream stream;
+    private final String packagePrefix;
+    private final Map<String, LongAdder> sites = new ConcurrentHashMap<>();
+    private final LongAdder pinned = new LongAdder();
+
+    public VirtualThreadPinningMonitor(Duration threshold) {
+        this(threshold, STRIDE_PACKAGE);
+    }
+
+    VirtualThreadPinningMonitor(Duration threshold, String packagePrefix) {
+        this.packagePrefix = packagePrefix;
+        this.stream = start(threshold);
+    }
+
+    /**
+     * Whether pinning events are being streamed
+     */
+    public boolean isActive() {
+        return stream != null;
+    }
+
+    /**
+     * Pinning events seen in stride code since startup
+     */
+    public long getPinnedCount() {
+        return pinned.sum();
+    }
+
+    /**
+     * Pinning events per site, as {@code class.method:line} of the innermost stride frame
+     */
+    public Map<String, Long> getSites() {
+        Map<String, Long> counts = new ConcurrentHashMap<>();
+        sites.forEach((site, count) -> counts.put(site, count.sum()));
+        return counts;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("stride.threads.virtual.pinned", pinned, LongAdder::sum)
+            .description("Virtual threads that parked while pinned to their carrier in stride code")
+            .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private RecordingStream start(Duration threshold) {
+        if (!FlightRecorder.isAvailable()) {
+            log.warn("Flight Recorder is not available, virtual thread pinning detection is off");
+            return null;
+        }
+        RecordingStream recordingStream = null;
+        try {
+            recordingStream = new RecordingStream();
+            recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+            recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+            recordingStream.startAsync();
+            return recordingStream;
+        } catch (IllegalStateException | SecurityException e) {
+            log.warn("Could not start Flight Recorder, virtual thread pinning detection is off: {}", e.getMessage());
+            if (recordingStream != null) {
+                recordingStream.close();
+            }
+            return null;
+        }
+    }
+
+    void onPinned(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null) {
+            return;
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (!frame.isJavaFrame() || !frame.getMethod().getType().getName().startsWith(packagePrefix)) {
+                continue;
+            }
+            String site = frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+            pinned.increment();
+            LongAdder count = sites.computeIfAbsent(site, key -> {
+                log.warn("Virtual thread pinned to its carrier for {} ms at {}", event.getDuration().toMillis(), key);
+                return new LongAdder();
+            });
+            count.increment();
+            return;
+        }
+    }
+}
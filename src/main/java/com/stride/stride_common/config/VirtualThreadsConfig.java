@@ -0,0 +1,38 @@
+package com.stride.stride_common.config;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.stride.stride_common.kafka.KafkaEventProducer;
+
+/**
+ * Virtual-thread profile, on together with Spring Boot's {@code spring.threads.virtual.enabled=true}
+ * (which moves request handling, listener containers and task executors to virtual threads).
+ * It moves Kafka publish completions off the producer I/O thread onto virtual threads, as
+ * {@code stride.kafka.completion-executor.enabled=true} would, so callers' continuations can block.
+ * Token validation fan-out already runs on virtual threads and {@code publishSync} waits park the
+ * calling thread; the password bulkhead stays on platform threads since hashing is CPU-bound.
+ * With {@code stride.threads.pinning-detection.enabled=true} it also reports carrier pinning in stride code.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "spring.threads.virtual", name = "enabled", havingValue = "true")
+public class VirtualThreadsConfig {
+
+    @Bean(name = KafkaEventProducer.COMPLETION_EXECUTOR_BEAN, destroyMethod = "close")
+    public ExecutorService strideKafkaCompletionExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("stride-kafka-completion-", 0).factory());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "stride.threads.pinning-detection", name = "enabled", havingValue = "true")
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${stride.threads.pinning-detection.threshold:20ms}") Duration threshold) {
+        return new VirtualThreadPinningMonitor(threshold);
+    }
+}
@@ -0,0 +1,129 @@
+package com.stride.stride_common.context;
+
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import com.stride.stride_common.auth.VerifiedToken;
+
+/**
+ * Immutable tenant, user and correlation context of the request being served.
+ * <p>
+ * Bound for the extent of a call, like a {@code ScopedValue} (a preview API in Java 21, so the
+ * binding is a plain ThreadLocal set and restored around {@link #run}/{@link #call}). Nothing is
+ * inherited by new threads: tasks that should see the context are wrapped with
+ * {@link #propagate(Runnable)} or submitted through {@link #propagating(Executor)}, which only
+ * capture the reference - no copying, no InheritableThreadLocal cost for the thousands of virtual
+ * threads that do not need it.
+ */
+public record StrideRequestContext(
+    String organizationId,
+    String userId,
+    String correlationId,
+    VerifiedToken token
+) {
+
+    private static final ThreadLocal<StrideRequestContext> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Context of a request authenticated with the given verified token
+     */
+    public static StrideRequestContext of(VerifiedToken token, String correlationId) {
+        return new StrideRequestContext(token.organizationId(), token.subject(), correlationId, token);
+    }
+
+    /**
+     * Context of an unauthenticated request or a background job, carrying only a correlation id
+     */
+    public static StrideRequestContext anonymous(String correlationId) {
+        return new StrideRequestContext(null, null, correlationId, null);
+    }
+
+    /**
+     * The context bound to the current thread, or null outside of one
+     */
+    public static StrideRequestContext current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Correlation id of the current context, or null outside of one
+     */
+    public static String currentCorrelationId() {
+        StrideRequestContext context = CURRENT.get();
+        return context != null ? context.correlationId() : null;
+    }
+
+    /**
+     * Correlation id of the current context, or a new random one outside of a context
+     */
+    public static String correlationIdOrNew() {
+        StrideRequestContext context = CURRENT.get();
+        return context != null && context.correlationId() != null ? context.correlationId() : UUID.randomUUID().toString();
+    }
+
+    /**
+     * Run the operation with this context bound, restoring the previous binding afterwards
+     */
+    public void run(Runnable operation) {
+        StrideRequestContext previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            operation.run();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Call the operation with this context bound, restoring the previous binding afterwards
+     */
+    public <T, X extends Throwable> T call(Operation<T, X> operation) throws X {
+        StrideRequestContext previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return operation.call();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * The task, bound to the caller's current context when it runs; unchanged outside of a context
+     */
+    public static Runnable propagate(Runnable task) {
+        StrideRequestContext context = CURRENT.get();
+        return context == null ? task : () -> context.run(task);
+    }
+
+    /**
+     * The supplier, bound to the caller's current context when it runs; unchanged outside of a context
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        StrideRequestContext context = CURRENT.get();
+        return context == null ? task : () -> context.call(task::get);
+    }
+
+    /**
+     * Executor running every task in the context current at submission time
+     */
+    public static Executor propagating(Executor executor) {
+        return task -> executor.execute(propagate(task));
+    }
+
+    private static void restore(StrideRequestContext previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Operation returning a value, like {@code ScopedValue.CallableOp}
+     */
+    @FunctionalInterface
+    public interface Operation<T, X extends Throwable> {
+        T call() throws X;
+    }
+}
@@ -0,0 +1,201 @@
+package com.stride.stride_common.eventlog;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import com.stride.stride_common.events.BaseEvent;
+import com.stride.stride_common.exceptions.ServiceException;
+import com.stride.stride_common.kafka.EventCodec;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Local append-only event store backed by memory-mapped segment files.
+ * Used to record event streams without a broker for debugging, backfills and projection rebuilds.
+ * A single instance owns the directory for writing; any number of {@link EventLogReader}s may replay it.
+ */
+@Slf4j
+public final class EventLog implements Closeable {
+
+    private final Path directory;
+    private final EventCodec codec;
+    private final EventLogOptions options;
+    private final ConcurrentHashMap<Class<?>, byte[]> typeNames = new ConcurrentHashMap<>();
+    // A lock rather than a monitor: writers waiting behind a segment roll or fsync then park
+    // instead of pinning their carrier when they run on virtual threads
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    // Guarded by writeLock
+    private LogSegment active;
+    private boolean closed;
+
+    private EventLog(Path directory, EventCodec codec, EventLogOptions options, LogSegment active) {
+        this.directory = directory;
+        this.codec = codec;
+        this.options = options;
+        this.active = active;
+    }
+
+    /**
+     * Open the log in the given directory with default options, creating it if needed
+     */
+    public static EventLog open(Path directory, EventCodec codec) {
+        return open(directory, codec, EventLogOptions.defaults());
+    }
+
+    /**
+     * Open the log in the given directory, recovering the tail of the last segment
+     */
+    public static EventLog open(Path directory, EventCodec codec, EventLogOptions options) {
+        try {
+            Files.createDirectories(directory);
+            List<Long> segments = listSegments(directory);
+            long baseOffset = segments.isEmpty() ? 0 : segments.get(segments.size() - 1);
+            LogSegment segment = LogSegment.openWritable(directory, baseOffset, options);
+            log.debug("Opened event log {} at offset {}", directory, segment.nextOffset());
+            return new EventLog(directory, codec, options, segment);
+        } catch (IOException e) {
+            throw ServiceException.eventLogError("open", e);
+        }
+    }
+
+    /**
+     * Append an event, using its own timestamp (or now, if absent) as the log time
+     *
+     * @return the offset assigned to the event
+     */
+    public long append(BaseEvent event) {
+        Instant timestamp = event.timestamp() != null ? event.timestamp() : Instant.now();
+        return append(event, timestamp);
+    }
+
+    /**
+     * Append an event with an explicit log time
+     *
+     * @return the offset assigned to the event
+     */
+    public long append(BaseEvent event, Instant timestamp) {
+        byte[] payload = codec.encode(event);
+        byte[] type = typeNames.computeIfAbsent(event.getClass(),
+            eventClass -> eventClass.getName().getBytes(StandardCharsets.UTF_8));
+
+        writeLock.lock();
+        try {
+            ensureOpen();
+            long offset = active.nextOffset();
+            if (!active.append(timestamp.toEpochMilli(), type, payload)) {
+                roll();
+                offset = active.nextOffset();
+                if (!active.append(timestamp.toEpochMilli(), type, payload)) {
+                    throw ServiceException.eventLogError("append", new IllegalArgumentException(
+                        "Event of " + payload.length + " bytes does not fit in a segment of "
+                            + options.segmentBytes() + " bytes"));
+                }
+            }
+            return offset;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Force written records to disk
+     */
+    public void flush() {
+        writeLock.lock();
+        try {
+            ensureOpen();
+            active.flush();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Offset the next appended event will receive
+     */
+    public long nextOffset() {
+        writeLock.lock();
+        try {
+            return active.nextOffset();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Create a reader over this log's directory
+     */
+    public EventLogReader reader() {
+        return new EventLogReader(directory, codec);
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public void close() {
+        writeLock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            active.close();
+        } catch (IOException e) {
+            throw ServiceException.eventLogError("close", e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Open the next segment before retiring the full one, so a failed open leaves the log writable
+     */
+    private void roll() {
+        long nextBase = active.nextOffset();
+        LogSegment next;
+        try {
+            next = LogSegment.openWritable(directory, nextBase, options);
+        } catch (IOException e) {
+            throw ServiceException.eventLogError("roll", e);
+        }
+        LogSegment previous = active;
+        active = next;
+        try {
+            previous.close();
+        } catch (IOException e) {
+            log.warn("Failed to close event log segment {} in {}", previous.baseOffset(), directory, e);
+        }
+        log.debug("Rolled event log {} to new segment at offset {}", directory, nextBase);
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw ServiceException.eventLogError("append", new IllegalStateException("Event log is closed"));
+        }
+    }
+
+    /**
+     * Base offsets of all segments in the directory, ascending
+     */
+    static List<Long> listSegments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                .map(path -> path.getFileName().toString())
+                .filter(name -> name.endsWith(LogSegment.LOG_SUFFIX))
+                .map(name -> Long.parseLong(name.substring(0, name.length() - LogSegment.LOG_SUFFIX.length())))
+                .sorted()
+                .toList();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.stride.stride_common.eventlog;
+
+import java.time.Instant;
+
+import com.stride.stride_common.events.BaseEvent;
+
+/**
+ * A single event read back from the event log
+ *
+ * @param offset the event's position in the log, starting at 0
+ * @param timestamp the event time recorded at append
+ * @param event the decoded event
+ */
+public record EventLogEntry(long offset, Instant timestamp, BaseEvent event) {
+}
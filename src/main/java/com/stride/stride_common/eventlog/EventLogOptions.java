@@ -0,0 +1,26 @@
+package com.stride.stride_common.eventlog;
+
+/**
+ * Tuning options for an {@link EventLog}
+ *
+ * @param segmentBytes size of each preallocated, memory-mapped segment file
+ * @param indexIntervalBytes bytes of records between two sparse index entries
+ */
+public record EventLogOptions(int segmentBytes, int indexIntervalBytes) {
+
+    public static final int DEFAULT_SEGMENT_BYTES = 64 * 1024 * 1024;
+    public static final int DEFAULT_INDEX_INTERVAL_BYTES = 4096;
+
+    public EventLogOptions {
+        if (segmentBytes < 1024) {
+            throw new IllegalArgumentException("segmentBytes must be at least 1024");
+        }
+        if (indexIntervalBytes <= 0) {
+            throw new IllegalArgumentException("indexIntervalBytes must be positive");
+        }
+    }
+
+    public static EventLogOptions defaults() {
+        return new EventLogOptions(DEFAULT_SEGMENT_BYTES, DEFAULT_INDEX_INTERVAL_BYTES);
+    }
+}
@@ -0,0 +1,169 @@
+package com.stride.stride_common.eventlog;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import com.stride.stride_common.events.BaseEvent;
+import com.stride.stride_common.exceptions.EventPublishException;
+import com.stride.stride_common.exceptions.EventSerializationException;
+import com.stride.stride_common.exceptions.ServiceException;
+import com.stride.stride_common.kafka.EventCodec;
+import com.stride.stride_common.kafka.EventPublisher;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sequential replay over an {@link EventLog} directory.
+ * Segments are read through read-only memory maps; records are filtered on their header
+ * (offset, time, type) before any payload is copied or decoded.
+ */
+@Slf4j
+public class EventLogReader {
+
+    private static final int REPUBLISH_WINDOW = 1024;
+
+    private final Path directory;
+    private final EventCodec codec;
+    private final Map<String, Class<? extends BaseEvent>> eventClasses = new ConcurrentHashMap<>();
+
+    public EventLogReader(Path directory, EventCodec codec) {
+        this.directory = directory;
+        this.codec = codec;
+    }
+
+    /**
+     * Stream every matching event to the consumer in log order
+     *
+     * @return number of events delivered
+     */
+    public long replay(ReplayFilter filter, Consumer<EventLogEntry> consumer) {
+        Set<String> typeNames = filter.eventTypeNames();
+        long fromMillis = filter.fromMillis();
+        long toMillis = filter.toMillis();
+        byte[] scratch = new byte[4096];
+        long delivered = 0;
+
+        List<Long> segments = segments();
+        for (int i = 0; i < segments.size(); i++) {
+            long baseOffset = segments.get(i);
+            // Skip whole segments that end before the requested offset
+            if (i + 1 < segments.size() && segments.get(i + 1) <= filter.fromOffset()) {
+                continue;
+            }
+
+            LogSegment.ReadView view = openSegment(baseOffset);
+            long[] start = view.seek(fromMillis, filter.fromOffset() - baseOffset);
+            long offset = baseOffset + start[0];
+            int position = (int) start[1];
+
+            int length;
+            while ((length = view.validLength(position)) >= 0) {
+                int recordEnd = position + LogSegment.LENGTH_BYTES + length;
+                long timestamp = view.timestampAt(position);
+
+                if (offset >= filter.fromOffset() && timestamp >= fromMillis && timestamp < toMillis) {
+                    int typeLength = view.typeLengthAt(position);
+                    int typeStart = LogSegment.ReadView.typeStart(position);
+                    int payloadLength = recordEnd - typeStart - typeLength;
+                    if (scratch.length < typeLength + payloadLength) {
+                        scratch = new byte[Math.max(scratch.length * 2, typeLength + payloadLength)];
+                    }
+                    view.copy(typeStart, scratch, 0, typeLength);
+                    String typeName = new String(scratch, 0, typeLength, StandardCharsets.UTF_8);
+
+                    if (typeNames.isEmpty() || typeNames.contains(typeName)) {
+                        view.copy(typeStart + typeLength, scratch, typeLength, payloadLength);
+                        BaseEvent event = codec.decode(scratch, typeLength, payloadLength, resolve(typeName));
+                        consumer.accept(new EventLogEntry(offset, Instant.ofEpochMilli(timestamp), event));
+                        delivered++;
+                    }
+                }
+
+                position = recordEnd;
+                offset++;
+            }
+        }
+        return delivered;
+    }
+
+    /**
+     * Re-publish every matching event through the given publisher, keeping a bounded
+     * window of sends in flight
+     *
+     * @return number of events published
+     * @throws EventPublishException if any publish fails
+     */
+    public long replayTo(EventPublisher publisher, ReplayFilter filter) {
+        List<CompletableFuture<Void>> inFlight = new ArrayList<>(REPUBLISH_WINDOW);
+        long published = replay(filter, entry -> {
+            inFlight.add(publisher.publish(entry.event()));
+            if (inFlight.size() >= REPUBLISH_WINDOW) {
+                awaitAll(inFlight);
+            }
+        });
+        awaitAll(inFlight);
+        log.info("Replayed {} events from {} to {}", published, directory, publisher.getClass().getSimpleName());
+        return published;
+    }
+
+    private void awaitAll(List<CompletableFuture<Void>> futures) {
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            while (cause != null && !(cause instanceof EventPublishException) && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof EventPublishException publishException) {
+                throw publishException;
+            }
+            throw new EventPublishException("Failed to re-publish replayed events", null, null, e);
+        } finally {
+            futures.clear();
+        }
+    }
+
+    private List<Long> segments() {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try {
+            return EventLog.listSegments(directory);
+        } catch (IOException e) {
+            throw ServiceException.eventLogError("list", e);
+        }
+    }
+
+    private LogSegment.ReadView openSegment(long baseOffset) {
+        try {
+            return LogSegment.openReadOnly(directory, baseOffset);
+        } catch (IOException e) {
+            throw ServiceException.eventLogError("read", e);
+        }
+    }
+
+    private Class<? extends BaseEvent> resolve(String typeName) {
+        return eventClasses.computeIfAbsent(typeName, name -> {
+            try {
+                Class<?> type = Class.forName(name, false, EventLogReader.class.getClassLoader());
+                if (!BaseEvent.class.isAssignableFrom(type)) {
+                    throw new EventSerializationException("Logged type " + name + " is not a BaseEvent");
+                }
+                return type.asSubclass(BaseEvent.class);
+            } catch (ClassNotFoundException e) {
+                throw new EventSerializationException("Unknown event type in log: " + name, e);
+            }
+        });
+    }
+}
@@ -0,0 +1,290 @@
+package com.stride.stride_common.eventlog;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * One memory-mapped segment of the event log: a preallocated data file plus a sparse index.
+ *
+ * Record layout (big endian):
+ * <pre>
+ * int   length     bytes following this field
+ * int   crc        CRC32C of everything after the crc field
+ * long  timestamp  event time in epoch millis
+ * short typeLength
+ * byte[] type      event class name, UTF-8
+ * byte[] payload   codec output
+ * </pre>
+ * A zero length marks the end of written data. Index entries are
+ * (int relativeOffset, int position, long maxTimestampBefore); the timestamp is the
+ * highest record timestamp strictly before that position, so it is monotonic and safe
+ * for seeking even when event times arrive slightly out of order.
+ */
+final class LogSegment implements Closeable {
+
+    static final String LOG_SUFFIX = ".log";
+    static final String INDEX_SUFFIX = ".idx";
+    static final int LENGTH_BYTES = 4;
+    static final int RECORD_HEADER_BYTES = LENGTH_BYTES + 4 + 8 + 2;
+    static final int INDEX_ENTRY_BYTES = 16;
+
+    private final long baseOffset;
+    private final FileChannel logChannel;
+    private final FileChannel indexChannel;
+    private final MappedByteBuffer log;
+    private final MappedByteBuffer index;
+    private final int indexIntervalBytes;
+    private final CRC32C crc = new CRC32C();
+
+    private int writePosition;
+    private int recordCount;
+    private int indexEntries;
+    private int bytesSinceIndex;
+    private long maxTimestamp = Long.MIN_VALUE;
+
+    private LogSegment(long baseOffset, FileChannel logChannel, FileChannel indexChannel,
+                       MappedByteBuffer log, MappedByteBuffer index, int indexIntervalBytes) {
+        this.baseOffset = baseOffset;
+        this.logChannel = logChannel;
+        this.indexChannel = indexChannel;
+        this.log = log;
+        this.index = index;
+        this.indexIntervalBytes = indexIntervalBytes;
+    }
+
+    /**
+     * Open (or create) a writable segment and recover its write position
+     */
+    static LogSegment openWritable(Path directory, long baseOffset, EventLogOptions options) throws IOException {
+        FileChannel logChannel = FileChannel.open(logFile(directory, baseOffset),
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        FileChannel indexChannel = FileChannel.open(indexFile(directory, baseOffset),
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        int indexCapacity = (options.segmentBytes() / options.indexIntervalBytes() + 1) * INDEX_ENTRY_BYTES;
+        MappedByteBuffer log = logChannel.map(FileChannel.MapMode.READ_WRITE, 0, options.segmentBytes());
+        MappedByteBuffer index = indexChannel.map(FileChannel.MapMode.READ_WRITE, 0, indexCapacity);
+
+        LogSegment segment = new LogSegment(baseOffset, logChannel, indexChannel, log, index,
+            options.indexIntervalBytes());
+        segment.recover();
+        return segment;
+    }
+
+    /**
+     * Map an existing segment read-only for replay
+     */
+    static ReadView openReadOnly(Path directory, long baseOffset) throws IOException {
+        try (FileChannel logChannel = FileChannel.open(logFile(directory, baseOffset), StandardOpenOption.READ)) {
+            MappedByteBuffer log = logChannel.map(FileChannel.MapMode.READ_ONLY, 0, logChannel.size());
+            MappedByteBuffer index = null;
+            Path indexPath = indexFile(directory, baseOffset);
+            if (Files.exists(indexPath)) {
+                try (FileChannel indexChannel = FileChannel.open(indexPath, StandardOpenOption.READ)) {
+                    index = indexChannel.map(FileChannel.MapMode.READ_ONLY, 0, indexChannel.size());
+                }
+            }
+            return new ReadView(baseOffset, log, index);
+        }
+    }
+
+    static Path logFile(Path directory, long baseOffset) {
+        return directory.resolve(String.format("%020d%s", baseOffset, LOG_SUFFIX));
+    }
+
+    static Path indexFile(Path directory, long baseOffset) {
+        return directory.resolve(String.format("%020d%s", baseOffset, INDEX_SUFFIX));
+    }
+
+    /**
+     * Append one record; returns false if the segment has no room left for it
+     */
+    boolean append(long timestamp, byte[] type, byte[] payload) {
+        int recordBytes = RECORD_HEADER_BYTES + type.length + payload.length;
+        if (writePosition + recordBytes + LENGTH_BYTES > log.capacity()) {
+            return false;
+        }
+
+        if (bytesSinceIndex >= indexIntervalBytes && recordCount > 0
+                && (indexEntries + 1) * INDEX_ENTRY_BYTES <= index.capacity()) {
+            int entry = indexEntries * INDEX_ENTRY_BYTES;
+            index.putInt(entry, recordCount);
+            index.putInt(entry + 4, writePosition);
+            index.putLong(entry + 8, maxTimestamp);
+            indexEntries++;
+            bytesSinceIndex = 0;
+        }
+
+        int bodyStart = writePosition + LENGTH_BYTES + 4;
+        log.putLong(bodyStart, timestamp);
+        log.putShort(bodyStart + 8, (short) type.length);
+        log.put(bodyStart + 10, type);
+        log.put(bodyStart + 10 + type.length, payload);
+
+        crc.reset();
+        crc.update(log.slice(bodyStart, recordBytes - LENGTH_BYTES - 4));
+        log.putInt(writePosition + LENGTH_BYTES, (int) crc.getValue());
+        // Length goes last so a concurrent reader never sees a length without its body
+        log.putInt(writePosition, recordBytes - LENGTH_BYTES);
+
+        writePosition += recordBytes;
+        bytesSinceIndex += recordBytes;
+        recordCount++;
+        maxTimestamp = Math.max(maxTimestamp, timestamp);
+        return true;
+    }
+
+    void flush() {
+        log.force();
+        index.force();
+    }
+
+    long baseOffset() {
+        return baseOffset;
+    }
+
+    long nextOffset() {
+        return baseOffset + recordCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        logChannel.close();
+        indexChannel.close();
+    }
+
+    /**
+     * Rebuild in-memory state after a restart: trust the index up to its last entry,
+     * then scan and CRC-check the tail to find the real end of data
+     */
+    private void recover() {
+        int position = 0;
+        int count = 0;
+        long maxBefore = Long.MIN_VALUE;
+        int entries = 0;
+        while ((entries + 1) * INDEX_ENTRY_BYTES <= index.capacity()) {
+            int entry = entries * INDEX_ENTRY_BYTES;
+            int entryPosition = index.getInt(entry + 4);
+            if (entryPosition <= 0) {
+                break;
+            }
+            count = index.getInt(entry);
+            position = entryPosition;
+            maxBefore = index.getLong(entry + 8);
+            entries++;
+        }
+
+        ReadView view = new ReadView(baseOffset, log, null);
+        int lastIndexedPosition = position;
+        while (true) {
+            int length = view.validLength(position);
+            if (length < 0) {
+                break;
+            }
+            maxBefore = Math.max(maxBefore, view.timestampAt(position));
+            position += LENGTH_BYTES + length;
+            count++;
+        }
+
+        // Zero out anything after the last valid record (a torn write) so the end marker is clean
+        if (position + LENGTH_BYTES <= log.capacity()) {
+            log.putInt(position, 0);
+        }
+
+        this.writePosition = position;
+        this.recordCount = count;
+        this.indexEntries = entries;
+        this.bytesSinceIndex = position - lastIndexedPosition;
+        this.maxTimestamp = maxBefore;
+    }
+
+    /**
+     * Read-only cursor helpers over a mapped segment
+     */
+    static final class ReadView {
+
+        private final long baseOffset;
+        private final MappedByteBuffer log;
+        private final MappedByteBuffer index;
+        private final CRC32C crc = new CRC32C();
+
+        ReadView(long baseOffset, MappedByteBuffer log, MappedByteBuffer index) {
+            this.baseOffset = baseOffset;
+            this.log = log;
+            this.index = index;
+        }
+
+        long baseOffset() {
+            return baseOffset;
+        }
+
+        /**
+         * Returns the body length of a complete, checksum-valid record at position, or -1
+         */
+        int validLength(int position) {
+            if (position + RECORD_HEADER_BYTES > log.limit()) {
+                return -1;
+            }
+            int length = log.getInt(position);
+            if (length < RECORD_HEADER_BYTES - LENGTH_BYTES || position + LENGTH_BYTES + length > log.limit()) {
+                return -1;
+            }
+            int bodyStart = position + LENGTH_BYTES + 4;
+            crc.reset();
+            crc.update(log.slice(bodyStart, length - 4));
+            return (int) crc.getValue() == log.getInt(position + LENGTH_BYTES) ? length : -1;
+        }
+
+        long timestampAt(int position) {
+            return log.getLong(position + LENGTH_BYTES + 4);
+        }
+
+        int typeLengthAt(int position) {
+            return log.getShort(position + LENGTH_BYTES + 12);
+        }
+
+        void copy(int position, byte[] target, int targetOffset, int length) {
+            log.get(position, target, targetOffset, length);
+        }
+
+        static int typeStart(int position) {
+            return position + RECORD_HEADER_BYTES;
+        }
+
+        /**
+         * Find the latest indexed (relativeOffset, position) whose preceding records are all
+         * older than fromTimestamp and whose relative offset does not pass fromRelativeOffset
+         */
+        long[] seek(long fromTimestamp, long fromRelativeOffset) {
+            long[] start = {0, 0};
+            if (index == null) {
+                return start;
+            }
+            // Entries are ordered on every key, so the qualifying entries form a prefix
+            int low = 0;
+            int high = index.limit() / INDEX_ENTRY_BYTES - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int entry = mid * INDEX_ENTRY_BYTES;
+                int relativeOffset = index.getInt(entry);
+                int position = index.getInt(entry + 4);
+                long maxBefore = index.getLong(entry + 8);
+                if (position > 0 && maxBefore < fromTimestamp && relativeOffset <= fromRelativeOffset) {
+                    start[0] = relativeOffset;
+                    start[1] = position;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return start;
+        }
+    }
+}
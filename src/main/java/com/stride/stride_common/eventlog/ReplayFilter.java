@@ -0,0 +1,56 @@
+package com.stride.stride_common.eventlog;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.stride.stride_common.events.BaseEvent;
+
+/**
+ * Selects which events an {@link EventLogReader} replays.
+ * Type and time filtering happen on the record header, before the payload is decoded.
+ *
+ * @param eventTypes concrete event classes to include; empty means all
+ * @param from inclusive lower time bound, or null
+ * @param to exclusive upper time bound, or null
+ * @param fromOffset first log offset to consider
+ */
+public record ReplayFilter(Set<Class<? extends BaseEvent>> eventTypes, Instant from, Instant to, long fromOffset) {
+
+    public ReplayFilter {
+        eventTypes = eventTypes == null ? Set.of() : Set.copyOf(eventTypes);
+        if (fromOffset < 0) {
+            throw new IllegalArgumentException("fromOffset must not be negative");
+        }
+    }
+
+    public static ReplayFilter all() {
+        return new ReplayFilter(Set.of(), null, null, 0);
+    }
+
+    public static ReplayFilter between(Instant from, Instant to) {
+        return new ReplayFilter(Set.of(), from, to, 0);
+    }
+
+    @SafeVarargs
+    public final ReplayFilter withTypes(Class<? extends BaseEvent>... types) {
+        return new ReplayFilter(Arrays.stream(types).collect(Collectors.toUnmodifiableSet()), from, to, fromOffset);
+    }
+
+    public ReplayFilter withFromOffset(long offset) {
+        return new ReplayFilter(eventTypes, from, to, offset);
+    }
+
+    long fromMillis() {
+        return from != null ? from.toEpochMilli() : Long.MIN_VALUE;
+    }
+
+    long toMillis() {
+        return to != null ? to.toEpochMilli() : Long.MAX_VALUE;
+    }
+
+    Set<String> eventTypeNames() {
+        return eventTypes.stream().map(Class::getName).collect(Collectors.toUnmodifiableSet());
+    }
+}
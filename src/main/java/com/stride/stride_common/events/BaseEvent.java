@@ -1,6 +1,21 @@
 package com.stride.stride_common.events;
 
+import java.time.Instant;
+
+/**
+ * Common envelope shared by every Stride domain event.
+ * All event records already carry these components; exposing them here lets
+ * infrastructure (logs, publishers, relays) work with any event generically.
+ */
 public sealed interface BaseEvent  permits UserEvent,TeamEvent,TaskEvent{
-    
 
+    String eventId();
+
+    String correlationId();
+
+    Instant timestamp();
+
+    String getEventType();
+
+    String getAggregateId();
 }
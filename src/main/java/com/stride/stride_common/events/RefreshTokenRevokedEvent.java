@@ -0,0 +1,37 @@
+package com.stride.stride_common.events;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import com.stride.stride_common.context.StrideRequestContext;
+
+/**
+ * Event fired when a refresh token is revoked (logout, password change, compromised session).
+ * The token is identified by tokenHash (see RefreshTokenRevocations.tokenHash), never by the token itself;
+ * expiresAt tells consumers how long the revocation has to be remembered.
+ */
+public record RefreshTokenRevokedEvent(
+    String eventId,
+    String correlationId,
+    Instant timestamp,
+    String userId,
+    String tokenHash,
+    Instant expiresAt
+) implements UserEvent {
+
+    /**
+     * New event, correlated with the current request when there is one
+     */
+    public static RefreshTokenRevokedEvent of(String userId, String tokenHash, Instant expiresAt) {
+        return new RefreshTokenRevokedEvent(UUID.randomUUID().toString(), StrideRequestContext.correlationIdOrNew(), Instant.now(),
+            userId, tokenHash, expiresAt);
+    }
+
+    public String getEventType() {
+        return "REFRESH_TOKEN_REVOKED";
+    }
+
+    public String getAggregateId() {
+        return userId;
+    }
+}
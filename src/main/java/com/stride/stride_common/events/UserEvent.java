@@ -2,7 +2,7 @@ package com.stride.stride_common.events;
 
 import java.time.Instant;
 
-public sealed interface UserEvent extends BaseEvent permits UserCreatedEvent, UserUpdatedEvent {
+public sealed interface UserEvent extends BaseEvent permits UserCreatedEvent, UserUpdatedEvent, RefreshTokenRevokedEvent {
 
 }
 
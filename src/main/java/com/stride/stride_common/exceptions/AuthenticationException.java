@@ -29,6 +29,10 @@ public final class AuthenticationException extends StrideException {
         return new AuthenticationException("Invalid authentication token");
     }
     
+    public static AuthenticationException tokenRevoked() {
+        return new AuthenticationException("Authentication token has been revoked");
+    }
+    
     public static AuthenticationException missingToken() {
         return new AuthenticationException("Authentication token is required");
     }
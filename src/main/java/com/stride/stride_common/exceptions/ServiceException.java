@@ -36,6 +36,19 @@ public final class ServiceException extends StrideException {
         return new ServiceException("Kafka operation failed", "KAFKA_ERROR", context, cause);
     }
     
+    public static ServiceException eventLogError(String operation, Throwable cause) {
+        Map<String, Object> context = new HashMap<>();
+        context.put("operation", operation);
+        return new ServiceException("Event log operation failed", "EVENT_LOG_ERROR", context, cause);
+    }
+    
+    public static ServiceException overloaded(String resource, String reason) {
+        Map<String, Object> context = new HashMap<>();
+        context.put("resource", resource);
+        context.put("reason", reason);
+        return new ServiceException("Service is overloaded, retry later", "SERVICE_OVERLOADED", context, null);
+    }
+    
     public static ServiceException configurationError(String configKey) {
         Map<String, Object> context = new HashMap<>();
         context.put("configurationKey", configKey);
@@ -0,0 +1,114 @@
+package com.stride.stride_common.inprocess;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+import com.stride.stride_common.events.BaseEvent;
+
+/**
+ * Preallocated single-writer / multi-reader ring of event references.
+ * Writers are serialized by a lock so only one thread ever advances the cursor;
+ * each reader tracks its own sequence, and the writer never laps the slowest reader.
+ */
+final class EventRingBuffer {
+
+    private final BaseEvent[] slots;
+    private final int mask;
+    private final WaitStrategy waitStrategy;
+    private final AtomicLong cursor = new AtomicLong(-1);
+    private final CopyOnWriteArrayList<AtomicLong> gatingSequences = new CopyOnWriteArrayList<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    // Guarded by writeLock
+    private long nextSequence;
+    private long cachedGatingSequence = -1;
+
+    EventRingBuffer(int capacity, WaitStrategy waitStrategy) {
+        if (capacity < 1 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring buffer capacity must be a power of two: " + capacity);
+        }
+        this.slots = new BaseEvent[capacity];
+        this.mask = capacity - 1;
+        this.waitStrategy = waitStrategy;
+    }
+
+    /**
+     * Publish an event, waiting for the slowest reader if the ring is full
+     *
+     * @return false if the wait was abandoned because the bus is shutting down
+     */
+    boolean publish(BaseEvent event, BooleanSupplier running) {
+        writeLock.lock();
+        try {
+            long sequence = nextSequence;
+            long wrapPoint = sequence - slots.length;
+            if (wrapPoint > cachedGatingSequence) {
+                long minimum;
+                while (wrapPoint > (minimum = minimumGatingSequence(sequence - 1))) {
+                    if (!running.getAsBoolean()) {
+                        return false;
+                    }
+                    LockSupport.parkNanos(1);
+                }
+                cachedGatingSequence = minimum;
+            }
+
+            slots[(int) sequence & mask] = event;
+            nextSequence = sequence + 1;
+            cursor.setRelease(sequence);
+        } finally {
+            writeLock.unlock();
+        }
+        waitStrategy.signalAllWhenBlocking();
+        return true;
+    }
+
+    /**
+     * Register a reader positioned at the current cursor, so it only sees later events
+     */
+    AtomicLong addReader() {
+        writeLock.lock();
+        try {
+            AtomicLong sequence = new AtomicLong(cursor.get());
+            gatingSequences.add(sequence);
+            return sequence;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    void removeReader(AtomicLong sequence) {
+        gatingSequences.remove(sequence);
+    }
+
+    long waitFor(long sequence, BooleanSupplier running) {
+        return waitStrategy.waitFor(sequence, cursor, running);
+    }
+
+    BaseEvent get(long sequence) {
+        return slots[(int) sequence & mask];
+    }
+
+    long cursor() {
+        return cursor.get();
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+
+    void wakeReaders() {
+        waitStrategy.signalAllWhenBlocking();
+    }
+
+    private long minimumGatingSequence(long defaultValue) {
+        long minimum = defaultValue;
+        for (AtomicLong sequence : gatingSequences) {
+            minimum = Math.min(minimum, sequence.getAcquire());
+        }
+        return minimum;
+    }
+}
@@ -0,0 +1,16 @@
+package com.stride.stride_common.inprocess;
+
+import com.stride.stride_common.events.BaseEvent;
+
+/**
+ * Receives events of one type from the in-process event bus
+ */
+@FunctionalInterface
+public interface EventSubscriber<E extends BaseEvent> {
+
+    /**
+     * Handle an event. Runs on the subscriber's own reader thread, so it never blocks
+     * the publisher, but a slow handler eventually applies back-pressure once the ring is full.
+     */
+    void onEvent(E event);
+}
@@ -0,0 +1,34 @@
+package com.stride.stride_common.inprocess;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import com.stride.stride_common.kafka.EventPublisher;
+import com.stride.stride_common.kafka.KafkaEventProducer;
+import com.stride.stride_common.outbox.OutboxEventPublisher;
+
+/**
+ * Registers the in-process event bus as the primary EventPublisher when
+ * {@code stride.events.in-process.enabled=true}. The tee is the transactional outbox when that is
+ * enabled too, so teed events still commit with the business change, and KafkaEventProducer otherwise.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "stride.events.in-process", name = "enabled", havingValue = "true")
+public class InProcessEventConfig {
+    
+    @Bean(destroyMethod = "close")
+    @Primary
+    public InProcessEventPublisher inProcessEventPublisher(InProcessEventProperties properties,
+                                                           KafkaEventProducer kafkaEventProducer,
+                                                           ObjectProvider<OutboxEventPublisher> outboxEventPublisher) {
+        OutboxEventPublisher outbox = outboxEventPublisher.getIfAvailable();
+        EventPublisher tee = outbox != null ? outbox : kafkaEventProducer;
+        return new InProcessEventPublisher(
+            properties.getBufferSize(),
+            WaitStrategy.create(properties.getWaitStrategy()),
+            properties.isTeeToKafka() ? tee : null);
+    }
+}
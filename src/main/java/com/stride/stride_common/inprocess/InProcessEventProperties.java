@@ -0,0 +1,52 @@
+package com.stride.stride_common.inprocess;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for the in-process event bus
+ */
+@Configuration
+@ConfigurationProperties(prefix = "stride.events.in-process")
+public class InProcessEventProperties {
+    
+    private boolean enabled = false;
+    private int bufferSize = 8192;
+    private WaitStrategy.Kind waitStrategy = WaitStrategy.Kind.BLOCKING;
+    private boolean teeToKafka = true;
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public int getBufferSize() {
+        return bufferSize;
+    }
+    
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+    
+    public WaitStrategy.Kind getWaitStrategy() {
+        return waitStrategy;
+    }
+    
+    public void setWaitStrategy(WaitStrategy.Kind waitStrategy) {
+        this.waitStrategy = waitStrategy;
+    }
+    
+    /**
+     * Also send every event to Kafka, through the transactional outbox when that is enabled
+     */
+    public boolean isTeeToKafka() {
+        return teeToKafka;
+    }
+    
+    public void setTeeToKafka(boolean teeToKafka) {
+        this.teeToKafka = teeToKafka;
+    }
+}
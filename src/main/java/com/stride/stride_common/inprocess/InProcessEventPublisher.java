@@ -0,0 +1,194 @@
+package com.stride.stride_common.inprocess;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.stride.stride_common.events.BaseEvent;
+import com.stride.stride_common.exceptions.EventPublishException;
+import com.stride.stride_common.kafka.EventPublisher;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory EventPublisher for subscribers living in the same JVM.
+ * Events go into a preallocated ring buffer as plain object references - no serialization -
+ * and every typed subscriber reads them on its own thread. An optional tee forwards every
+ * event to another publisher (normally KafkaEventProducer) so out-of-process consumers still see it.
+ */
+@Slf4j
+public class InProcessEventPublisher implements EventPublisher, AutoCloseable {
+
+    private static final String IN_PROCESS_TOPIC = "in-process";
+
+    private final EventRingBuffer ringBuffer;
+    private final Optional<EventPublisher> tee;
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger threadCounter = new AtomicInteger();
+    private volatile boolean running = true;
+
+    public InProcessEventPublisher(int bufferSize, WaitStrategy waitStrategy) {
+        this(bufferSize, waitStrategy, null);
+    }
+
+    /**
+     * @param bufferSize ring capacity, must be a power of two
+     * @param waitStrategy how subscriber threads wait for new events
+     * @param tee publisher that additionally receives every event, or null
+     */
+    public InProcessEventPublisher(int bufferSize, WaitStrategy waitStrategy, EventPublisher tee) {
+        this.ringBuffer = new EventRingBuffer(bufferSize, waitStrategy);
+        this.tee = Optional.ofNullable(tee);
+    }
+
+    /**
+     * Register a subscriber for an event type (a concrete record or a sealed family such as TeamEvent).
+     * The subscriber only receives events published after registration.
+     */
+    public <E extends BaseEvent> Subscription subscribe(Class<E> eventType, EventSubscriber<? super E> subscriber) {
+        Subscription subscription = new Subscription(eventType, subscriber, ringBuffer.addReader());
+        subscriptions.add(subscription);
+        Thread.ofPlatform()
+            .name("stride-in-process-" + eventType.getSimpleName() + "-" + threadCounter.incrementAndGet())
+            .daemon(true)
+            .start(subscription::run);
+        return subscription;
+    }
+
+    @Override
+    public CompletableFuture<Void> publish(BaseEvent event) {
+        dispatch(IN_PROCESS_TOPIC, event);
+        return tee.map(publisher -> publisher.publish(event))
+            .orElseGet(() -> CompletableFuture.completedFuture(null));
+    }
+
+    @Override
+    public CompletableFuture<Void> publish(String topic, BaseEvent event) {
+        dispatch(topic, event);
+        return tee.map(publisher -> publisher.publish(topic, event))
+            .orElseGet(() -> CompletableFuture.completedFuture(null));
+    }
+
+    @Override
+    public CompletableFuture<Void> publish(String topic, String key, BaseEvent event) {
+        dispatch(topic, event);
+        return tee.map(publisher -> publisher.publish(topic, key, event))
+            .orElseGet(() -> CompletableFuture.completedFuture(null));
+    }
+
+    @Override
+    public void publishSync(BaseEvent event) {
+        dispatch(IN_PROCESS_TOPIC, event);
+        tee.ifPresent(publisher -> publisher.publishSync(event));
+    }
+
+    @Override
+    public void publishSync(String topic, BaseEvent event) {
+        dispatch(topic, event);
+        tee.ifPresent(publisher -> publisher.publishSync(topic, event));
+    }
+
+    /**
+     * In-process subscribers see every event of the batch; atomicity towards
+     * external consumers comes from the tee's own publishAll
+     */
+    @Override
+    public CompletableFuture<Void> publishAll(List<? extends BaseEvent> events) {
+        events.forEach(event -> dispatch(IN_PROCESS_TOPIC, event));
+        return tee.map(publisher -> publisher.publishAll(events))
+            .orElseGet(() -> CompletableFuture.completedFuture(null));
+    }
+
+    @Override
+    public void publishAllSync(List<? extends BaseEvent> events) {
+        events.forEach(event -> dispatch(IN_PROCESS_TOPIC, event));
+        tee.ifPresent(publisher -> publisher.publishAllSync(events));
+    }
+
+    /**
+     * Number of currently registered subscribers
+     */
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Stop all subscriber threads. Events already in the ring but not yet read are dropped.
+     */
+    @Override
+    public void close() {
+        running = false;
+        subscriptions.forEach(Subscription::close);
+        ringBuffer.wakeReaders();
+    }
+
+    private void dispatch(String topic, BaseEvent event) {
+        if (!running || !ringBuffer.publish(event, this::isRunning)) {
+            throw new EventPublishException("In-process event bus is closed", topic, event.getClass().getSimpleName());
+        }
+    }
+
+    private boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Handle for one subscriber; closing it stops its reader and releases its hold on the ring
+     */
+    public final class Subscription implements AutoCloseable {
+
+        private final Class<? extends BaseEvent> eventType;
+        private final EventSubscriber<BaseEvent> subscriber;
+        private final AtomicLong sequence;
+        private volatile boolean active = true;
+
+        @SuppressWarnings("unchecked")
+        private Subscription(Class<? extends BaseEvent> eventType, EventSubscriber<?> subscriber, AtomicLong sequence) {
+            this.eventType = eventType;
+            this.subscriber = (EventSubscriber<BaseEvent>) subscriber;
+            this.sequence = sequence;
+        }
+
+        public Class<? extends BaseEvent> getEventType() {
+            return eventType;
+        }
+
+        @Override
+        public void close() {
+            active = false;
+            ringBuffer.removeReader(sequence);
+            subscriptions.remove(this);
+        }
+
+        private boolean isActive() {
+            return active && running;
+        }
+
+        private void run() {
+            long next = sequence.get() + 1;
+            while (isActive()) {
+                long available = ringBuffer.waitFor(next, this::isActive);
+                for (; next <= available; next++) {
+                    BaseEvent event = ringBuffer.get(next);
+                    if (eventType.isInstance(event)) {
+                        deliver(event);
+                    }
+                }
+                sequence.setRelease(available);
+            }
+        }
+
+        private void deliver(BaseEvent event) {
+            try {
+                subscriber.onEvent(event);
+            } catch (RuntimeException e) {
+                log.error("In-process subscriber for {} failed on event {}",
+                    eventType.getSimpleName(), event.getClass().getSimpleName(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.stride.stride_common.inprocess;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * How ring-buffer readers wait for the writer to publish new events.
+ * Trades latency against CPU: busy spin burns a core for the lowest latency,
+ * blocking costs a lock handoff per wake-up but is idle-friendly.
+ */
+public interface WaitStrategy {
+
+    /**
+     * Wait until the cursor reaches at least the given sequence
+     *
+     * @return the highest published sequence, which may be below {@code sequence}
+     *         if the wait was abandoned because {@code running} turned false
+     */
+    long waitFor(long sequence, AtomicLong cursor, BooleanSupplier running);
+
+    /**
+     * Called by the writer after every publish
+     */
+    default void signalAllWhenBlocking() {
+    }
+
+    static WaitStrategy create(Kind kind) {
+        return switch (kind) {
+            case BUSY_SPIN -> new BusySpinWaitStrategy();
+            case YIELDING -> new YieldingWaitStrategy();
+            case SLEEPING -> new SleepingWaitStrategy();
+            case BLOCKING -> new BlockingWaitStrategy();
+        };
+    }
+
+    enum Kind {
+        BUSY_SPIN, YIELDING, SLEEPING, BLOCKING
+    }
+}
+
+/**
+ * Spins on the cursor; lowest latency, one core per reader
+ */
+final class BusySpinWaitStrategy implements WaitStrategy {
+
+    @Override
+    public long waitFor(long sequence, AtomicLong cursor, BooleanSupplier running) {
+        long available;
+        while ((available = cursor.getAcquire()) < sequence && running.getAsBoolean()) {
+            Thread.onSpinWait();
+        }
+        return available;
+    }
+}
+
+/**
+ * Spins briefly, then yields the thread between checks
+ */
+final class YieldingWaitStrategy implements WaitStrategy {
+
+    private static final int SPIN_TRIES = 100;
+
+    @Override
+    public long waitFor(long sequence, AtomicLong cursor, BooleanSupplier running) {
+        int counter = SPIN_TRIES;
+        long available;
+        while ((available = cursor.getAcquire()) < sequence && running.getAsBoolean()) {
+            if (counter > 0) {
+                counter--;
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+        return available;
+    }
+}
+
+/**
+ * Spins, yields, then parks for short intervals; good default for background consumers
+ */
+final class SleepingWaitStrategy implements WaitStrategy {
+
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 100;
+    private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    @Override
+    public long waitFor(long sequence, AtomicLong cursor, BooleanSupplier running) {
+        int counter = SPIN_TRIES + YIELD_TRIES;
+        long available;
+        while ((available = cursor.getAcquire()) < sequence && running.getAsBoolean()) {
+            if (counter > YIELD_TRIES) {
+                counter--;
+                Thread.onSpinWait();
+            } else if (counter > 0) {
+                counter--;
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+        }
+        return available;
+    }
+}
+
+/**
+ * Parks readers on a condition; the writer only takes the lock when a reader is actually waiting
+ */
+final class BlockingWaitStrategy implements WaitStrategy {
+
+    private static final long MAX_WAIT_MILLIS = 10;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition published = lock.newCondition();
+    private final AtomicBoolean signalNeeded = new AtomicBoolean();
+
+    @Override
+    public long waitFor(long sequence, AtomicLong cursor, BooleanSupplier running) {
+        long available = cursor.getAcquire();
+        if (available >= sequence) {
+            return available;
+        }
+        lock.lock();
+        try {
+            while ((available = cursor.getAcquire()) < sequence && running.getAsBoolean()) {
+                signalNeeded.set(true);
+                if ((available = cursor.getAcquire()) >= sequence) {
+                    break;
+                }
+                published.await(MAX_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lock.unlock();
+        }
+        return available;
+    }
+
+    @Override
+    public void signalAllWhenBlocking() {
+        if (signalNeeded.getAndSet(false)) {
+            lock.lock();
+            try {
+                published.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
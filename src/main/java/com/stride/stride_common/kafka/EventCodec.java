@@ -0,0 +1,24 @@
+package com.stride.stride_common.kafka;
+
+import com.stride.stride_common.events.BaseEvent;
+import com.stride.stride_common.exceptions.EventSerializationException;
+
+/**
+ * Binary codec for events, used wherever events are stored or shipped as raw bytes
+ */
+public interface EventCodec {
+
+    /**
+     * Encode an event to bytes
+     *
+     * @throws EventSerializationException if the event cannot be encoded
+     */
+    byte[] encode(BaseEvent event);
+
+    /**
+     * Decode an event of the given type from a slice of a byte array
+     *
+     * @throws EventSerializationException if the bytes cannot be decoded
+     */
+    <T extends BaseEvent> T decode(byte[] data, int offset, int length, Class<T> eventClass);
+}
@@ -1,4 +1,5 @@
 package com.stride.stride_common.kafka;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 import com.stride.stride_common.events.BaseEvent;
@@ -53,4 +54,30 @@ public interface EventPublisher {
      * @throws EventPublishException if publishing fails
      */
     void publishSync(String topic, BaseEvent event);
+    
+    /**
+     * Publish several events as one unit: consumers see either all of them or none.
+     * Each event goes to its resolved topic with its default partition key.
+     * Implementations that cannot offer atomicity fall back to publishing one by one.
+     * 
+     * @param events the events to publish together, in order
+     * @return CompletableFuture that completes when the whole batch is committed
+     */
+    default CompletableFuture<Void> publishAll(List<? extends BaseEvent> events) {
+        return CompletableFuture.allOf(events.stream()
+            .map(this::publish)
+            .toArray(CompletableFuture[]::new));
+    }
+    
+    /**
+     * Publish several events as one unit and block until committed
+     * 
+     * @param events the events to publish together, in order
+     * @throws EventPublishException if the batch could not be committed
+     */
+    default void publishAllSync(List<? extends BaseEvent> events) {
+        for (BaseEvent event : events) {
+            publishSync(event);
+        }
+    }
 }
\ No newline at end of file
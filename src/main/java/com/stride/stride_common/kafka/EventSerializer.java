@@ -1,9 +1,13 @@
 package com.stride.stride_common.kafka;
 
+import java.io.IOException;
+
 import org.springframework.stereotype.Component;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.stride.stride_common.events.BaseEvent;
@@ -16,14 +20,18 @@ import lombok.extern.slf4j.Slf4j;
  */
 @Component
 @Slf4j
-public class EventSerializer {
+public class EventSerializer implements EventCodec {
     
     
     
     private final ObjectMapper objectMapper;
     
+    // Derived properties (eventType, aggregateId) are written but have no record component to read back
+    private final ObjectReader codecReader;
+    
     public EventSerializer() {
         this.objectMapper = createObjectMapper();
+        this.codecReader = objectMapper.reader().without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
     }
     
     /**
@@ -58,6 +66,36 @@ public class EventSerializer {
         }
     }
     
+    /**
+     * Serialize a base event to UTF-8 JSON bytes, skipping the intermediate String
+     */
+    @Override
+    public byte[] encode(BaseEvent event) {
+        try {
+            return objectMapper.writeValueAsBytes(event);
+            
+        } catch (JsonProcessingException e) {
+            String errorMsg = String.format("Failed to serialize event %s to JSON", event.getClass().getSimpleName());
+            log.error(errorMsg, e);
+            throw new EventSerializationException(errorMsg, e);
+        }
+    }
+    
+    /**
+     * Deserialize UTF-8 JSON bytes to base event
+     */
+    @Override
+    public <T extends BaseEvent> T decode(byte[] data, int offset, int length, Class<T> eventClass) {
+        try {
+            return codecReader.forType(eventClass).readValue(data, offset, length);
+            
+        } catch (IOException e) {
+            String errorMsg = String.format("Failed to deserialize JSON to event %s", eventClass.getSimpleName());
+            log.error(errorMsg, e);
+            throw new EventSerializationException(errorMsg, e);
+        }
+    }
+    
     /**
      * Create and configure ObjectMapper for event serialization
      */
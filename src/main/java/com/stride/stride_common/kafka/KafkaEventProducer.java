@@ -1,12 +1,26 @@
 package com.stride.stride_common.kafka;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
 
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
+import org.springframework.context.annotation.Fallback;
 import org.springframework.stereotype.Service;
 
+import com.stride.stride_common.context.StrideRequestContext;
 import com.stride.stride_common.events.BaseEvent;
 import com.stride.stride_common.exceptions.EventPublishException;
 
@@ -14,24 +28,69 @@ import lombok.extern.slf4j.Slf4j;
 
 
 /**
- * Kafka implementation of EventPublisher
+ * Kafka implementation of EventPublisher. A fallback bean: where the outbox or the in-process bus
+ * provides an EventPublisher that one is injected instead, and this stays available by its own type.
  */
 @Service
+@Fallback
 @Slf4j
 public class KafkaEventProducer implements EventPublisher {
     
+    /**
+     * Name of an optional Executor bean that completes publish futures; supplying it opts in to offloading
+     */
+    public static final String COMPLETION_EXECUTOR_BEAN = "strideKafkaCompletionExecutor";
     
+    /**
+     * Record header carrying the correlation id of the request that published the event
+     */
+    public static final String CORRELATION_ID_HEADER = "stride-correlation-id";
     
     private final KafkaTemplate<String, Object> kafkaTemplate;
     private final EventSerializer eventSerializer;
     private final KafkaTopicResolver topicResolver;
+    private final TransactionalProducerPool transactionalProducers;
+    
+    // When set, send callbacks hop here so logging and user continuations never run on the producer I/O thread;
+    // null completes them inline on that thread
+    private Executor completionExecutor;
     
     public KafkaEventProducer(KafkaTemplate<String, Object> kafkaTemplate, 
                              EventSerializer eventSerializer,
                              KafkaTopicResolver topicResolver) {
+        this(kafkaTemplate, eventSerializer, topicResolver, null);
+    }
+    
+    public KafkaEventProducer(KafkaTemplate<String, Object> kafkaTemplate, 
+                             EventSerializer eventSerializer,
+                             KafkaTopicResolver topicResolver,
+                             TransactionalProducerPool transactionalProducers) {
+        this(kafkaTemplate, eventSerializer, topicResolver, transactionalProducers, false);
+    }
+    
+    @Autowired
+    public KafkaEventProducer(KafkaTemplate<String, Object> kafkaTemplate, 
+                             EventSerializer eventSerializer,
+                             KafkaTopicResolver topicResolver,
+                             TransactionalProducerPool transactionalProducers,
+                             @Value("${stride.kafka.completion-executor.enabled:false}") boolean offloadCompletion) {
         this.kafkaTemplate = kafkaTemplate;
         this.eventSerializer = eventSerializer;
         this.topicResolver = topicResolver;
+        this.transactionalProducers = transactionalProducers;
+        if (offloadCompletion) {
+            this.completionExecutor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("stride-kafka-completion-", 0).factory());
+        }
+    }
+    
+    /**
+     * Complete publish futures on the given executor instead of the producer I/O thread.
+     * Dependent stages attached by callers run on this executor too.
+     */
+    @Autowired(required = false)
+    public void setCompletionExecutor(@Qualifier(COMPLETION_EXECUTOR_BEAN) Executor completionExecutor) {
+        this.completionExecutor = completionExecutor;
     }
     
     @Override
@@ -47,44 +106,108 @@ public class KafkaEventProducer implements EventPublisher {
     
     @Override
     public CompletableFuture<Void> publish(String topic, String key, BaseEvent event) {
+        String eventType = event.getClass().getSimpleName();
         try {
             String serializedEvent = eventSerializer.serialize(event);
-            String partitionKey = key != null ? key : generatePartitionKey(event);
+            String partitionKey = key != null ? key : partitionKeyFor(event);
             
-            log.debug("Publishing event {} to topic {} with key {}", 
-                event.getClass().getSimpleName(), topic, partitionKey);
-            
-            CompletableFuture<SendResult<String, Object>> sendFuture = 
-                kafkaTemplate.send(topic, partitionKey, serializedEvent);
-            
-            return sendFuture
-                .handle((result, throwable) -> {
-                    if (throwable != null) {
-                        String errorMsg = String.format("Failed to publish event %s to topic %s", 
-                            event.getClass().getSimpleName(), topic);
-                        log.error(errorMsg, throwable);
-                        throw new RuntimeException(new EventPublishException(errorMsg, topic, event.getClass().getSimpleName(), throwable));
-                    } else {
-                        log.info("Successfully published event {} to topic {} partition {} offset {}", 
-                            event.getClass().getSimpleName(), topic, 
-                            result.getRecordMetadata().partition(), 
-                            result.getRecordMetadata().offset());
-                        return (Void) null;
-                    }
-                });
+            return send(topic, partitionKey, eventType, serializedEvent, StrideRequestContext.currentCorrelationId());
                 
         } catch (Exception e) {
             String errorMsg = String.format("Error serializing or publishing event %s to topic %s", 
-                event.getClass().getSimpleName(), topic);
+                eventType, topic);
             log.error(errorMsg, e);
             
             CompletableFuture<Void> failedFuture = new CompletableFuture<>();
             failedFuture.completeExceptionally(
-                new EventPublishException(errorMsg, topic, event.getClass().getSimpleName(), e));
+                new EventPublishException(errorMsg, topic, eventType, e));
             return failedFuture;
         }
     }
     
+    /**
+     * Publish an already serialized event, e.g. a row relayed from the transactional outbox
+     * 
+     * @param topic the Kafka topic name
+     * @param key the partition key
+     * @param eventType simple event type name, used for logging and errors
+     * @param serializedEvent the JSON payload produced by EventSerializer
+     * @return CompletableFuture that completes when the event is sent
+     */
+    public CompletableFuture<Void> publishSerialized(String topic, String key, String eventType, String serializedEvent) {
+        return publishSerialized(topic, key, eventType, serializedEvent, StrideRequestContext.currentCorrelationId());
+    }
+    
+    /**
+     * Publish an already serialized event with the correlation id recorded when it was written,
+     * e.g. by the transactional outbox; a null correlation id sends no header
+     */
+    public CompletableFuture<Void> publishSerialized(String topic, String key, String eventType, String serializedEvent,
+                                                     String correlationId) {
+        try {
+            return send(topic, key, eventType, serializedEvent, correlationId);
+            
+        } catch (Exception e) {
+            String errorMsg = String.format("Error publishing serialized event %s to topic %s", eventType, topic);
+            log.error(errorMsg, e);
+            
+            CompletableFuture<Void> failedFuture = new CompletableFuture<>();
+            failedFuture.completeExceptionally(new EventPublishException(errorMsg, topic, eventType, e));
+            return failedFuture;
+        }
+    }
+    
+    /**
+     * Publish all events in a single Kafka transaction on a pooled transactional producer,
+     * so read_committed consumers see the whole batch or nothing
+     */
+    @Override
+    public CompletableFuture<Void> publishAll(List<? extends BaseEvent> events) {
+        if (transactionalProducers == null) {
+            return EventPublisher.super.publishAll(events);
+        }
+        
+        List<ProducerRecord<String, String>> records = new ArrayList<>(events.size());
+        String correlationId = StrideRequestContext.currentCorrelationId();
+        try {
+            for (BaseEvent event : events) {
+                records.add(record(topicResolver.resolveTopicFor(event), 
+                    partitionKeyFor(event), eventSerializer.serialize(event), correlationId));
+            }
+        } catch (Exception e) {
+            String errorMsg = String.format("Error serializing transactional batch of %d events", events.size());
+            log.error(errorMsg, e);
+            return CompletableFuture.failedFuture(new EventPublishException(errorMsg, null, "batch of " + events.size(), e));
+        }
+        
+        log.debug("Publishing transactional batch of {} events", records.size());
+        return transactionalProducers.executeInTransaction(records);
+    }
+    
+    @Override
+    public void publishAllSync(List<? extends BaseEvent> events) {
+        try {
+            publishAll(events).get(30, TimeUnit.SECONDS);
+            
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof EventPublishException publishException) {
+                throw publishException;
+            }
+            throw new EventPublishException("Error publishing transactional batch synchronously", 
+                null, "batch of " + events.size(), e.getCause());
+        } catch (Exception e) {
+            throw new EventPublishException("Timeout or error publishing transactional batch synchronously", 
+                null, "batch of " + events.size(), e);
+        }
+    }
+    
+    /**
+     * Push any buffered records to the brokers without waiting for linger.ms
+     */
+    public void flush() {
+        kafkaTemplate.flush();
+    }
+    
     @Override
     public void publishSync(BaseEvent event) {
         String topic = topicResolver.resolveTopicFor(event);
@@ -109,10 +232,54 @@ public class KafkaEventProducer implements EventPublisher {
         }
     }
     
+    private CompletableFuture<Void> send(String topic, String partitionKey, String eventType, String serializedEvent,
+                                         String correlationId) {
+        log.debug("Publishing event {} to topic {} with key {}", 
+            eventType, topic, partitionKey);
+        
+        // The correlation id travels as a record header; inside a request continuations keep the context
+        StrideRequestContext context = StrideRequestContext.current();
+        CompletableFuture<SendResult<String, Object>> sendFuture = correlationId == null
+            ? kafkaTemplate.send(topic, partitionKey, serializedEvent)
+            : kafkaTemplate.send(KafkaEventProducer.<Object>record(topic, partitionKey, serializedEvent, correlationId));
+        
+        BiFunction<SendResult<String, Object>, Throwable, Void> completion = (result, throwable) -> {
+            if (throwable != null) {
+                String errorMsg = String.format("Failed to publish event %s to topic %s", 
+                    eventType, topic);
+                log.error(errorMsg, throwable);
+                throw new RuntimeException(new EventPublishException(errorMsg, topic, eventType, throwable));
+            } else {
+                log.info("Successfully published event {} to topic {} partition {} offset {}", 
+                    eventType, topic, 
+                    result.getRecordMetadata().partition(), 
+                    result.getRecordMetadata().offset());
+                return (Void) null;
+            }
+        };
+        if (completionExecutor == null) {
+            return sendFuture.handle(completion);
+        }
+        return sendFuture.handleAsync(completion,
+            context == null ? completionExecutor : StrideRequestContext.propagating(completionExecutor));
+    }
+    
+    /**
+     * Record for every publish path, carrying the correlation id as the {@value #CORRELATION_ID_HEADER} header when there is one
+     */
+    static <V> ProducerRecord<String, V> record(String topic, String partitionKey, V value, String correlationId) {
+        ProducerRecord<String, V> record = new ProducerRecord<>(topic, partitionKey, value);
+        if (correlationId != null) {
+            record.headers().add(new RecordHeader(CORRELATION_ID_HEADER, correlationId.getBytes(StandardCharsets.UTF_8)));
+        }
+        return record;
+    }
+    
     /**
      * Generate a partition key for the event to ensure proper partitioning
+     * (used whenever no explicit key is supplied)
      */
-    private String generatePartitionKey(BaseEvent event) {
+    public String partitionKeyFor(BaseEvent event) {
         // Use event class name + hash for consistent partitioning
         // This ensures events of the same type go to same partition
         return event.getClass().getSimpleName() + "-" + Math.abs(event.hashCode() % 1000);
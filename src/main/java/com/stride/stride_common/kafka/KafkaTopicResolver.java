@@ -9,6 +9,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import com.stride.stride_common.events.BaseEvent;
+import com.stride.stride_common.events.RefreshTokenRevokedEvent;
 import com.stride.stride_common.events.TaskEvent;
 import com.stride.stride_common.events.TeamEvent;
 import com.stride.stride_common.events.UserEvent;
@@ -81,6 +82,13 @@ public class KafkaTopicResolver {
         return buildTopicName("team-events");
     }
     
+    /**
+     * Get topic name for refresh-token revocations (consumed by every service instance)
+     */
+    public String getTokenRevocationsTopic() {
+        return buildTopicName("token-revocations");
+    }
+    
     /**
      * Build the full topic name with prefix and environment
      */
@@ -103,6 +111,9 @@ public class KafkaTopicResolver {
         // Team events
         mappings.put(TeamEvent.class, "team-events");
         
+        // Refresh-token revocations
+        mappings.put(RefreshTokenRevokedEvent.class, "token-revocations");
+        
         return mappings;
     }
     
@@ -115,6 +126,7 @@ public class KafkaTopicResolver {
         topics.put("user-events", getUserEventsTopic());
         topics.put("task-events", getTaskEventsTopic());
         topics.put("team-events", getTeamEventsTopic());
+        topics.put("token-revocations", getTokenRevocationsTopic());
         
         return topics;
     }
@@ -0,0 +1,243 @@
+package com.stride.stride_common.kafka;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.errors.AuthorizationException;
+import org.apache.kafka.common.errors.OutOfOrderSequenceException;
+import org.apache.kafka.common.errors.ProducerFencedException;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import com.stride.stride_common.exceptions.EventPublishException;
+import com.stride.stride_common.exceptions.ServiceException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fixed-size pool of transactional Kafka producers, each with its own transactional.id.
+ * Concurrent batches run on different producers instead of queueing behind one id, and
+ * within a batch every record is sent without waiting so the single commit (which flushes)
+ * pays the transaction round trips once for the whole batch.
+ * Producers are created lazily, so the pool costs nothing until the first transactional publish.
+ * Slot i uses the transactional.id {@code <id-prefix><instance-id>-<i>}; the instance id defaults to
+ * the HOSTNAME (the pod name on Kubernetes), else the local host name, and must differ between replicas -
+ * set {@code stride.kafka.transactions.instance-id} when several run on one host. Startup fails rather
+ * than fall back to an id every replica would share.
+ */
+@Component
+@Slf4j
+public class TransactionalProducerPool implements DisposableBean {
+
+    private final Function<String, Producer<String, String>> producerFactory;
+    private final long acquireTimeoutMillis;
+    private final BlockingQueue<PooledProducer> idle;
+    private final BlockingQueue<String> unusedIds;
+    private final AtomicInteger created = new AtomicInteger();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Autowired
+    public TransactionalProducerPool(
+            KafkaTemplate<String, Object> kafkaTemplate,
+            @Value("${stride.kafka.transactions.pool-size:4}") int poolSize,
+            @Value("${stride.kafka.transactions.id-prefix:${spring.application.name:stride}-tx-}") String transactionalIdPrefix,
+            @Value("${stride.kafka.transactions.instance-id:${HOSTNAME:}}") String instanceId,
+            @Value("${stride.kafka.transactions.acquire-timeout-ms:30000}") long acquireTimeoutMillis) {
+        this(transactionalId -> createProducer(kafkaTemplate, transactionalId),
+            poolSize,
+            // Stable across restarts so a restarted instance fences its own zombie producers and the broker
+            // keeps one transactional.id per slot; replicas must therefore use distinct instance ids
+            transactionalIdPrefix + resolveInstanceId(instanceId) + "-",
+            acquireTimeoutMillis);
+    }
+
+    public TransactionalProducerPool(Function<String, Producer<String, String>> producerFactory,
+                                     int poolSize, String transactionalIdPrefix, long acquireTimeoutMillis) {
+        if (poolSize < 1) {
+            throw new IllegalArgumentException("Transactional producer pool size must be positive");
+        }
+        this.producerFactory = producerFactory;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.idle = new ArrayBlockingQueue<>(poolSize);
+        this.unusedIds = new ArrayBlockingQueue<>(poolSize);
+        for (int i = 0; i < poolSize; i++) {
+            unusedIds.add(transactionalIdPrefix + i);
+        }
+    }
+
+    /**
+     * The configured instance id, or the local host name when none is set
+     */
+    static String resolveInstanceId(String configured) {
+        if (configured != null && !configured.isBlank()) {
+            return configured;
+        }
+        try {
+            String hostName = InetAddress.getLocalHost().getHostName();
+            if (!hostName.isBlank()) {
+                return hostName;
+            }
+        } catch (UnknownHostException e) {
+            log.error("Cannot resolve the local host name for transactional ids: {}", e.getMessage());
+        }
+        throw ServiceException.configurationError("stride.kafka.transactions.instance-id");
+    }
+
+    /**
+     * Send all records in one Kafka transaction on a pooled producer
+     *
+     * @return CompletableFuture that completes when the transaction commits,
+     *         or fails with EventPublishException after the transaction was aborted
+     */
+    public CompletableFuture<Void> executeInTransaction(List<ProducerRecord<String, String>> records) {
+        if (records.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.runAsync(() -> runTransaction(records), executor);
+    }
+
+    /**
+     * Number of live producers (at most the pool size)
+     */
+    public int getCreatedCount() {
+        return created.get();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+        PooledProducer producer;
+        while ((producer = idle.poll()) != null) {
+            producer.producer().close();
+        }
+    }
+
+    private void runTransaction(List<ProducerRecord<String, String>> records) {
+        String topic = records.get(0).topic();
+        String batchDescription = "batch of " + records.size();
+        PooledProducer pooled = acquire(topic, batchDescription);
+        boolean healthy = true;
+        try {
+            Producer<String, String> producer = pooled.producer();
+            producer.beginTransaction();
+            for (ProducerRecord<String, String> record : records) {
+                producer.send(record);
+            }
+            // commitTransaction flushes every pending send and fails if any of them failed
+            producer.commitTransaction();
+            log.debug("Committed {} on transactional producer {}", batchDescription, pooled.transactionalId());
+
+        } catch (ProducerFencedException | OutOfOrderSequenceException | AuthorizationException e) {
+            healthy = false;
+            String errorMsg = String.format("Transactional producer %s failed fatally", pooled.transactionalId());
+            log.error(errorMsg, e);
+            throw new EventPublishException(errorMsg, topic, batchDescription, e);
+
+        } catch (RuntimeException e) {
+            // Not only KafkaException: serializer, partitioner and interceptor failures must not leave the transaction open
+            healthy = abort(pooled);
+            String errorMsg = String.format("Transaction aborted for %s", batchDescription);
+            log.error(errorMsg, e);
+            throw new EventPublishException(errorMsg, topic, batchDescription, e);
+
+        } finally {
+            release(pooled, healthy);
+        }
+    }
+
+    private boolean abort(PooledProducer pooled) {
+        try {
+            pooled.producer().abortTransaction();
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Could not abort transaction on producer {}, replacing it", pooled.transactionalId(), e);
+            return false;
+        }
+    }
+
+    private PooledProducer acquire(String topic, String batchDescription) {
+        PooledProducer pooled = idle.poll();
+        if (pooled != null) {
+            return pooled;
+        }
+        String transactionalId = unusedIds.poll();
+        if (transactionalId != null) {
+            try {
+                return newProducer(transactionalId);
+            } catch (KafkaException e) {
+                unusedIds.offer(transactionalId);
+                throw new EventPublishException("Could not create a transactional producer", topic, batchDescription, e);
+            }
+        }
+        try {
+            pooled = idle.poll(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (pooled == null) {
+            throw new EventPublishException("Timed out waiting for a transactional producer", topic, batchDescription);
+        }
+        return pooled;
+    }
+
+    private void release(PooledProducer pooled, boolean healthy) {
+        if (healthy) {
+            idle.offer(pooled);
+            return;
+        }
+        try {
+            pooled.producer().close();
+        } catch (KafkaException e) {
+            log.debug("Error closing failed producer {}", pooled.transactionalId(), e);
+        }
+        created.decrementAndGet();
+        // Re-create under the same transactional.id; initTransactions fences the old epoch
+        try {
+            idle.offer(newProducer(pooled.transactionalId()));
+        } catch (KafkaException e) {
+            unusedIds.offer(pooled.transactionalId());
+            log.error("Could not replace transactional producer {}", pooled.transactionalId(), e);
+        }
+    }
+
+    private PooledProducer newProducer(String transactionalId) {
+        Producer<String, String> producer = producerFactory.apply(transactionalId);
+        producer.initTransactions();
+        created.incrementAndGet();
+        log.info("Initialized transactional producer {}", transactionalId);
+        return new PooledProducer(transactionalId, producer);
+    }
+
+    private static Producer<String, String> createProducer(KafkaTemplate<String, Object> kafkaTemplate, String transactionalId) {
+        Map<String, Object> configs = new HashMap<>(kafkaTemplate.getProducerFactory().getConfigurationProperties());
+        configs.put(ProducerConfig.TRANSACTIONAL_ID_CONFIG, transactionalId);
+        configs.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        configs.put(ProducerConfig.ACKS_CONFIG, "all");
+        configs.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        configs.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        return new KafkaProducer<>(configs);
+    }
+
+    private record PooledProducer(String transactionalId, Producer<String, String> producer) {
+    }
+}
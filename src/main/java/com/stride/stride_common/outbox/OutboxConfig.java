@@ -0,0 +1,42 @@
+package com.stride.stride_common.outbox;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.stride.stride_common.kafka.EventSerializer;
+import com.stride.stride_common.kafka.KafkaEventProducer;
+import com.stride.stride_common.kafka.KafkaTopicResolver;
+
+/**
+ * Wires the transactional outbox when {@code stride.outbox.enabled=true}.
+ * The outbox becomes the injected EventPublisher in place of the fallback KafkaEventProducer, which stays
+ * available for direct sends. With the in-process bus also enabled the bus is injected and tees every event
+ * into the outbox instead of straight to Kafka. Uses the consuming service's DataSource and transaction
+ * manager, so outbox writes join the same JPA/JDBC transaction as the business change.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "stride.outbox", name = "enabled", havingValue = "true")
+public class OutboxConfig {
+
+    @Bean
+    public OutboxEventPublisher outboxEventPublisher(JdbcTemplate jdbcTemplate,
+                                                    EventSerializer eventSerializer,
+                                                    KafkaTopicResolver topicResolver,
+                                                    KafkaEventProducer kafkaEventProducer,
+                                                    OutboxProperties properties) {
+        return new OutboxEventPublisher(jdbcTemplate, eventSerializer, topicResolver, kafkaEventProducer, properties);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "stride.outbox.relay", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public OutboxRelay outboxRelay(JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   KafkaEventProducer kafkaEventProducer,
+                                   OutboxProperties properties) {
+        return new OutboxRelay(jdbcTemplate, new TransactionTemplate(transactionManager), kafkaEventProducer, properties);
+    }
+}
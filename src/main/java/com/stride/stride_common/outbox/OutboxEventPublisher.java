@@ -0,0 +1,150 @@
+package com.stride.stride_common.outbox;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.stride.stride_common.context.StrideRequestContext;
+import com.stride.stride_common.events.BaseEvent;
+import com.stride.stride_common.exceptions.EventPublishException;
+import com.stride.stride_common.kafka.EventPublisher;
+import com.stride.stride_common.kafka.EventSerializer;
+import com.stride.stride_common.kafka.KafkaEventProducer;
+import com.stride.stride_common.kafka.KafkaTopicResolver;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * EventPublisher that writes events to the outbox table inside the caller's transaction.
+ * The event becomes visible to the {@link OutboxRelay} only if that transaction commits,
+ * so a rollback never leaks an event and a retried command never double-publishes.
+ * The returned futures complete once the row is written, not when Kafka acknowledges it.
+ * The correlation id of the current request is stored with the row and relayed as the record header.
+ */
+@Slf4j
+public class OutboxEventPublisher implements EventPublisher {
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final EventSerializer eventSerializer;
+    private final KafkaTopicResolver topicResolver;
+    private final KafkaEventProducer kafkaEventProducer;
+    private final OutboxTable table;
+    
+    public OutboxEventPublisher(JdbcTemplate jdbcTemplate,
+                                EventSerializer eventSerializer,
+                                KafkaTopicResolver topicResolver,
+                                KafkaEventProducer kafkaEventProducer,
+                                OutboxProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventSerializer = eventSerializer;
+        this.topicResolver = topicResolver;
+        this.kafkaEventProducer = kafkaEventProducer;
+        this.table = OutboxTable.named(properties.getTableName());
+    }
+    
+    @Override
+    public CompletableFuture<Void> publish(BaseEvent event) {
+        return publish(topicResolver.resolveTopicFor(event), event);
+    }
+    
+    @Override
+    public CompletableFuture<Void> publish(String topic, BaseEvent event) {
+        return publish(topic, null, event);
+    }
+    
+    @Override
+    public CompletableFuture<Void> publish(String topic, String key, BaseEvent event) {
+        try {
+            write(topic, key, event);
+            return CompletableFuture.completedFuture(null);
+        } catch (EventPublishException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+    
+    @Override
+    public void publishSync(BaseEvent event) {
+        write(topicResolver.resolveTopicFor(event), null, event);
+    }
+    
+    @Override
+    public void publishSync(String topic, BaseEvent event) {
+        write(topic, null, event);
+    }
+    
+    /**
+     * Write all events with one batched insert; they commit or roll back together with the caller's transaction
+     */
+    @Override
+    public CompletableFuture<Void> publishAll(List<? extends BaseEvent> events) {
+        try {
+            writeAll(events);
+            return CompletableFuture.completedFuture(null);
+        } catch (EventPublishException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+    
+    @Override
+    public void publishAllSync(List<? extends BaseEvent> events) {
+        writeAll(events);
+    }
+    
+    private void writeAll(List<? extends BaseEvent> events) {
+        String batchDescription = "batch of " + events.size();
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new EventPublishException(
+                "Outbox publish requires an active transaction", null, batchDescription);
+        }
+        
+        try {
+            Timestamp now = Timestamp.from(Instant.now());
+            String correlationId = StrideRequestContext.currentCorrelationId();
+            List<Object[]> rows = new ArrayList<>(events.size());
+            for (BaseEvent event : events) {
+                rows.add(new Object[] {
+                    topicResolver.resolveTopicFor(event),
+                    kafkaEventProducer.partitionKeyFor(event),
+                    event.getClass().getSimpleName(),
+                    eventSerializer.serialize(event),
+                    correlationId,
+                    now
+                });
+            }
+            jdbcTemplate.batchUpdate(table.insertSql(), rows);
+            
+        } catch (RuntimeException e) {
+            String errorMsg = String.format("Failed to write %s to the outbox", batchDescription);
+            log.error(errorMsg, e);
+            throw new EventPublishException(errorMsg, null, batchDescription, e);
+        }
+    }
+    
+    private void write(String topic, String key, BaseEvent event) {
+        String eventType = event.getClass().getSimpleName();
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new EventPublishException(
+                "Outbox publish requires an active transaction", topic, eventType);
+        }
+        
+        try {
+            jdbcTemplate.update(table.insertSql(),
+                topic,
+                key != null ? key : kafkaEventProducer.partitionKeyFor(event),
+                eventType,
+                eventSerializer.serialize(event),
+                StrideRequestContext.currentCorrelationId(),
+                Timestamp.from(Instant.now()));
+            
+        } catch (RuntimeException e) {
+            String errorMsg = String.format("Failed to write event %s for topic %s to the outbox", eventType, topic);
+            log.error(errorMsg, e);
+            throw new EventPublishException(errorMsg, topic, eventType, e);
+        }
+    }
+}
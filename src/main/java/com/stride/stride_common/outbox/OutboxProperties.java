@@ -0,0 +1,102 @@
+package com.stride.stride_common.outbox;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for the transactional outbox and its relay
+ */
+@Configuration
+@ConfigurationProperties(prefix = "stride.outbox")
+public class OutboxProperties {
+    
+    private boolean enabled = false;
+    private String tableName = "stride_outbox";
+    private Relay relay = new Relay();
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public String getTableName() {
+        return tableName;
+    }
+    
+    public void setTableName(String tableName) {
+        this.tableName = tableName;
+    }
+    
+    public Relay getRelay() {
+        return relay;
+    }
+    
+    public void setRelay(Relay relay) {
+        this.relay = relay;
+    }
+    
+    /**
+     * Relay configuration
+     */
+    public static class Relay {
+        private boolean enabled = true;
+        private int batchSize = 1000;
+        private int threads = 1;
+        private Duration pollInterval = Duration.ofMillis(200);
+        private Duration publishTimeout = Duration.ofSeconds(30);
+        private Duration claimTimeout = Duration.ofSeconds(60);
+        
+        public boolean isEnabled() {
+            return enabled;
+        }
+        
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+        
+        public int getBatchSize() {
+            return batchSize;
+        }
+        
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+        
+        public int getThreads() {
+            return threads;
+        }
+        
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+        
+        public Duration getPollInterval() {
+            return pollInterval;
+        }
+        
+        public void setPollInterval(Duration pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+        
+        public Duration getPublishTimeout() {
+            return publishTimeout;
+        }
+        
+        public void setPublishTimeout(Duration publishTimeout) {
+            this.publishTimeout = publishTimeout;
+        }
+        
+        public Duration getClaimTimeout() {
+            return claimTimeout;
+        }
+        
+        public void setClaimTimeout(Duration claimTimeout) {
+            this.claimTimeout = claimTimeout;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.stride.stride_common.outbox;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.stride.stride_common.exceptions.ServiceException;
+import com.stride.stride_common.kafka.KafkaEventProducer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Moves committed outbox rows to Kafka.
+ * Each cycle claims up to batchSize rows with {@code FOR UPDATE SKIP LOCKED} (so several relay
+ * threads or service instances never contend for the same rows), stamps them with a claim lease
+ * and commits straight away, so no row lock is held while Kafka is slow. It then sends the rows
+ * through KafkaEventProducer, flushes once, waits for the acks and deletes the acknowledged rows
+ * in a single JDBC batch. Rows whose send failed are released for the next cycle; rows of a relay
+ * that died mid-cycle become claimable again once their lease expires (at-least-once).
+ */
+@Slf4j
+public class OutboxRelay implements SmartLifecycle {
+
+    private static final RowMapper<OutboxRow> ROW_MAPPER = (rs, rowNum) -> new OutboxRow(
+        rs.getLong("id"),
+        rs.getString("topic"),
+        rs.getString("partition_key"),
+        rs.getString("event_type"),
+        rs.getString("payload"),
+        rs.getString("correlation_id"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final KafkaEventProducer kafkaEventProducer;
+    private final OutboxProperties.Relay properties;
+    private final OutboxTable table;
+    private final AtomicLong relayedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    public OutboxRelay(JdbcTemplate jdbcTemplate,
+                       TransactionTemplate transactionTemplate,
+                       KafkaEventProducer kafkaEventProducer,
+                       OutboxProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.kafkaEventProducer = kafkaEventProducer;
+        this.properties = properties.getRelay();
+        this.table = OutboxTable.named(properties.getTableName());
+        if (this.properties.getClaimTimeout().compareTo(this.properties.getPublishTimeout()) <= 0) {
+            // A lease shorter than the ack wait would let another relay re-send rows still in flight
+            throw ServiceException.configurationError("stride.outbox.relay.claim-timeout");
+        }
+    }
+
+    /**
+     * Run one claim / publish / delete cycle
+     *
+     * @return number of rows relayed and deleted
+     */
+    public int relayBatch() {
+        List<OutboxRow> rows = claim();
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<Void>> sends = new ArrayList<>(rows.size());
+        for (OutboxRow row : rows) {
+            sends.add(kafkaEventProducer.publishSerialized(row.topic(), row.partitionKey(), row.eventType(), row.payload(),
+                row.correlationId()));
+        }
+        kafkaEventProducer.flush();
+
+        List<Long> acknowledged = new ArrayList<>(rows.size());
+        List<Long> failed = new ArrayList<>();
+        awaitAcknowledged(rows, sends, acknowledged, failed);
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(table.deleteSql(), acknowledged, acknowledged.size(),
+                (ps, id) -> ps.setLong(1, id));
+            jdbcTemplate.batchUpdate(table.releaseSql(), failed, failed.size(),
+                (ps, id) -> ps.setLong(1, id));
+        });
+
+        relayedCount.addAndGet(acknowledged.size());
+        return acknowledged.size();
+    }
+
+    /**
+     * Total number of rows relayed since startup
+     */
+    public long getRelayedCount() {
+        return relayedCount.get();
+    }
+
+    /**
+     * Total number of rows whose send failed and were left for retry
+     */
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        for (int i = 0; i < Math.max(1, properties.getThreads()); i++) {
+            workers.add(Thread.ofPlatform()
+                .name("stride-outbox-relay-" + i)
+                .daemon(true)
+                .start(this::relayLoop));
+        }
+        log.info("Started {} outbox relay thread(s)", workers.size());
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+        for (Thread worker : workers) {
+            try {
+                worker.join(properties.getPublishTimeout().toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        workers.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void relayLoop() {
+        while (running) {
+            try {
+                // Drain back-to-back while batches come back full; otherwise wait for new rows
+                if (relayBatch() < properties.getBatchSize()) {
+                    Thread.sleep(properties.getPollInterval().toMillis());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Outbox relay cycle failed", e);
+                try {
+                    Thread.sleep(properties.getPollInterval().toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Claim the next rows under a short transaction that commits before anything is sent
+     */
+    private List<OutboxRow> claim() {
+        List<OutboxRow> rows = transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            List<OutboxRow> claimed = jdbcTemplate.query(table.claimSql(), ROW_MAPPER,
+                Timestamp.from(now), properties.getBatchSize());
+            Timestamp leaseEnd = Timestamp.from(now.plus(properties.getClaimTimeout()));
+            jdbcTemplate.batchUpdate(table.leaseSql(), claimed, claimed.size(), (ps, row) -> {
+                ps.setTimestamp(1, leaseEnd);
+                ps.setLong(2, row.id());
+            });
+            return claimed;
+        });
+        return rows != null ? rows : List.of();
+    }
+
+    private void awaitAcknowledged(List<OutboxRow> rows, List<CompletableFuture<Void>> sends,
+                                   List<Long> acknowledged, List<Long> failed) {
+        long deadline = System.nanoTime() + properties.getPublishTimeout().toNanos();
+        for (int i = 0; i < rows.size(); i++) {
+            try {
+                sends.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                acknowledged.add(rows.get(i).id());
+            } catch (InterruptedException e) {
+                // Unawaited rows keep their lease and are picked up again once it expires
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException | TimeoutException e) {
+                failedCount.incrementAndGet();
+                failed.add(rows.get(i).id());
+                log.warn("Outbox row {} ({}) not acknowledged, will retry: {}",
+                    rows.get(i).id(), rows.get(i).eventType(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * A claimed outbox row
+     */
+    record OutboxRow(long id, String topic, String partitionKey, String eventType, String payload, String correlationId) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.stride.stride_common.outbox;
+
+import java.util.regex.Pattern;
+
+import com.stride.stride_common.exceptions.ServiceException;
+
+/**
+ * SQL statements for the outbox table, rendered once for the configured table name
+ */
+record OutboxTable(String insertSql, String claimSql, String leaseSql, String releaseSql, String deleteSql) {
+
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*(\\.[A-Za-z_][A-Za-z0-9_]*)?");
+
+    static OutboxTable named(String tableName) {
+        if (tableName == null || !IDENTIFIER.matcher(tableName).matches()) {
+            throw ServiceException.configurationError("stride.outbox.table-name");
+        }
+        return new OutboxTable(
+            "INSERT INTO " + tableName + " (topic, partition_key, event_type, payload, correlation_id, created_at)"
+                + " VALUES (?, ?, ?, ?, ?, ?)",
+            "SELECT id, topic, partition_key, event_type, payload, correlation_id FROM " + tableName
+                + " WHERE claimed_until IS NULL OR claimed_until < ? ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED",
+            "UPDATE " + tableName + " SET claimed_until = ? WHERE id = ?",
+            "UPDATE " + tableName + " SET claimed_until = NULL WHERE id = ?",
+            "DELETE FROM " + tableName + " WHERE id = ?");
+    }
+}
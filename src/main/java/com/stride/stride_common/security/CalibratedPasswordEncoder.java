@@ -0,0 +1,243 @@
+package com.stride.stride_common.security;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Delegating password encoder whose algorithm and strength are the configured defaults, or, with
+ * {@code stride.security.password-hashing.calibrate}, calibrated at startup against
+ * {@code target-hash-time}. New hashes are stored with an algorithm prefix such as {@code {bcrypt}},
+ * except bcrypt at its default cost, which stays a plain hash that a BCryptPasswordEncoder on an older
+ * node still verifies during a rolling deploy; hashes of every known algorithm and strength, and
+ * unprefixed bcrypt hashes, keep verifying.
+ * <p>
+ * {@link #upgradeEncoding} reports hashes of another algorithm or weaker than the current setting so
+ * Spring's DaoAuthenticationProvider rehashes them on login through a UserDetailsPasswordService;
+ * hand-written login code can use {@link #verify}. Stronger hashes are kept unless
+ * {@code rehash-costlier} is set, and then only when more than twice as expensive, so nodes whose
+ * calibration differs by one step do not rehash each other's passwords.
+ */
+@Slf4j
+public class CalibratedPasswordEncoder implements PasswordEncoder, MeterBinder {
+
+    private static final String PROBE_PASSWORD = "calibration-probe-password";
+    private static final int PROBE_RUNS = 3;
+
+    private final PasswordHashAlgorithm algorithm;
+    private final int strength;
+    private final PasswordEncoder encoder;
+    private final String prefix;
+    private final boolean rehashCostlier;
+    private final Map<String, PasswordEncoder> matchers = new ConcurrentHashMap<>();
+    private final LongAdder encodeCount = new LongAdder();
+    private final LongAdder encodeNanos = new LongAdder();
+    private final LongAdder matchCount = new LongAdder();
+    private final LongAdder matchNanos = new LongAdder();
+    private final LongAdder rehashCount = new LongAdder();
+
+    public CalibratedPasswordEncoder(PasswordHashAlgorithm algorithm, int strength) {
+        this(algorithm, strength, false);
+    }
+
+    public CalibratedPasswordEncoder(PasswordHashAlgorithm algorithm, int strength, boolean rehashCostlier) {
+        this.algorithm = algorithm;
+        this.strength = strength;
+        this.encoder = algorithm.encoder(strength);
+        this.prefix = algorithm.prefix(strength);
+        this.rehashCostlier = rehashCostlier;
+    }
+
+    /**
+     * Picks the first configured algorithm that can reach its minimum strength within the target
+     * hash time, at the highest strength that still fits. If none fits, the first algorithm is used
+     * at its minimum strength - calibration never trades below the floor.
+     */
+    public static CalibratedPasswordEncoder calibrate(SecurityProperties.PasswordHashing properties) {
+        return calibrate(properties, PasswordHashAlgorithm::isAvailable);
+    }
+
+    static CalibratedPasswordEncoder calibrate(SecurityProperties.PasswordHashing properties,
+                                               Predicate<PasswordHashAlgorithm> available) {
+        List<PasswordHashAlgorithm> candidates = properties.getAlgorithms().stream()
+            .filter(available)
+            .toList();
+        if (candidates.isEmpty()) {
+            throw new IllegalStateException("None of the password hash algorithms " + properties.getAlgorithms() + " is available");
+        }
+        if (!properties.isCalibrate()) {
+            return new CalibratedPasswordEncoder(candidates.get(0), candidates.get(0).defaultStrength(),
+                properties.isRehashCostlier());
+        }
+        long targetNanos = properties.getTargetHashTime().toNanos();
+        for (PasswordHashAlgorithm candidate : candidates) {
+            int calibrated = candidate.strengthFor(probe(candidate), targetNanos);
+            if (calibrated >= candidate.minimumStrength()) {
+                CalibratedPasswordEncoder encoder = new CalibratedPasswordEncoder(candidate, calibrated,
+                    properties.isRehashCostlier());
+                log.info("Password hashing calibrated to {} strength {} for a {} ms target ({} ms measured)",
+                    candidate.id(), calibrated, properties.getTargetHashTime().toMillis(),
+                    TimeUnit.NANOSECONDS.toMillis(time(encoder.encoder)));
+                return encoder;
+            }
+            log.info("Password hashing with {} cannot reach strength {} within {} ms",
+                candidate.id(), candidate.minimumStrength(), properties.getTargetHashTime().toMillis());
+        }
+        PasswordHashAlgorithm fallback = candidates.get(0);
+        log.warn("No password hash algorithm fits the {} ms target, using {} at minimum strength {}",
+            properties.getTargetHashTime().toMillis(), fallback.id(), fallback.minimumStrength());
+        return new CalibratedPasswordEncoder(fallback, fallback.minimumStrength(), properties.isRehashCostlier());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        long start = System.nanoTime();
+        String encoded = prefix + encoder.encode(rawPassword);
+        encodeNanos.add(System.nanoTime() - start);
+        encodeCount.increment();
+        return encoded;
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        StoredHash stored = StoredHash.parse(encodedPassword);
+        if (stored == null) {
+            return false;
+        }
+        long start = System.nanoTime();
+        boolean matches = matcherFor(stored).matches(rawPassword, stored.hash());
+        matchNanos.add(System.nanoTime() - start);
+        matchCount.increment();
+        return matches;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        StoredHash stored = StoredHash.parse(encodedPassword);
+        if (stored == null) {
+            return false;
+        }
+        boolean upgrade = stored.algorithm() != algorithm || stored.strength() < 0
+            || algorithm.costRatio(stored.strength(), strength) < 1
+            || (rehashCostlier && algorithm.costRatio(stored.strength(), strength) > 2);
+        if (upgrade) {
+            rehashCount.increment();
+        }
+        return upgrade;
+    }
+
+    /**
+     * Checks a password and, when it matches a hash that should be upgraded, hands the new hash to
+     * {@code rehashed} for storing
+     */
+    public boolean verify(CharSequence rawPassword, String encodedPassword, Consumer<String> rehashed) {
+        if (!matches(rawPassword, encodedPassword)) {
+            return false;
+        }
+        if (upgradeEncoding(encodedPassword)) {
+            rehashed.accept(encode(rawPassword));
+        }
+        return true;
+    }
+
+    public PasswordHashAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionTimer.builder("stride.password.hash", encodeCount, LongAdder::sum, adder -> encodeNanos.sum(),
+                TimeUnit.NANOSECONDS)
+            .tag("operation", "encode")
+            .description("Password hashes computed for new or rehashed passwords")
+            .register(registry);
+        FunctionTimer.builder("stride.password.hash", matchCount, LongAdder::sum, adder -> matchNanos.sum(),
+                TimeUnit.NANOSECONDS)
+            .tag("operation", "matches")
+            .description("Password hashes computed to verify a login")
+            .register(registry);
+        FunctionCounter.builder("stride.password.rehash", rehashCount, LongAdder::sum)
+            .description("Stored hashes found weaker than the current setting, or costlier when rehashing those")
+            .register(registry);
+        Gauge.builder("stride.password.hash.strength", this, encoder -> encoder.strength)
+            .tag("algorithm", algorithm.id())
+            .description("Calibrated strength of new password hashes")
+            .register(registry);
+    }
+
+    private PasswordEncoder matcherFor(StoredHash stored) {
+        if (stored.algorithm() == algorithm && stored.strength() == strength) {
+            return encoder;
+        }
+        // Only PBKDF2 needs the stored strength to verify; bcrypt and Argon2 read it from the hash
+        int matcherStrength = stored.algorithm() == PasswordHashAlgorithm.PBKDF2
+            ? stored.strength() : stored.algorithm().defaultStrength();
+        return matchers.computeIfAbsent(stored.algorithm().id() + ":" + matcherStrength,
+            key -> stored.algorithm().encoder(matcherStrength));
+    }
+
+    private static long probe(PasswordHashAlgorithm algorithm) {
+        PasswordEncoder probe = algorithm.encoder(algorithm.probeStrength());
+        probe.encode(PROBE_PASSWORD);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < PROBE_RUNS; i++) {
+            best = Math.min(best, time(probe));
+        }
+        return best;
+    }
+
+    private static long time(PasswordEncoder encoder) {
+        long start = System.nanoTime();
+        encoder.encode(PROBE_PASSWORD);
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * A stored hash split into algorithm, strength and the hash the algorithm's encoder understands
+     */
+    private record StoredHash(PasswordHashAlgorithm algorithm, int strength, String hash) {
+
+        static StoredHash parse(String encoded) {
+            if (encoded == null || encoded.isEmpty()) {
+                return null;
+            }
+            if (encoded.charAt(0) != '{') {
+                // Hashes from before calibration are plain bcrypt
+                return new StoredHash(PasswordHashAlgorithm.BCRYPT, PasswordHashAlgorithm.BCRYPT.strengthOf(null, encoded), encoded);
+            }
+            int end = encoded.indexOf('}');
+            if (end < 0) {
+                return null;
+            }
+            String id = encoded.substring(1, end);
+            int colon = id.indexOf(':');
+            PasswordHashAlgorithm algorithm = PasswordHashAlgorithm.forId(colon < 0 ? id : id.substring(0, colon));
+            if (algorithm == null || !algorithm.isAvailable()) {
+                return null;
+            }
+            String hash = encoded.substring(end + 1);
+            int strength = algorithm.strengthOf(colon < 0 ? null : id.substring(colon + 1), hash);
+            if (algorithm == PasswordHashAlgorithm.PBKDF2 && strength <= 0) {
+                return null;
+            }
+            return new StoredHash(algorithm, strength, hash);
+        }
+    }
+}
@@ -5,6 +5,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.cors.CorsConfiguration;
@@ -26,8 +27,30 @@ public class CorsConfig {
     @Value("${app.cors.max-age:3600}")
     private long maxAge = 3600;
     
+    @Value("${app.cors.preflight-cache-size:1024}")
+    private int preflightCacheSize = 1024;
+    
+    /**
+     * Processor used by the security filter chain: exact origins are hash lookups and preflight answers are cached
+     */
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public StrideCorsProcessor corsProcessor() {
+        return new StrideCorsProcessor(preflightCacheSize);
+    }
+    
     @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
     public CorsConfigurationSource corsConfigurationSource() {
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", corsConfiguration());
+        return source;
+    }
+    
+    /**
+     * The CORS rules of every Stride service, shared by the servlet and reactive security chains
+     */
+    public CorsConfiguration corsConfiguration() {
         CorsConfiguration configuration = new CorsConfiguration();
         
         // Combine default and additional allowed origins
@@ -51,9 +74,6 @@ public class CorsConfig {
             SecurityConstants.ORGANIZATION_HEADER,
             SecurityConstants.USER_CONTEXT_HEADER
         ));
-        
-        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
-        source.registerCorsConfiguration("/**", configuration);
-        return source;
+        return configuration;
     }
 }
\ No newline at end of file
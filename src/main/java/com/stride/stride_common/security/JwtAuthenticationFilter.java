@@ -0,0 +1,102 @@
+package com.stride.stride_common.security;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.stride.stride_common.auth.JwtAuthenticationToken;
+import com.stride.stride_common.auth.JwtTokenProvider;
+import com.stride.stride_common.auth.VerifiedToken;
+import com.stride.stride_common.exceptions.AuthenticationException;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Authenticates requests carrying {@code Authorization: Bearer <access token>}.
+ * The token is verified exactly once through JwtTokenProvider.introspect and the principal is
+ * built from the verified claims. Requests without a usable token continue unauthenticated, so
+ * the authorization rules decide between 401 and permitted access. Public URLs are skipped
+ * before the header is even read.
+ */
+@Slf4j
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final int PREFIX_LENGTH = SecurityConstants.JWT_TOKEN_PREFIX.length();
+
+    private final JwtTokenProvider tokenProvider;
+    private final SecurityContextHolderStrategy contextHolderStrategy = SecurityContextHolder.getContextHolderStrategy();
+    private final PathAccessMatcher pathAccess;
+
+    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider, Collection<String> publicUrls) {
+        this(tokenProvider, new PathAccessMatcher(publicUrls, List.of()));
+    }
+
+    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider, PathAccessMatcher pathAccess) {
+        this.tokenProvider = tokenProvider;
+        this.pathAccess = pathAccess;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return pathAccess.decide(request) == PathAccessMatcher.Access.PUBLIC;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String token = bearerToken(request.getHeader(SecurityConstants.JWT_TOKEN_HEADER));
+        if (token != null) {
+            authenticate(token);
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private void authenticate(String token) {
+        VerifiedToken verified;
+        try {
+            verified = tokenProvider.introspect(token);
+        } catch (AuthenticationException e) {
+            log.debug("Rejected bearer token: {}", e.getMessage());
+            contextHolderStrategy.clearContext();
+            return;
+        }
+        if (!verified.isAccessToken()) {
+            log.debug("Rejected non-access token for subject {}", verified.subject());
+            contextHolderStrategy.clearContext();
+            return;
+        }
+
+        SecurityContext context = contextHolderStrategy.createEmptyContext();
+        context.setAuthentication(JwtAuthenticationToken.of(token, verified));
+        contextHolderStrategy.setContext(context);
+    }
+
+    /**
+     * Token part of a "Bearer" header (scheme matched case-insensitively), or null
+     */
+    static String bearerToken(String header) {
+        if (header == null || header.length() <= PREFIX_LENGTH
+                || !header.regionMatches(true, 0, SecurityConstants.JWT_TOKEN_PREFIX, 0, PREFIX_LENGTH)) {
+            return null;
+        }
+        int start = PREFIX_LENGTH;
+        int end = header.length();
+        while (start < end && header.charAt(start) == ' ') {
+            start++;
+        }
+        while (end > start && header.charAt(end - 1) == ' ') {
+            end--;
+        }
+        // The only copy: the provider and its cache work on the bare token String
+        return start < end ? header.substring(start, end) : null;
+    }
+}
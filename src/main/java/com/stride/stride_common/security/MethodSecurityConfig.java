@@ -0,0 +1,59 @@
+package com.stride.stride_common.security;
+
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
+import org.springframework.security.authorization.method.AuthorizationInterceptorsOrder;
+import org.springframework.security.authorization.method.AuthorizationManagerBeforeMethodInterceptor;
+import org.springframework.security.authorization.method.AuthorizationManagerBeforeReactiveMethodInterceptor;
+
+/**
+ * Registers {@link RequiresPermission} method security next to the standard
+ * {@code @PreAuthorize} support, and backs {@code hasPermission(...)} expressions with
+ * StridePermissionEvaluator. Servlet applications check the SecurityContextHolder; reactive
+ * applications check the ReactiveSecurityContextHolder, so their annotated methods must return
+ * a Mono or Flux.
+ */
+@Configuration
+public class MethodSecurityConfig {
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    static Advisor requiresPermissionAuthorizationAdvisor() {
+        AuthorizationManagerBeforeMethodInterceptor interceptor = new AuthorizationManagerBeforeMethodInterceptor(
+            requiresPermissionPointcut(), new PermissionAuthorizationManager());
+        interceptor.setOrder(AuthorizationInterceptorsOrder.PRE_AUTHORIZE.getOrder());
+        return interceptor;
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    static Advisor reactiveRequiresPermissionAuthorizationAdvisor() {
+        AuthorizationManagerBeforeReactiveMethodInterceptor interceptor = new AuthorizationManagerBeforeReactiveMethodInterceptor(
+            requiresPermissionPointcut(), new ReactivePermissionAuthorizationManager(new PermissionAuthorizationManager()));
+        interceptor.setOrder(AuthorizationInterceptorsOrder.PRE_AUTHORIZE.getOrder());
+        return interceptor;
+    }
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static MethodSecurityExpressionHandler strideMethodSecurityExpressionHandler() {
+        DefaultMethodSecurityExpressionHandler handler = new DefaultMethodSecurityExpressionHandler();
+        handler.setPermissionEvaluator(new StridePermissionEvaluator());
+        return handler;
+    }
+
+    static ComposablePointcut requiresPermissionPointcut() {
+        return new ComposablePointcut(new AnnotationMatchingPointcut(RequiresPermission.class, true))
+            .union(new AnnotationMatchingPointcut(null, RequiresPermission.class, true));
+    }
+}
@@ -2,8 +2,6 @@ package com.stride.stride_common.security;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 /**
  * Password encoding configuration for all Stride services
@@ -12,11 +10,11 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 public class PasswordEncoderConfig {
     
     /**
-     * BCrypt password encoder with strength 12 for enhanced security
-     * Higher strength = more secure but slower hashing
+     * Delegating encoder at the default strength, or calibrated to {@code stride.security.password-hashing.target-hash-time}
+     * when enabled. Existing bcrypt hashes keep verifying and weaker ones are rehashed on login
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+    public CalibratedPasswordEncoder passwordEncoder(SecurityProperties securityProperties) {
+        return CalibratedPasswordEncoder.calibrate(securityProperties.getPasswordHashing());
     }
 }
\ No newline at end of file
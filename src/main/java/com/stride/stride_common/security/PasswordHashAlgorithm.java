@@ -0,0 +1,186 @@
+package com.stride.stride_common.security;
+
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Password hash algorithms the CalibratedPasswordEncoder can pick from. Strength is the bcrypt
+ * log rounds, the PBKDF2 iteration count or the Argon2 pass count; the floors follow current
+ * OWASP guidance and calibration never goes below them.
+ */
+public enum PasswordHashAlgorithm {
+
+    /**
+     * Argon2id with 19 MiB of memory, only available with BouncyCastle on the classpath
+     */
+    ARGON2("argon2", 2, 2, 1, 32, 1, false) {
+        @Override
+        public PasswordEncoder encoder(int strength) {
+            return new Argon2PasswordEncoder(SALT_LENGTH, 32, 1, ARGON2_MEMORY_KIB, strength);
+        }
+
+        @Override
+        int strengthOf(String parameter, String hash) {
+            // $argon2id$v=19$m=19456,t=2,p=1$salt$hash - strength is t, and only at the memory we use
+            int params = hash.indexOf("$m=");
+            int end = params < 0 ? -1 : hash.indexOf('$', params + 1);
+            if (end < 0) {
+                return -1;
+            }
+            int memory = -1;
+            int passes = -1;
+            for (String param : hash.substring(params + 1, end).split(",")) {
+                if (param.startsWith("m=")) {
+                    memory = parse(param.substring(2));
+                } else if (param.startsWith("t=")) {
+                    passes = parse(param.substring(2));
+                }
+            }
+            return memory == ARGON2_MEMORY_KIB ? passes : -1;
+        }
+
+        @Override
+        public boolean isAvailable() {
+            return ClassUtils.isPresent("org.bouncycastle.crypto.generators.Argon2BytesGenerator",
+                PasswordHashAlgorithm.class.getClassLoader());
+        }
+    },
+
+    BCRYPT("bcrypt", 12, 12, 8, 20, 1, true) {
+        @Override
+        public PasswordEncoder encoder(int strength) {
+            return new BCryptPasswordEncoder(strength);
+        }
+
+        @Override
+        int strengthOf(String parameter, String hash) {
+            // $2a$12$... - the log rounds are always two digits
+            return hash.length() > 7 && hash.charAt(0) == '$' && hash.charAt(3) == '$' ? parse(hash.substring(4, 6)) : -1;
+        }
+
+        @Override
+        String prefix(int strength) {
+            // Plain at the default cost, the format services stored before the prefix existed
+            return strength == defaultStrength() ? "" : super.prefix(strength);
+        }
+    },
+
+    /**
+     * PBKDF2 with HMAC-SHA256; the hash does not record its iterations, so they are kept in the prefix
+     */
+    PBKDF2("pbkdf2", 600_000, 600_000, 20_000, 10_000_000, 10_000, false) {
+        @Override
+        public PasswordEncoder encoder(int strength) {
+            return new Pbkdf2PasswordEncoder("", SALT_LENGTH, strength,
+                Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+        }
+
+        @Override
+        int strengthOf(String parameter, String hash) {
+            return parameter == null ? -1 : parse(parameter);
+        }
+
+        @Override
+        String prefix(int strength) {
+            return "{" + id() + ":" + strength + "}";
+        }
+    };
+
+    private static final int SALT_LENGTH = 16;
+    private static final int ARGON2_MEMORY_KIB = 19_456;
+
+    private final String id;
+    private final int defaultStrength;
+    private final int minimumStrength;
+    private final int probeStrength;
+    private final int maximumStrength;
+    private final int step;
+    private final boolean exponential;
+
+    PasswordHashAlgorithm(String id, int defaultStrength, int minimumStrength, int probeStrength, int maximumStrength,
+                          int step, boolean exponential) {
+        this.id = id;
+        this.defaultStrength = defaultStrength;
+        this.minimumStrength = minimumStrength;
+        this.probeStrength = probeStrength;
+        this.maximumStrength = maximumStrength;
+        this.step = step;
+        this.exponential = exponential;
+    }
+
+    /**
+     * Encoder hashing at the given strength; every encoder verifies hashes of any strength it can read
+     */
+    public abstract PasswordEncoder encoder(int strength);
+
+    /**
+     * Strength a stored hash was made with, or -1 if it cannot be read or uses other parameters
+     */
+    abstract int strengthOf(String parameter, String hash);
+
+    public boolean isAvailable() {
+        return true;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public int defaultStrength() {
+        return defaultStrength;
+    }
+
+    public int minimumStrength() {
+        return minimumStrength;
+    }
+
+    int probeStrength() {
+        return probeStrength;
+    }
+
+    String prefix(int strength) {
+        return "{" + id + "}";
+    }
+
+    /**
+     * Highest strength expected to hash within the target time, given the time measured at the probe strength.
+     * May be below the minimum strength, in which case the algorithm does not fit the target.
+     */
+    int strengthFor(long probeNanos, long targetNanos) {
+        double ratio = (double) targetNanos / Math.max(1, probeNanos);
+        long strength;
+        if (exponential) {
+            strength = probeStrength + (long) Math.floor(Math.log(ratio) / Math.log(2));
+        } else {
+            strength = (long) (probeStrength * ratio) / step * step;
+        }
+        return (int) Math.max(0, Math.min(maximumStrength, strength));
+    }
+
+    /**
+     * Hashing cost at {@code stored} strength relative to {@code current} strength
+     */
+    double costRatio(int stored, int current) {
+        return exponential ? Math.pow(2, stored - current) : (double) stored / current;
+    }
+
+    static PasswordHashAlgorithm forId(String id) {
+        for (PasswordHashAlgorithm algorithm : values()) {
+            if (algorithm.id.equals(id)) {
+                return algorithm;
+            }
+        }
+        return null;
+    }
+
+    private static int parse(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.stride.stride_common.security;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import com.stride.stride_common.exceptions.ServiceException;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Bulkhead for password hashing. Encode and matches run on a small pool of dedicated threads
+ * (half the cores by default) behind a bounded queue, so a login storm queues up here instead of
+ * taking every request thread and CPU. When the queue is full, or an account already has
+ * {@code per-account-limit} hashes in flight, the returned future fails at once with a
+ * SERVICE_OVERLOADED ServiceException - one attacked account cannot hold all the slots.
+ * <p>
+ * Futures complete on the hashing threads; chain further work with the {@code *Async} variants.
+ * The hashing threads are platform threads even with virtual threads enabled: hashing is CPU-bound
+ * and would hold a carrier for its whole run.
+ */
+@Component
+public class PasswordVerificationService implements MeterBinder, DisposableBean {
+
+    private static final String RESOURCE = "password-verification";
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final int perAccountLimit;
+    private final Map<String, Integer> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder queueFullRejections = new LongAdder();
+    private final LongAdder accountLimitRejections = new LongAdder();
+
+    @Autowired
+    public PasswordVerificationService(PasswordEncoder passwordEncoder,
+                                       @Value("${stride.security.password-verification.threads:0}") int threads,
+                                       @Value("${stride.security.password-verification.queue-capacity:256}") int queueCapacity,
+                                       @Value("${stride.security.password-verification.per-account-limit:2}") int perAccountLimit) {
+        if (queueCapacity < 1 || perAccountLimit < 1) {
+            throw new IllegalArgumentException("Password verification queue capacity and per-account limit must be positive");
+        }
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.passwordEncoder = passwordEncoder;
+        this.perAccountLimit = perAccountLimit;
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> Thread.ofPlatform().name("stride-password-" + threadNumber.incrementAndGet()).daemon(true)
+                .unstarted(runnable),
+            new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Check a login attempt for the account against its stored hash
+     */
+    public CompletableFuture<Boolean> matches(String account, CharSequence rawPassword, String encodedPassword) {
+        return submit(account, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Hash a new or changed password for the account
+     */
+    public CompletableFuture<String> encode(String account, CharSequence rawPassword) {
+        return submit(account, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("stride.password.verification.queued", executor, pool -> pool.getQueue().size())
+            .description("Password hashes waiting for a hashing thread")
+            .register(registry);
+        Gauge.builder("stride.password.verification.active", executor, ThreadPoolExecutor::getActiveCount)
+            .description("Password hashes being computed")
+            .register(registry);
+        FunctionCounter.builder("stride.password.verification.rejected", queueFullRejections, LongAdder::sum)
+            .tag("reason", "queue-full")
+            .description("Password hashes rejected because the queue was full")
+            .register(registry);
+        FunctionCounter.builder("stride.password.verification.rejected", accountLimitRejections, LongAdder::sum)
+            .tag("reason", "account-limit")
+            .description("Password hashes rejected because the account had too many in flight")
+            .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private <T> CompletableFuture<T> submit(String account, Supplier<T> hashing) {
+        if (!acquire(account)) {
+            accountLimitRejections.increment();
+            return CompletableFuture.failedFuture(ServiceException.overloaded(RESOURCE, "account-limit"));
+        }
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                T result;
+                try {
+                    result = hashing.get();
+                } catch (Throwable e) {
+                    release(account);
+                    future.completeExceptionally(e);
+                    return;
+                }
+                // Release before completing, so a caller reacting to the result can submit again at once
+                release(account);
+                future.complete(result);
+            });
+        } catch (RejectedExecutionException e) {
+            release(account);
+            queueFullRejections.increment();
+            return CompletableFuture.failedFuture(ServiceException.overloaded(RESOURCE, "queue-full"));
+        }
+        return future;
+    }
+
+    private boolean acquire(String account) {
+        boolean[] acquired = new boolean[1];
+        inFlight.compute(account, (key, count) -> {
+            int current = count == null ? 0 : count;
+            if (current >= perAccountLimit) {
+                return count;
+            }
+            acquired[0] = true;
+            return current + 1;
+        });
+        return acquired[0];
+    }
+
+    private void release(String account) {
+        // Entries are removed at zero, so the map only ever holds accounts with hashes in flight
+        inFlight.computeIfPresent(account, (key, count) -> count == 1 ? null : count - 1);
+    }
+}
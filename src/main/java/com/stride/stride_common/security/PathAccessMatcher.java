@@ -0,0 +1,229 @@
+package com.stride.stride_common.security;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.util.AntPathMatcher;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Decides whether a request path is public, internal or needs authentication.
+ * All Ant patterns are compiled once into a trie of path segments: literal segments are
+ * children, {@code *} and {@code {var}} segments a single-segment wildcard child, and a trailing
+ * {@code /**} a mark on the node. A decision is one walk over the request URI, comparing
+ * segments in place without splitting the path. Patterns the trie cannot express (wildcards
+ * inside a segment, {@code **} before the end, regex variables) fall back to AntPathMatcher.
+ * When several patterns match, public wins over internal, as in the former matcher order.
+ * <p>
+ * Used both to skip bearer authentication for public URLs and as the authorization manager of
+ * the filter chain; the decision is kept on the request so the second use does not walk again.
+ */
+public class PathAccessMatcher implements AuthorizationManager<RequestAuthorizationContext> {
+
+    public enum Access {
+        PUBLIC,
+        INTERNAL,
+        AUTHENTICATED
+    }
+
+    private static final Access[] ACCESS = Access.values();
+    private static final int NONE = Access.AUTHENTICATED.ordinal();
+    private static final String DECISION_ATTRIBUTE = PathAccessMatcher.class.getName() + ".DECISION";
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+
+    private final Node root = new Node();
+    private final List<FallbackPattern> fallbackPatterns = new ArrayList<>();
+    private final AntPathMatcher antPathMatcher = new AntPathMatcher();
+    private final AuthenticationTrustResolver trustResolver = new AuthenticationTrustResolverImpl();
+
+    public PathAccessMatcher(Collection<String> publicUrls, Collection<String> internalUrls) {
+        publicUrls.forEach(url -> add(url, Access.PUBLIC));
+        internalUrls.forEach(url -> add(url, Access.INTERNAL));
+    }
+
+    /**
+     * The platform's public and internal URLs plus the service's additional public URLs
+     */
+    public static PathAccessMatcher of(SecurityProperties securityProperties) {
+        List<String> publicUrls = new ArrayList<>(Arrays.asList(SecurityConstants.PUBLIC_URLS));
+        publicUrls.addAll(securityProperties.getAdditionalPublicUrls());
+        return new PathAccessMatcher(publicUrls, Arrays.asList(SecurityConstants.INTERNAL_URLS));
+    }
+
+    /**
+     * Access required for the request, relative to the context path
+     */
+    public Access decide(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        // Keyed by URI: forwards and error dispatches share attributes but not the path
+        if (request.getAttribute(DECISION_ATTRIBUTE) instanceof Decision cached && cached.uri().equals(uri)) {
+            return cached.access();
+        }
+        Access access = decide(uri, request.getContextPath().length());
+        request.setAttribute(DECISION_ATTRIBUTE, new Decision(uri, access));
+        return access;
+    }
+
+    /**
+     * Access required for a path within the application
+     */
+    public Access decide(String path) {
+        return decide(path, 0);
+    }
+
+    /**
+     * Matcher for requests with exactly the given access, for places that need a RequestMatcher
+     */
+    public RequestMatcher matcherFor(Access access) {
+        return request -> decide(request) == access;
+    }
+
+    @Override
+    public AuthorizationResult authorize(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        return decision(authentication, context);
+    }
+
+    /**
+     * @deprecated use {@link #authorize(Supplier, RequestAuthorizationContext)}
+     */
+    @Override
+    @Deprecated
+    public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        return decision(authentication, context);
+    }
+
+    private AuthorizationDecision decision(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        if (decide(context.getRequest()) != Access.AUTHENTICATED) {
+            return GRANTED;
+        }
+        Authentication current = authentication.get();
+        return current != null && current.isAuthenticated() && !trustResolver.isAnonymous(current) ? GRANTED : DENIED;
+    }
+
+    private Access decide(String uri, int offset) {
+        int best = match(root, uri, offset);
+        if (best > Access.PUBLIC.ordinal() && !fallbackPatterns.isEmpty()) {
+            String path = uri.substring(offset);
+            for (FallbackPattern fallback : fallbackPatterns) {
+                if (fallback.access().ordinal() < best && antPathMatcher.match(fallback.pattern(), path)) {
+                    best = fallback.access().ordinal();
+                }
+            }
+        }
+        return ACCESS[best];
+    }
+
+    /**
+     * Best (lowest ordinal) access among patterns matching the rest of the path from {@code pos}
+     */
+    private static int match(Node node, String uri, int pos) {
+        int end = uri.length();
+        int best = node.rest;
+        if (pos == end) {
+            return Math.min(best, node.exact);
+        }
+        int start = pos;
+        while (start < end && uri.charAt(start) == '/') {
+            start++;
+        }
+        if (start == end) {
+            // Trailing slash: only "/**" patterns match, as with AntPathMatcher
+            return best;
+        }
+        int segmentEnd = uri.indexOf('/', start);
+        if (segmentEnd < 0) {
+            segmentEnd = end;
+        }
+        int length = segmentEnd - start;
+        for (int i = 0; i < node.literals.length && best > 0; i++) {
+            String literal = node.literals[i];
+            if (literal.length() == length && uri.regionMatches(start, literal, 0, length)) {
+                best = Math.min(best, match(node.children[i], uri, segmentEnd));
+            }
+        }
+        if (node.wildcard != null && best > 0) {
+            best = Math.min(best, match(node.wildcard, uri, segmentEnd));
+        }
+        return best;
+    }
+
+    private void add(String pattern, Access access) {
+        List<String> segments = Arrays.stream(pattern.split("/")).filter(segment -> !segment.isEmpty()).toList();
+        boolean trailingRest = !segments.isEmpty() && segments.get(segments.size() - 1).equals("**");
+        List<String> fixed = trailingRest ? segments.subList(0, segments.size() - 1) : segments;
+        if (!fixed.stream().allMatch(PathAccessMatcher::isTrieSegment) || (pattern.endsWith("/") && !trailingRest)) {
+            fallbackPatterns.add(new FallbackPattern(pattern, access));
+            return;
+        }
+        Node node = root;
+        for (String segment : fixed) {
+            node = isWildcard(segment) ? node.wildcardChild() : node.literalChild(segment);
+        }
+        if (trailingRest) {
+            node.rest = Math.min(node.rest, access.ordinal());
+        } else {
+            node.exact = Math.min(node.exact, access.ordinal());
+        }
+    }
+
+    private static boolean isTrieSegment(String segment) {
+        if (isWildcard(segment)) {
+            return true;
+        }
+        return segment.indexOf('*') < 0 && segment.indexOf('?') < 0 && segment.indexOf('{') < 0;
+    }
+
+    private static boolean isWildcard(String segment) {
+        return segment.equals("*")
+            || (segment.length() > 2 && segment.charAt(0) == '{' && segment.endsWith("}")
+                && segment.indexOf(':') < 0 && segment.indexOf('{', 1) < 0);
+    }
+
+    private static final class Node {
+
+        private String[] literals = new String[0];
+        private Node[] children = new Node[0];
+        private Node wildcard;
+        private int exact = NONE;
+        private int rest = NONE;
+
+        Node literalChild(String segment) {
+            for (int i = 0; i < literals.length; i++) {
+                if (literals[i].equals(segment)) {
+                    return children[i];
+                }
+            }
+            literals = Arrays.copyOf(literals, literals.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            literals[literals.length - 1] = segment;
+            children[children.length - 1] = new Node();
+            return children[children.length - 1];
+        }
+
+        Node wildcardChild() {
+            if (wildcard == null) {
+                wildcard = new Node();
+            }
+            return wildcard;
+        }
+    }
+
+    private record FallbackPattern(String pattern, Access access) {
+    }
+
+    private record Decision(String uri, Access access) {
+    }
+}
@@ -0,0 +1,88 @@
+package com.stride.stride_common.security;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.MethodClassKey;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.core.Authentication;
+
+import com.stride.stride_common.auth.AuthorityMask;
+import com.stride.stride_common.auth.PermissionMatrix;
+
+/**
+ * Decides {@link RequiresPermission} methods with one mask comparison.
+ * The required mask is resolved once per method and target class (including meta-annotations
+ * and class-level annotations) and cached; the caller's role mask comes precomputed with the principal
+ * and is expanded to its implied permissions with a few ORs.
+ */
+public class PermissionAuthorizationManager implements AuthorizationManager<MethodInvocation> {
+
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+
+    private final Map<MethodClassKey, Requirement> requirements = new ConcurrentHashMap<>();
+
+    @Override
+    public AuthorizationResult authorize(Supplier<Authentication> authentication, MethodInvocation invocation) {
+        return decision(authentication, invocation);
+    }
+
+    /**
+     * @deprecated use {@link #authorize(Supplier, MethodInvocation)}
+     */
+    @Override
+    @Deprecated
+    public AuthorizationDecision check(Supplier<Authentication> authentication, MethodInvocation invocation) {
+        return decision(authentication, invocation);
+    }
+
+    AuthorizationDecision decision(Supplier<Authentication> authentication, MethodInvocation invocation) {
+        Class<?> targetClass = invocation.getThis() != null
+            ? AopUtils.getTargetClass(invocation.getThis())
+            : invocation.getMethod().getDeclaringClass();
+        Requirement requirement = requirementFor(invocation.getMethod(), targetClass);
+        if (requirement == null) {
+            return null;
+        }
+        return requirement.isSatisfiedBy(PermissionMatrix.permissionsOf(authentication.get())) ? GRANTED : DENIED;
+    }
+
+    /**
+     * Number of methods whose requirement has been resolved
+     */
+    public int getCachedMethodCount() {
+        return requirements.size();
+    }
+
+    Requirement requirementFor(Method method, Class<?> targetClass) {
+        return requirements.computeIfAbsent(new MethodClassKey(method, targetClass),
+            key -> resolve(method, targetClass));
+    }
+
+    private static Requirement resolve(Method method, Class<?> targetClass) {
+        Method specificMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+        RequiresPermission annotation = AnnotatedElementUtils.findMergedAnnotation(specificMethod, RequiresPermission.class);
+        if (annotation == null) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(targetClass, RequiresPermission.class);
+        }
+        if (annotation == null) {
+            return null;
+        }
+        return new Requirement(AuthorityMask.of(annotation.value()), annotation.anyOf());
+    }
+
+    record Requirement(long mask, boolean anyOf) {
+
+        boolean isSatisfiedBy(long granted) {
+            return anyOf ? AuthorityMask.hasAny(granted, mask) : AuthorityMask.hasAll(granted, mask);
+        }
+    }
+}
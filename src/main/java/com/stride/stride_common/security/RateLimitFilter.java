@@ -0,0 +1,135 @@
+package com.stride.stride_common.security;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stride.stride_common.auth.UserPrincipal;
+import com.stride.stride_common.dto.ErrorResponse;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Enforces {@code stride.security.rate-limiting} with one RateLimiter bucket per principal,
+ * organization or client IP. Runs after bearer authentication so the principal is known;
+ * anonymous requests are limited by IP only with {@code limit-anonymous=true}, which needs
+ * {@code server.forward-headers-strategy} behind a proxy (see SecurityProperties.RateLimiting).
+ * Rejections get a 429 with {@code Retry-After} and an ErrorResponse body serialized once at startup.
+ */
+public class RateLimitFilter extends OncePerRequestFilter implements MeterBinder {
+
+    private final RateLimiter limiter;
+    private final SecurityProperties.RateLimiting.KeyStrategy keyStrategy;
+    private final boolean limitAnonymous;
+    private final SecurityContextHolderStrategy contextHolderStrategy = SecurityContextHolder.getContextHolderStrategy();
+    private final byte[] rejectionBody;
+
+    public RateLimitFilter(SecurityProperties.RateLimiting properties) {
+        this(new RateLimiter(properties.getRequestsPerMinute(), properties.getBurstCapacity(), properties.getMaxKeys()),
+            properties.getKeyBy(), properties.isLimitAnonymous());
+    }
+
+    RateLimitFilter(RateLimiter limiter, SecurityProperties.RateLimiting.KeyStrategy keyStrategy, boolean limitAnonymous) {
+        this.limiter = limiter;
+        this.keyStrategy = keyStrategy;
+        this.limitAnonymous = limitAnonymous;
+        this.rejectionBody = rejectionBody();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Authentication authentication = contextHolderStrategy.getContext().getAuthentication();
+        if (isExempt(keyStrategy, limitAnonymous, authentication)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long waitMicros = limiter.tryAcquire(keyHash(keyStrategy, authentication, request.getRemoteAddr()));
+        if (waitMicros == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds(waitMicros)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(rejectionBody.length);
+        response.getOutputStream().write(rejectionBody);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bindTo(limiter, registry);
+    }
+
+    static void bindTo(RateLimiter limiter, MeterRegistry registry) {
+        FunctionCounter.builder("stride.security.rate-limit.requests", limiter, RateLimiter::getAllowedCount)
+            .tag("result", "allowed")
+            .description("Requests admitted by the rate limiter")
+            .register(registry);
+        FunctionCounter.builder("stride.security.rate-limit.requests", limiter, RateLimiter::getRejectedCount)
+            .tag("result", "rejected")
+            .description("Requests rejected with 429")
+            .register(registry);
+        FunctionCounter.builder("stride.security.rate-limit.displaced", limiter, RateLimiter::getDisplacedCount)
+            .description("Busy buckets evicted because the table was full; raise max-keys if this grows")
+            .register(registry);
+    }
+
+    static long retryAfterSeconds(long waitMicros) {
+        return Math.max(1, (waitMicros + 999_999) / 1_000_000);
+    }
+
+    /**
+     * Whether the request bypasses the limiter: anonymous while only principals or organizations are limited
+     */
+    static boolean isExempt(SecurityProperties.RateLimiting.KeyStrategy keyStrategy, boolean limitAnonymous,
+                            Authentication authentication) {
+        return keyStrategy != SecurityProperties.RateLimiting.KeyStrategy.IP && !limitAnonymous
+            && !(authentication != null && authentication.getPrincipal() instanceof UserPrincipal);
+    }
+
+    /**
+     * Bucket of a request: its principal or organization when authenticated, otherwise its client IP
+     */
+    static long keyHash(SecurityProperties.RateLimiting.KeyStrategy keyStrategy, Authentication authentication,
+                        String remoteAddress) {
+        if (keyStrategy != SecurityProperties.RateLimiting.KeyStrategy.IP) {
+            if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+                if (keyStrategy == SecurityProperties.RateLimiting.KeyStrategy.ORGANIZATION
+                        && principal.organizationId() != null) {
+                    return RateLimiter.hash('o', principal.organizationId());
+                }
+                return RateLimiter.hash('u', principal.userId());
+            }
+        }
+        return RateLimiter.hash('i', remoteAddress);
+    }
+
+    static byte[] rejectionBody() {
+        // No timestamp: the body is shared by every rejection
+        ErrorResponse body = ErrorResponse.builder()
+            .error(HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase())
+            .errorCode("RATE_LIMITED")
+            .message("Too many requests, retry later")
+            .build();
+        try {
+            return new ObjectMapper().writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize rate limit response", e);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.stride.stride_common.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets for a fixed maximum number of keys, each packed into one {@code long}.
+ * A bucket is kept in its virtual-scheduling form (GCRA): instead of a token count and a
+ * refill time it stores the theoretical arrival time (TAT) of the next request, so a refill is
+ * implicit and an acquire is a single CAS. The upper 16 bits of the long hold a fingerprint
+ * of the key, so a CAS can never update a bucket that was just handed to another key.
+ * <p>
+ * Buckets live in an open-addressed table of 8-slot windows (one cache line each) chosen by
+ * the key hash. A bucket whose TAT has passed is full again and carries no information, so it
+ * is reclaimed in place by the next new key of its window: idle buckets cost nothing and need
+ * no sweeper. Only when a whole window is busy does a new key displace the bucket closest to full.
+ * Two keys with the same window and fingerprint share a bucket; at the default table size that
+ * is a one-in-several-thousand event per new key and only ever makes the limit stricter.
+ */
+public class RateLimiter {
+
+    private static final int WINDOW = 8;
+    private static final int TAT_BITS = 48;
+    private static final long TAT_MASK = (1L << TAT_BITS) - 1;
+
+    private final AtomicLongArray slots;
+    private final int windowMask;
+    private final long emissionIntervalMicros;
+    private final long burstMicros;
+    private final LongSupplier nanoClock;
+    private final long startNanos;
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder displaced = new LongAdder();
+
+    public RateLimiter(int requestsPerMinute, int burstCapacity, int maxKeys) {
+        this(requestsPerMinute, burstCapacity, maxKeys, System::nanoTime);
+    }
+
+    RateLimiter(int requestsPerMinute, int burstCapacity, int maxKeys, LongSupplier nanoClock) {
+        if (requestsPerMinute < 1) {
+            throw new IllegalArgumentException("Rate limit must allow at least one request per minute");
+        }
+        int slotCount = Math.max(WINDOW, Integer.highestOneBit(Math.max(1, Math.min(maxKeys, 1 << 30) - 1)) << 1);
+        this.slots = new AtomicLongArray(slotCount);
+        this.windowMask = slotCount / WINDOW - 1;
+        this.emissionIntervalMicros = Math.max(1, 60_000_000L / requestsPerMinute);
+        this.burstMicros = emissionIntervalMicros * Math.max(1, burstCapacity);
+        this.nanoClock = nanoClock;
+        this.startNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * Take one token from the key's bucket
+     *
+     * @param keyHash well-mixed 64-bit hash of the key
+     * @return 0 if the request may proceed, otherwise microseconds until it would be allowed
+     */
+    public long tryAcquire(long keyHash) {
+        long now = (nanoClock.getAsLong() - startNanos) / 1_000L;
+        long fingerprint = keyHash & ~TAT_MASK;
+        if (fingerprint == 0) {
+            fingerprint = 1L << TAT_BITS;
+        }
+        int base = (int) (keyHash & windowMask) * WINDOW;
+        while (true) {
+            int slot = -1;
+            long state = 0;
+            boolean owned = false;
+            int fullest = -1;
+            long fullestState = 0;
+            for (int i = base; i < base + WINDOW; i++) {
+                long candidate = slots.get(i);
+                if ((candidate & ~TAT_MASK) == fingerprint) {
+                    slot = i;
+                    state = candidate;
+                    owned = true;
+                    break;
+                }
+                if (slot < 0 && (candidate == 0 || (candidate & TAT_MASK) <= now)) {
+                    slot = i;
+                    state = candidate;
+                } else if (fullest < 0 || (candidate & TAT_MASK) < (fullestState & TAT_MASK)) {
+                    fullest = i;
+                    fullestState = candidate;
+                }
+            }
+            boolean displacing = slot < 0;
+            if (displacing) {
+                slot = fullest;
+                state = fullestState;
+            }
+
+            // A bucket that is not ours starts full; burstMicros >= one interval, so it always admits
+            long tat = owned ? Math.max(state & TAT_MASK, now) : now;
+            long next = tat + emissionIntervalMicros;
+            long excess = next - now - burstMicros;
+            if (excess > 0) {
+                rejected.increment();
+                return excess;
+            }
+            if (slots.compareAndSet(slot, state, fingerprint | next)) {
+                allowed.increment();
+                if (displacing) {
+                    displaced.increment();
+                }
+                return 0;
+            }
+        }
+    }
+
+    public long getAllowedCount() {
+        return allowed.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Busy buckets evicted because their whole window was in use; grows when maxKeys is too small
+     */
+    public long getDisplacedCount() {
+        return displaced.sum();
+    }
+
+    /**
+     * Number of buckets the table can hold
+     */
+    public int capacity() {
+        return slots.length();
+    }
+
+    /**
+     * 64-bit hash of a key in a namespace (principal, organization, IP): FNV-1a over the chars,
+     * finished with the MurmurHash3 mixer so window index and fingerprint bits are independent
+     */
+    public static long hash(char namespace, CharSequence key) {
+        long hash = 0xcbf29ce484222325L;
+        hash ^= namespace;
+        hash *= 0x100000001b3L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
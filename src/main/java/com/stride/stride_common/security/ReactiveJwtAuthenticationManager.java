@@ -0,0 +1,48 @@
+package com.stride.stride_common.security;
+
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.core.Authentication;
+
+import com.stride.stride_common.auth.JwtAuthenticationToken;
+import com.stride.stride_common.auth.JwtTokenProvider;
+import com.stride.stride_common.auth.VerifiedToken;
+import com.stride.stride_common.exceptions.AuthenticationException;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of JwtAuthenticationFilter: turns the unauthenticated JwtAuthenticationToken
+ * carrying a bearer token into an authenticated one. Verification through
+ * JwtTokenProvider.introspect is an in-memory HMAC check (or a cache hit) with no I/O, so it runs
+ * inline on the calling event-loop thread rather than being moved to a blocking scheduler.
+ */
+public class ReactiveJwtAuthenticationManager implements ReactiveAuthenticationManager {
+
+    private final JwtTokenProvider tokenProvider;
+
+    public ReactiveJwtAuthenticationManager(JwtTokenProvider tokenProvider) {
+        this.tokenProvider = tokenProvider;
+    }
+
+    @Override
+    public Mono<Authentication> authenticate(Authentication authentication) {
+        if (!(authentication instanceof JwtAuthenticationToken) || !(authentication.getCredentials() instanceof String token)) {
+            return Mono.empty();
+        }
+        return Mono.fromCallable(() -> authenticate(token));
+    }
+
+    private Authentication authenticate(String token) {
+        VerifiedToken verified;
+        try {
+            verified = tokenProvider.introspect(token);
+        } catch (AuthenticationException e) {
+            throw new BadCredentialsException(e.getMessage(), e);
+        }
+        if (!verified.isAccessToken()) {
+            throw new BadCredentialsException("Not an access token");
+        }
+        return JwtAuthenticationToken.of(token, verified);
+    }
+}
@@ -0,0 +1,46 @@
+package com.stride.stride_common.security;
+
+import java.util.Optional;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.authorization.ReactiveAuthorizationManager;
+import org.springframework.security.core.Authentication;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Decides {@link RequiresPermission} methods of reactive applications with the same cached
+ * requirements as PermissionAuthorizationManager, against the authentication of the
+ * ReactiveSecurityContextHolder
+ */
+public class ReactivePermissionAuthorizationManager implements ReactiveAuthorizationManager<MethodInvocation> {
+
+    private final PermissionAuthorizationManager delegate;
+
+    public ReactivePermissionAuthorizationManager(PermissionAuthorizationManager delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Mono<AuthorizationResult> authorize(Mono<Authentication> authentication, MethodInvocation invocation) {
+        return decision(authentication, invocation).cast(AuthorizationResult.class);
+    }
+
+    /**
+     * @deprecated use {@link #authorize(Mono, MethodInvocation)}
+     */
+    @Override
+    @Deprecated
+    public Mono<AuthorizationDecision> check(Mono<Authentication> authentication, MethodInvocation invocation) {
+        return decision(authentication, invocation);
+    }
+
+    private Mono<AuthorizationDecision> decision(Mono<Authentication> authentication, MethodInvocation invocation) {
+        return authentication
+            .map(Optional::of)
+            .defaultIfEmpty(Optional.empty())
+            .mapNotNull(current -> delegate.decision(() -> current.orElse(null), invocation));
+    }
+}
@@ -0,0 +1,91 @@
+package com.stride.stride_common.security;
+
+import java.net.InetSocketAddress;
+import java.util.Optional;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of RateLimitFilter over the same lock-free RateLimiter, so acquiring a
+ * permit never blocks the event loop. Buckets, the 429 response and the metrics are the servlet
+ * filter's; the principal is read from the reactive security context.
+ */
+public class ReactiveRateLimitFilter implements WebFilter, MeterBinder {
+
+    private static final String UNKNOWN_ADDRESS = "unknown";
+
+    private final RateLimiter limiter;
+    private final SecurityProperties.RateLimiting.KeyStrategy keyStrategy;
+    private final boolean limitAnonymous;
+    private final byte[] rejectionBody;
+
+    public ReactiveRateLimitFilter(SecurityProperties.RateLimiting properties) {
+        this(new RateLimiter(properties.getRequestsPerMinute(), properties.getBurstCapacity(), properties.getMaxKeys()),
+            properties.getKeyBy(), properties.isLimitAnonymous());
+    }
+
+    ReactiveRateLimitFilter(RateLimiter limiter, SecurityProperties.RateLimiting.KeyStrategy keyStrategy,
+                            boolean limitAnonymous) {
+        this.limiter = limiter;
+        this.keyStrategy = keyStrategy;
+        this.limitAnonymous = limitAnonymous;
+        this.rejectionBody = RateLimitFilter.rejectionBody();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (keyStrategy == SecurityProperties.RateLimiting.KeyStrategy.IP) {
+            return filter(exchange, chain, keyHash(exchange, null));
+        }
+        return ReactiveSecurityContextHolder.getContext()
+            .mapNotNull(SecurityContext::getAuthentication)
+            .map(Optional::of)
+            .defaultIfEmpty(Optional.empty())
+            .flatMap(authentication -> RateLimitFilter.isExempt(keyStrategy, limitAnonymous, authentication.orElse(null))
+                ? chain.filter(exchange)
+                : filter(exchange, chain, keyHash(exchange, authentication.orElse(null))));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        RateLimitFilter.bindTo(limiter, registry);
+    }
+
+    private Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain, long keyHash) {
+        long waitMicros = limiter.tryAcquire(keyHash);
+        if (waitMicros == 0) {
+            return chain.filter(exchange);
+        }
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(RateLimitFilter.retryAfterSeconds(waitMicros)));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().setContentLength(rejectionBody.length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(rejectionBody)));
+    }
+
+    private long keyHash(ServerWebExchange exchange, Authentication authentication) {
+        return RateLimitFilter.keyHash(keyStrategy, authentication, remoteAddress(exchange));
+    }
+
+    private static String remoteAddress(ServerWebExchange exchange) {
+        InetSocketAddress address = exchange.getRequest().getRemoteAddress();
+        if (address == null) {
+            return UNKNOWN_ADDRESS;
+        }
+        return address.getAddress() != null ? address.getAddress().getHostAddress() : address.getHostString();
+    }
+}
@@ -0,0 +1,133 @@
+package com.stride.stride_common.security;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.method.configuration.EnableReactiveMethodSecurity;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.AuthenticationWebFilter;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.authentication.ServerAuthenticationConverter;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.security.web.server.header.ReferrerPolicyServerHttpHeadersWriter;
+import org.springframework.security.web.server.header.XFrameOptionsServerHttpHeadersWriter;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher;
+import org.springframework.web.cors.reactive.CorsConfigurationSource;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.stride.stride_common.auth.JwtAuthenticationToken;
+import com.stride.stride_common.auth.JwtTokenProvider;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+/**
+ * Security configuration for WebFlux services, the reactive counterpart of SecurityConfig.
+ * Active instead of it in reactive web applications: the same public/internal URL trie, bearer
+ * authentication through JwtTokenProvider, rate limiting buckets and CORS rules, with no blocking
+ * call on the event loop. Request context binding and tenant isolation are thread-bound and stay
+ * servlet-only.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableWebFluxSecurity
+@EnableReactiveMethodSecurity
+public class ReactiveSecurityConfig {
+
+    @Bean
+    public PathAccessMatcher pathAccessMatcher(SecurityProperties securityProperties) {
+        return PathAccessMatcher.of(securityProperties);
+    }
+
+    @Bean
+    public ReactiveJwtAuthenticationManager reactiveJwtAuthenticationManager(JwtTokenProvider jwtTokenProvider) {
+        return new ReactiveJwtAuthenticationManager(jwtTokenProvider);
+    }
+
+    @Bean
+    public CorsConfigurationSource reactiveCorsConfigurationSource(CorsConfig corsConfig) {
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", corsConfig.corsConfiguration());
+        return source;
+    }
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, SecurityProperties securityProperties,
+                                                         PathAccessMatcher pathAccessMatcher,
+                                                         ReactiveAuthenticationManager reactiveJwtAuthenticationManager,
+                                                         CorsConfigurationSource reactiveCorsConfigurationSource,
+                                                         ObjectProvider<MeterRegistry> meterRegistry) {
+        AuthenticationWebFilter bearerAuthentication = new AuthenticationWebFilter(reactiveJwtAuthenticationManager);
+        bearerAuthentication.setServerAuthenticationConverter(bearerTokenConverter(pathAccessMatcher));
+        bearerAuthentication.setSecurityContextRepository(NoOpServerSecurityContextRepository.getInstance());
+        // As in the servlet filter, an unusable token leaves the request unauthenticated for the authorization rules
+        bearerAuthentication.setAuthenticationFailureHandler(
+            (webFilterExchange, exception) -> webFilterExchange.getChain().filter(webFilterExchange.getExchange()));
+        http.addFilterAt(bearerAuthentication, SecurityWebFiltersOrder.AUTHENTICATION);
+
+        // Not a bean: every WebFilter bean would also run outside the security chain, ahead of authentication
+        if (securityProperties.getRateLimiting().isEnabled()) {
+            ReactiveRateLimitFilter rateLimitFilter = new ReactiveRateLimitFilter(securityProperties.getRateLimiting());
+            meterRegistry.ifAvailable(rateLimitFilter::bindTo);
+            http.addFilterBefore(rateLimitFilter, SecurityWebFiltersOrder.ANONYMOUS_AUTHENTICATION);
+        }
+
+        return http
+            .csrf(ServerHttpSecurity.CsrfSpec::disable)
+            .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+            .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+            .logout(ServerHttpSecurity.LogoutSpec::disable)
+            .cors(cors -> cors.configurationSource(reactiveCorsConfigurationSource))
+            .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+            .exceptionHandling(exceptions -> exceptions
+                .authenticationEntryPoint(new HttpStatusServerEntryPoint(HttpStatus.UNAUTHORIZED)))
+            .authorizeExchange(exchanges -> exchanges
+                .matchers(notAuthenticated(pathAccessMatcher)).permitAll()
+                .anyExchange().authenticated())
+            .headers(headers -> headers
+                .frameOptions(frameOptions -> frameOptions.mode(XFrameOptionsServerHttpHeadersWriter.Mode.DENY))
+                .contentTypeOptions(Customizer.withDefaults())
+                .hsts(hsts -> hsts
+                    .maxAge(Duration.ofDays(365))
+                    .includeSubdomains(true)
+                    .preload(true))
+                .referrerPolicy(referrerPolicy -> referrerPolicy
+                    .policy(ReferrerPolicyServerHttpHeadersWriter.ReferrerPolicy.STRICT_ORIGIN_WHEN_CROSS_ORIGIN)))
+            .build();
+    }
+
+    /**
+     * Bearer token of requests to non-public paths, as an unauthenticated JwtAuthenticationToken
+     */
+    static ServerAuthenticationConverter bearerTokenConverter(PathAccessMatcher pathAccessMatcher) {
+        return exchange -> {
+            if (access(pathAccessMatcher, exchange) == PathAccessMatcher.Access.PUBLIC) {
+                return Mono.empty();
+            }
+            String token = JwtAuthenticationFilter.bearerToken(
+                exchange.getRequest().getHeaders().getFirst(SecurityConstants.JWT_TOKEN_HEADER));
+            return token != null ? Mono.<Authentication>just(new JwtAuthenticationToken(token)) : Mono.empty();
+        };
+    }
+
+    private static ServerWebExchangeMatcher notAuthenticated(PathAccessMatcher pathAccessMatcher) {
+        return exchange -> access(pathAccessMatcher, exchange) != PathAccessMatcher.Access.AUTHENTICATED
+            ? ServerWebExchangeMatcher.MatchResult.match()
+            : ServerWebExchangeMatcher.MatchResult.notMatch();
+    }
+
+    private static PathAccessMatcher.Access access(PathAccessMatcher pathAccessMatcher, ServerWebExchange exchange) {
+        return pathAccessMatcher.decide(exchange.getRequest().getPath().pathWithinApplication().value());
+    }
+}
@@ -0,0 +1,33 @@
+package com.stride.stride_common.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import com.stride.stride_common.auth.StrideAuthority;
+
+/**
+ * Method security without SpEL: the caller must hold the listed roles/permissions
+ * (permissions implied by roles count). Can be placed on methods, on classes, or on
+ * service-defined meta-annotations such as {@code @CanManageTeams}.
+ * <pre>
+ * &#64;RequiresPermission(MANAGE_TEAMS)
+ * public TeamDto updateTeam(...)
+ * </pre>
+ */
+@Target({ElementType.METHOD, ElementType.TYPE, ElementType.ANNOTATION_TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+@Documented
+public @interface RequiresPermission {
+
+    StrideAuthority[] value();
+
+    /**
+     * Grant access when any one of the authorities is held instead of requiring all of them
+     */
+    boolean anyOf() default false;
+}
@@ -1,5 +1,9 @@
 package com.stride.stride_common.security;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -8,14 +12,21 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.AnonymousAuthenticationFilter;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.web.header.writers.ReferrerPolicyHeaderWriter;
 import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.filter.CorsFilter;
+
+import com.stride.stride_common.auth.JwtTokenProvider;
 
 /**
  * Base security configuration for all Stride microservices
  * Each service can extend this configuration for service-specific needs
+ * Servlet applications only; WebFlux services get ReactiveSecurityConfig
  */
 @Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @EnableWebSecurity
 @EnableMethodSecurity(prePostEnabled = true)
 public class SecurityConfig {
@@ -26,29 +37,112 @@ public class SecurityConfig {
         this.corsConfigurationSource = corsConfigurationSource;
     }
     
+    /**
+     * Public and internal URL patterns compiled into one trie, shared by the JWT filter and the authorization rules
+     */
+    @Bean
+    public PathAccessMatcher pathAccessMatcher(SecurityProperties securityProperties) {
+        return PathAccessMatcher.of(securityProperties);
+    }
+    
+    @Bean
+    public JwtAuthenticationFilter jwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider,
+                                                           PathAccessMatcher pathAccessMatcher) {
+        return new JwtAuthenticationFilter(jwtTokenProvider, pathAccessMatcher);
+    }
+    
+    /**
+     * The JWT, request context, tenant isolation and rate-limit filters run inside the security filter chain only,
+     * not as plain servlet filters
+     */
+    @Bean
+    public FilterRegistrationBean<JwtAuthenticationFilter> jwtAuthenticationFilterRegistration(
+            JwtAuthenticationFilter jwtAuthenticationFilter) {
+        FilterRegistrationBean<JwtAuthenticationFilter> registration = new FilterRegistrationBean<>(jwtAuthenticationFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+    
+    @Bean
+    public StrideRequestContextFilter strideRequestContextFilter() {
+        return new StrideRequestContextFilter();
+    }
+    
+    @Bean
+    public FilterRegistrationBean<StrideRequestContextFilter> strideRequestContextFilterRegistration(
+            StrideRequestContextFilter strideRequestContextFilter) {
+        FilterRegistrationBean<StrideRequestContextFilter> registration = new FilterRegistrationBean<>(strideRequestContextFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+    
+    @Bean
+    @ConditionalOnProperty(prefix = "stride.security.tenant-isolation", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public TenantIsolationFilter tenantIsolationFilter(SecurityProperties securityProperties) {
+        return new TenantIsolationFilter(securityProperties.getTenantIsolation());
+    }
+    
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    @ConditionalOnProperty(prefix = "stride.security.tenant-isolation", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<TenantIsolationFilter> tenantIsolationFilterRegistration(
+            TenantIsolationFilter tenantIsolationFilter) {
+        FilterRegistrationBean<TenantIsolationFilter> registration = new FilterRegistrationBean<>(tenantIsolationFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+    
+    @Bean
+    @ConditionalOnProperty(prefix = "stride.security.rate-limiting", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public RateLimitFilter rateLimitFilter(SecurityProperties securityProperties) {
+        return new RateLimitFilter(securityProperties.getRateLimiting());
+    }
+    
+    @Bean
+    @ConditionalOnProperty(prefix = "stride.security.rate-limiting", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter rateLimitFilter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(rateLimitFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+    
+    @Bean
+    public SecurityFilterChain filterChain(HttpSecurity http, JwtAuthenticationFilter jwtAuthenticationFilter,
+                                           StrideRequestContextFilter strideRequestContextFilter,
+                                           PathAccessMatcher pathAccessMatcher, StrideCorsProcessor corsProcessor,
+                                           ObjectProvider<RateLimitFilter> rateLimitFilter,
+                                           ObjectProvider<TenantIsolationFilter> tenantIsolationFilter) throws Exception {
+        CorsFilter corsFilter = new CorsFilter(corsConfigurationSource);
+        corsFilter.setCorsProcessor(corsProcessor);
+        
+        // After bearer authentication (so buckets can be kept per principal or organization), before anonymous fallback
+        rateLimitFilter.ifAvailable(filter -> http.addFilterBefore(filter, AnonymousAuthenticationFilter.class));
+        
+        // Organization header and path checked against the token claim, after the request context is bound
+        tenantIsolationFilter.ifAvailable(filter -> http.addFilterBefore(filter, AnonymousAuthenticationFilter.class));
+        
         return http
             // Disable CSRF for stateless API
             .csrf(AbstractHttpConfigurer::disable)
             
-            // CORS configuration
-            .cors(cors -> cors.configurationSource(corsConfigurationSource))
+            // CORS configuration - the built-in configurer cannot take a custom processor,
+            // so the filter is added directly at the CorsFilter position
+            .cors(AbstractHttpConfigurer::disable)
+            .addFilter(corsFilter)
             
             // Session management - stateless for JWT
             .sessionManagement(session -> session
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             
-            // Authorization rules
+            // Bearer token authentication
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+            
+            // Request context (organization, user, correlation id) bound for everything after authentication
+            .addFilterAfter(strideRequestContextFilter, JwtAuthenticationFilter.class)
+            
+            // Authorization rules: public endpoints and internal service-to-service communication
+            // are permitted, all other requests require authentication - decided in one trie walk
             .authorizeHttpRequests(auth -> auth
-                // Public endpoints
-                .requestMatchers(SecurityConstants.PUBLIC_URLS).permitAll()
-                
-                // Internal service-to-service communication
-                .requestMatchers(SecurityConstants.INTERNAL_URLS).permitAll()
-                
-                // All other requests require authentication
-                .anyRequest().authenticated()
+                .anyRequest().access(pathAccessMatcher)
             )
             
             // Security headers (Spring Security 6.1+ syntax)
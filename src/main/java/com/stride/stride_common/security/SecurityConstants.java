@@ -1,5 +1,8 @@
 package com.stride.stride_common.security;
 
+import java.util.List;
+import java.util.Map;
+
 /**
  * Common security constants used across all Stride services
  */
@@ -11,6 +14,7 @@ public final class SecurityConstants {
     public static final String JWT_USER_ID_CLAIM = "userId";
     public static final String JWT_ORGANIZATION_ID_CLAIM = "organizationId";
     public static final String JWT_ROLES_CLAIM = "roles";
+    public static final String JWT_ROLE_MASK_CLAIM = "rm";
     public static final String JWT_TEAMS_CLAIM = "teams";
     
     // Roles
@@ -27,6 +31,20 @@ public final class SecurityConstants {
     public static final String PERMISSION_ASSIGN_TASKS = "ASSIGN_TASKS";
     public static final String PERMISSION_VIEW_ALL_TASKS = "VIEW_ALL_TASKS";
     
+    // Permissions granted by each role
+    public static final Map<String, List<String>> ROLE_PERMISSIONS = Map.of(
+        ROLE_SUPER_ADMIN, List.of(
+            PERMISSION_CREATE_ORGANIZATION, PERMISSION_MANAGE_USERS, PERMISSION_MANAGE_TEAMS,
+            PERMISSION_CREATE_TASKS, PERMISSION_ASSIGN_TASKS, PERMISSION_VIEW_ALL_TASKS),
+        ROLE_ORG_ADMIN, List.of(
+            PERMISSION_MANAGE_USERS, PERMISSION_MANAGE_TEAMS,
+            PERMISSION_CREATE_TASKS, PERMISSION_ASSIGN_TASKS, PERMISSION_VIEW_ALL_TASKS),
+        ROLE_TEAM_ADMIN, List.of(
+            PERMISSION_MANAGE_TEAMS, PERMISSION_CREATE_TASKS, PERMISSION_ASSIGN_TASKS),
+        ROLE_TEAM_MEMBER, List.of(
+            PERMISSION_CREATE_TASKS)
+    );
+    
     // API Paths
     public static final String[] PUBLIC_URLS = {
         "/api/auth/login",
@@ -67,6 +85,7 @@ public final class SecurityConstants {
     // Security Headers
     public static final String ORGANIZATION_HEADER = "X-Organization-Id";
     public static final String USER_CONTEXT_HEADER = "X-User-Context";
+    public static final String CORRELATION_ID_HEADER = "X-Correlation-Id";
     
     private SecurityConstants() {
         // Utility class
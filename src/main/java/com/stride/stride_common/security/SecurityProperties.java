@@ -1,6 +1,7 @@
 package com.stride.stride_common.security;
 
 
+import java.time.Duration;
 import java.util.List;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -17,6 +18,8 @@ public class SecurityProperties {
     private boolean enableCsrfProtection = false;
     private List<String> additionalPublicUrls = List.of();
     private RateLimiting rateLimiting = new RateLimiting();
+    private PasswordHashing passwordHashing = new PasswordHashing();
+    private TenantIsolation tenantIsolation = new TenantIsolation();
     
     // Getters and Setters
     public boolean isEnableMethodSecurity() {
@@ -51,6 +54,22 @@ public class SecurityProperties {
         this.rateLimiting = rateLimiting;
     }
     
+    public PasswordHashing getPasswordHashing() {
+        return passwordHashing;
+    }
+    
+    public void setPasswordHashing(PasswordHashing passwordHashing) {
+        this.passwordHashing = passwordHashing;
+    }
+    
+    public TenantIsolation getTenantIsolation() {
+        return tenantIsolation;
+    }
+    
+    public void setTenantIsolation(TenantIsolation tenantIsolation) {
+        this.tenantIsolation = tenantIsolation;
+    }
+    
     /**
      * Rate limiting configuration
      */
@@ -58,6 +77,20 @@ public class SecurityProperties {
         private boolean enabled = true;
         private int requestsPerMinute = 100;
         private int burstCapacity = 200;
+        private KeyStrategy keyBy = KeyStrategy.PRINCIPAL;
+        private boolean limitAnonymous = false;
+        private int maxKeys = 1 << 20;
+        
+        /**
+         * What a bucket is kept for. IP keys use the request's remote address, which is the client only
+         * when {@code server.forward-headers-strategy} is {@code native} or {@code framework} behind a
+         * proxy or load balancer; otherwise every request shares the proxy's bucket.
+         */
+        public enum KeyStrategy {
+            PRINCIPAL,
+            ORGANIZATION,
+            IP
+        }
         
         public boolean isEnabled() {
             return enabled;
@@ -82,5 +115,131 @@ public class SecurityProperties {
         public void setBurstCapacity(int burstCapacity) {
             this.burstCapacity = burstCapacity;
         }
+        
+        public KeyStrategy getKeyBy() {
+            return keyBy;
+        }
+        
+        public void setKeyBy(KeyStrategy keyBy) {
+            this.keyBy = keyBy;
+        }
+        
+        /**
+         * Also limit unauthenticated requests, by client IP, when keying by principal or organization.
+         * Off by default: enable it only once {@code server.forward-headers-strategy} resolves the real
+         * client IP, or all anonymous traffic behind a load balancer lands in one bucket.
+         */
+        public boolean isLimitAnonymous() {
+            return limitAnonymous;
+        }
+        
+        public void setLimitAnonymous(boolean limitAnonymous) {
+            this.limitAnonymous = limitAnonymous;
+        }
+        
+        /**
+         * Number of buckets tracked at once; memory is fixed at 8 bytes per bucket
+         */
+        public int getMaxKeys() {
+            return maxKeys;
+        }
+        
+        public void setMaxKeys(int maxKeys) {
+            this.maxKeys = maxKeys;
+        }
+    }
+    
+    /**
+     * Password hashing configuration
+     */
+    public static class PasswordHashing {
+        private boolean calibrate = false;
+        private Duration targetHashTime = Duration.ofMillis(100);
+        private boolean rehashCostlier = false;
+        private List<PasswordHashAlgorithm> algorithms = List.of(
+            PasswordHashAlgorithm.BCRYPT, PasswordHashAlgorithm.ARGON2, PasswordHashAlgorithm.PBKDF2);
+        
+        /**
+         * Benchmark the algorithms at startup, never going below each algorithm's floor; when false
+         * (the default) the first available one is used at its default strength
+         */
+        public boolean isCalibrate() {
+            return calibrate;
+        }
+        
+        public void setCalibrate(boolean calibrate) {
+            this.calibrate = calibrate;
+        }
+        
+        /**
+         * CPU time one hash should take on this node; lower means more logins per core and less margin against cracking
+         */
+        public Duration getTargetHashTime() {
+            return targetHashTime;
+        }
+        
+        public void setTargetHashTime(Duration targetHashTime) {
+            this.targetHashTime = targetHashTime;
+        }
+        
+        /**
+         * Also rehash stored hashes more than twice as expensive as the current setting, lowering their cost;
+         * off by default so a login never replaces a stronger hash with a weaker one
+         */
+        public boolean isRehashCostlier() {
+            return rehashCostlier;
+        }
+        
+        public void setRehashCostlier(boolean rehashCostlier) {
+            this.rehashCostlier = rehashCostlier;
+        }
+        
+        /**
+         * Candidate algorithms in order of preference; unavailable ones are skipped. Bcrypt comes first so
+         * adding BouncyCastle to the classpath does not switch existing services to Argon2
+         */
+        public List<PasswordHashAlgorithm> getAlgorithms() {
+            return algorithms;
+        }
+        
+        public void setAlgorithms(List<PasswordHashAlgorithm> algorithms) {
+            this.algorithms = algorithms;
+        }
+    }
+    
+    /**
+     * Tenant isolation configuration
+     */
+    public static class TenantIsolation {
+        private boolean enabled = true;
+        private List<String> pathPatterns = List.of("/api/organizations/{orgId}/**");
+        private String pathVariable = "orgId";
+        
+        public boolean isEnabled() {
+            return enabled;
+        }
+        
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+        
+        /**
+         * Path patterns whose organization variable must equal the token's organization
+         */
+        public List<String> getPathPatterns() {
+            return pathPatterns;
+        }
+        
+        public void setPathPatterns(List<String> pathPatterns) {
+            this.pathPatterns = pathPatterns;
+        }
+        
+        public String getPathVariable() {
+            return pathVariable;
+        }
+        
+        public void setPathVariable(String pathVariable) {
+            this.pathVariable = pathVariable;
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,233 @@
+package com.stride.stride_common.security;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.CorsProcessor;
+import org.springframework.web.cors.CorsUtils;
+import org.springframework.web.cors.DefaultCorsProcessor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * CorsProcessor with the same decisions as Spring's DefaultCorsProcessor, but cheaper per request.
+ * Each CorsConfiguration is compiled once: origins without wildcards go into a hash set and only
+ * real patterns (such as {@code https://*.stride.com}) are left to pattern matching. Preflight
+ * answers are cached fully rendered per origin, requested method and requested headers, so a
+ * repeated SPA preflight costs one map lookup. Private network access is rare and handled by the
+ * default processor.
+ */
+public class StrideCorsProcessor implements CorsProcessor {
+
+    private static final int MAX_COMPILED_CONFIGURATIONS = 16;
+    private static final byte[] REJECTION_BODY = "Invalid CORS request".getBytes(StandardCharsets.UTF_8);
+    private static final String[] VARY_HEADERS = {
+        HttpHeaders.ORIGIN, HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS
+    };
+
+    private final CorsProcessor fallback = new DefaultCorsProcessor();
+    private final Map<CorsConfiguration, CompiledConfiguration> compiled = new ConcurrentHashMap<>();
+    private final int preflightCacheSize;
+
+    public StrideCorsProcessor(int preflightCacheSize) {
+        if (preflightCacheSize < 1) {
+            throw new IllegalArgumentException("Preflight cache size must be positive");
+        }
+        this.preflightCacheSize = preflightCacheSize;
+    }
+
+    @Override
+    public boolean processRequest(CorsConfiguration config, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        CompiledConfiguration compiledConfig = config == null ? null : compile(config);
+        if (compiledConfig == null) {
+            return fallback.processRequest(config, request, response);
+        }
+        addVaryHeaders(response);
+        boolean corsRequest;
+        try {
+            corsRequest = CorsUtils.isCorsRequest(request);
+        } catch (IllegalArgumentException malformedOrigin) {
+            return reject(response);
+        }
+        if (!corsRequest || response.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN) != null) {
+            return true;
+        }
+        if (CorsUtils.isPreFlightRequest(request)) {
+            Preflight preflight = compiledConfig.preflight(request);
+            if (!preflight.allowed()) {
+                return reject(response);
+            }
+            preflight.writeTo(response);
+            return true;
+        }
+        String allowOrigin = compiledConfig.checkOrigin(request.getHeader(HttpHeaders.ORIGIN));
+        if (allowOrigin == null || config.checkHttpMethod(HttpMethod.valueOf(request.getMethod())) == null) {
+            return reject(response);
+        }
+        response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, allowOrigin);
+        compiledConfig.writeCommonHeaders(response);
+        return true;
+    }
+
+    private CompiledConfiguration compile(CorsConfiguration config) {
+        CompiledConfiguration existing = compiled.get(config);
+        if (existing != null) {
+            return existing;
+        }
+        // A source that builds a fresh configuration per request gains nothing from compiling
+        if (Boolean.TRUE.equals(config.getAllowPrivateNetwork()) || compiled.size() >= MAX_COMPILED_CONFIGURATIONS) {
+            return null;
+        }
+        return compiled.computeIfAbsent(config, CompiledConfiguration::new);
+    }
+
+    private static void addVaryHeaders(HttpServletResponse response) {
+        var vary = response.getHeaders(HttpHeaders.VARY);
+        for (String header : VARY_HEADERS) {
+            if (!vary.contains(header)) {
+                response.addHeader(HttpHeaders.VARY, header);
+            }
+        }
+    }
+
+    private static boolean reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.FORBIDDEN.value());
+        response.getOutputStream().write(REJECTION_BODY);
+        response.flushBuffer();
+        return false;
+    }
+
+    private static String trimTrailingSlash(String origin) {
+        return origin.endsWith("/") ? origin.substring(0, origin.length() - 1) : origin;
+    }
+
+    private final class CompiledConfiguration {
+
+        private final CorsConfiguration config;
+        private final boolean delegateOriginCheck;
+        private final Set<String> exactOrigins = new HashSet<>();
+        private final Set<String> exactOriginsIgnoreCase = new HashSet<>();
+        private final CorsConfiguration originPatterns;
+        private final String exposedHeaders;
+        private final boolean allowCredentials;
+        private final String maxAge;
+        private final Map<String, Preflight> preflights = new ConcurrentHashMap<>();
+
+        CompiledConfiguration(CorsConfiguration config) {
+            this.config = config;
+            List<String> allowedOrigins = config.getAllowedOrigins() == null ? List.of() : config.getAllowedOrigins();
+            // "*" has credential checks and a literal "*" answer - keep Spring's handling for it
+            this.delegateOriginCheck = allowedOrigins.contains(CorsConfiguration.ALL);
+            allowedOrigins.forEach(origin -> exactOriginsIgnoreCase.add(origin.toLowerCase(Locale.ROOT)));
+            CorsConfiguration patterns = new CorsConfiguration();
+            if (config.getAllowedOriginPatterns() != null) {
+                for (String pattern : config.getAllowedOriginPatterns()) {
+                    if (pattern.indexOf('*') < 0 && pattern.indexOf('[') < 0) {
+                        exactOrigins.add(trimTrailingSlash(pattern));
+                    } else {
+                        patterns.addAllowedOriginPattern(pattern);
+                    }
+                }
+            }
+            this.originPatterns = CollectionUtils.isEmpty(patterns.getAllowedOriginPatterns()) ? null : patterns;
+            this.exposedHeaders = CollectionUtils.isEmpty(config.getExposedHeaders())
+                ? null : String.join(", ", config.getExposedHeaders());
+            this.allowCredentials = Boolean.TRUE.equals(config.getAllowCredentials());
+            this.maxAge = config.getMaxAge() == null ? null : config.getMaxAge().toString();
+        }
+
+        /**
+         * Value for {@code Access-Control-Allow-Origin}, or null if the origin is not allowed
+         */
+        String checkOrigin(String origin) {
+            if (!StringUtils.hasText(origin)) {
+                return null;
+            }
+            if (delegateOriginCheck) {
+                return config.checkOrigin(origin);
+            }
+            String trimmed = trimTrailingSlash(origin);
+            if (exactOrigins.contains(trimmed) || exactOriginsIgnoreCase.contains(trimmed.toLowerCase(Locale.ROOT))) {
+                return origin;
+            }
+            return originPatterns == null ? null : originPatterns.checkOrigin(origin);
+        }
+
+        Preflight preflight(HttpServletRequest request) {
+            String origin = request.getHeader(HttpHeaders.ORIGIN);
+            String method = request.getHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD);
+            List<String> requestHeaders = Collections.list(request.getHeaders(HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS));
+            String key = origin + '\n' + method + '\n' + String.join(",", requestHeaders);
+            Preflight preflight = preflights.get(key);
+            if (preflight == null) {
+                preflight = render(origin, method, requestHeaders);
+                if (preflights.size() >= preflightCacheSize) {
+                    // Clearing keeps the cache bounded even when flooded with distinct header lists
+                    preflights.clear();
+                }
+                preflights.put(key, preflight);
+            }
+            return preflight;
+        }
+
+        void writeCommonHeaders(HttpServletResponse response) {
+            if (exposedHeaders != null) {
+                response.setHeader(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS, exposedHeaders);
+            }
+            if (allowCredentials) {
+                response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_CREDENTIALS, "true");
+            }
+        }
+
+        private Preflight render(String origin, String method, List<String> requestHeaderValues) {
+            String allowOrigin = checkOrigin(origin);
+            List<HttpMethod> allowMethods = method == null ? null : config.checkHttpMethod(HttpMethod.valueOf(method));
+            List<String> requestHeaders = new ArrayList<>();
+            for (String value : requestHeaderValues) {
+                requestHeaders.addAll(List.of(StringUtils.tokenizeToStringArray(value, ",")));
+            }
+            List<String> allowHeaders = config.checkHeaders(requestHeaders);
+            if (allowOrigin == null || allowMethods == null || allowHeaders == null) {
+                return Preflight.REJECTED;
+            }
+            return new Preflight(true, allowOrigin,
+                String.join(", ", allowMethods.stream().map(HttpMethod::name).toList()),
+                allowHeaders.isEmpty() ? null : String.join(", ", allowHeaders),
+                this);
+        }
+    }
+
+    private record Preflight(boolean allowed, String allowOrigin, String allowMethods, String allowHeaders,
+                             CompiledConfiguration compiled) {
+
+        static final Preflight REJECTED = new Preflight(false, null, null, null, null);
+
+        void writeTo(HttpServletResponse response) {
+            response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, allowOrigin);
+            response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_METHODS, allowMethods);
+            if (allowHeaders != null) {
+                response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_HEADERS, allowHeaders);
+            }
+            compiled.writeCommonHeaders(response);
+            if (compiled.maxAge != null) {
+                response.setHeader(HttpHeaders.ACCESS_CONTROL_MAX_AGE, compiled.maxAge);
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.stride.stride_common.security;
+
+import java.io.Serializable;
+
+import org.springframework.security.access.PermissionEvaluator;
+import org.springframework.security.core.Authentication;
+
+import com.stride.stride_common.auth.AuthorityMask;
+import com.stride.stride_common.auth.PermissionMatrix;
+import com.stride.stride_common.auth.StrideAuthority;
+
+/**
+ * Answers {@code hasPermission(...)} expressions from the precompiled authority mask.
+ * Permissions are organization-wide, so the target object, id and type are not consulted.
+ */
+public class StridePermissionEvaluator implements PermissionEvaluator {
+
+    @Override
+    public boolean hasPermission(Authentication authentication, Object targetDomainObject, Object permission) {
+        return check(authentication, permission);
+    }
+
+    @Override
+    public boolean hasPermission(Authentication authentication, Serializable targetId, String targetType, Object permission) {
+        return check(authentication, permission);
+    }
+
+    private static boolean check(Authentication authentication, Object permission) {
+        StrideAuthority required = permission instanceof StrideAuthority authority
+            ? authority
+            : StrideAuthority.forName(String.valueOf(permission));
+        return required != null && AuthorityMask.hasAll(PermissionMatrix.permissionsOf(authentication), required.bit());
+    }
+}
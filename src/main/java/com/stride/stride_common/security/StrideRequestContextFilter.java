@@ -0,0 +1,78 @@
+package com.stride.stride_common.security;
+
+import java.io.IOException;
+import java.util.UUID;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.stride.stride_common.auth.UserPrincipal;
+import com.stride.stride_common.auth.VerifiedToken;
+import com.stride.stride_common.context.StrideRequestContext;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Binds a {@link StrideRequestContext} for the rest of the request, after bearer authentication.
+ * The correlation id is taken from {@code X-Correlation-Id} (or generated) and echoed on the
+ * response; organization, user and claims come from the verified token, so nothing is parsed twice.
+ */
+public class StrideRequestContextFilter extends OncePerRequestFilter {
+
+    private static final int MAX_CORRELATION_ID_LENGTH = 128;
+
+    private final SecurityContextHolderStrategy contextHolderStrategy = SecurityContextHolder.getContextHolderStrategy();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String correlationId = correlationId(request.getHeader(SecurityConstants.CORRELATION_ID_HEADER));
+        response.setHeader(SecurityConstants.CORRELATION_ID_HEADER, correlationId);
+        StrideRequestContext context = contextFor(contextHolderStrategy.getContext().getAuthentication(), correlationId);
+        try {
+            context.call(() -> {
+                filterChain.doFilter(request, response);
+                return null;
+            });
+        } catch (IOException | ServletException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            // doFilter declares nothing else; only the inferred throws clause of call is wider
+            throw new ServletException(e);
+        }
+    }
+
+    static StrideRequestContext contextFor(Authentication authentication, String correlationId) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return StrideRequestContext.anonymous(correlationId);
+        }
+        if (authentication.getDetails() instanceof VerifiedToken verified) {
+            return StrideRequestContext.of(verified, correlationId);
+        }
+        if (authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return new StrideRequestContext(principal.organizationId(), principal.userId(), correlationId, null);
+        }
+        return new StrideRequestContext(null, authentication.getName(), correlationId, null);
+    }
+
+    /**
+     * The caller's correlation id when it is short and printable, otherwise a new one
+     */
+    static String correlationId(String header) {
+        if (header == null || header.isEmpty() || header.length() > MAX_CORRELATION_ID_LENGTH) {
+            return UUID.randomUUID().toString();
+        }
+        for (int i = 0; i < header.length(); i++) {
+            char c = header.charAt(i);
+            if (c < 0x21 || c > 0x7e) {
+                return UUID.randomUUID().toString();
+            }
+        }
+        return header;
+    }
+}
@@ -0,0 +1,138 @@
+package com.stride.stride_common.security;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stride.stride_common.auth.AuthorityMask;
+import com.stride.stride_common.auth.StrideAuthority;
+import com.stride.stride_common.auth.UserPrincipal;
+import com.stride.stride_common.dto.ErrorResponse;
+import com.stride.stride_common.exceptions.AuthorizationException;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Rejects authenticated requests that name another organization than the verified
+ * {@code organizationId} claim, either in {@code X-Organization-Id} or in the organization variable
+ * of a configured path pattern. A plain string comparison against the token, so tenant-scoped
+ * endpoints need no membership query; SUPER_ADMIN may address any organization. Anonymous
+ * requests pass through and are left to the authorization rules.
+ * <p>
+ * Path patterns are matched before handler mapping, so they are configured here rather than read
+ * from {@code @PathVariable}; requests whose path cannot match any pattern skip the parse.
+ */
+@Slf4j
+public class TenantIsolationFilter extends OncePerRequestFilter implements MeterBinder {
+
+    private final List<PathPattern> pathPatterns;
+    private final List<String> literalPrefixes;
+    private final String pathVariable;
+    private final SecurityContextHolderStrategy contextHolderStrategy = SecurityContextHolder.getContextHolderStrategy();
+    private final LongAdder rejected = new LongAdder();
+    private final byte[] rejectionBody;
+
+    public TenantIsolationFilter(SecurityProperties.TenantIsolation properties) {
+        PathPatternParser parser = new PathPatternParser();
+        this.pathPatterns = properties.getPathPatterns().stream().map(parser::parse).toList();
+        this.literalPrefixes = properties.getPathPatterns().stream().map(TenantIsolationFilter::literalPrefix).toList();
+        this.pathVariable = properties.getPathVariable();
+        this.rejectionBody = rejectionBody();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Authentication authentication = contextHolderStrategy.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || AuthorityMask.hasAll(AuthorityMask.of(authentication), StrideAuthority.SUPER_ADMIN.bit())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String claimed = authentication.getPrincipal() instanceof UserPrincipal principal ? principal.organizationId() : null;
+        String requested = request.getHeader(SecurityConstants.ORGANIZATION_HEADER);
+        if (requested == null || requested.equals(claimed)) {
+            requested = pathOrganization(request);
+        }
+        if (requested == null || requested.equals(claimed)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        rejected.increment();
+        log.debug("Rejected request of {} in organization {} for organization {}", authentication.getName(), claimed, requested);
+        response.setStatus(HttpStatus.FORBIDDEN.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(rejectionBody.length);
+        response.getOutputStream().write(rejectionBody);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("stride.security.tenant-isolation.rejected", rejected, LongAdder::sum)
+            .description("Requests rejected with 403 for addressing another organization")
+            .register(registry);
+    }
+
+    private String pathOrganization(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (int i = 0; i < pathPatterns.size(); i++) {
+            if (!path.startsWith(literalPrefixes.get(i))) {
+                continue;
+            }
+            PathPattern.PathMatchInfo match = pathPatterns.get(i).matchAndExtract(PathContainer.parsePath(path));
+            if (match != null && match.getUriVariables().containsKey(pathVariable)) {
+                return match.getUriVariables().get(pathVariable);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The part of a pattern before its first variable or wildcard, which every matching path starts with
+     */
+    static String literalPrefix(String pattern) {
+        int end = pattern.length();
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '{' || c == '*' || c == '?') {
+                end = i;
+                break;
+            }
+        }
+        return pattern.substring(0, end);
+    }
+
+    private static byte[] rejectionBody() {
+        // Shared by every rejection, so it names neither organization
+        AuthorizationException denied = AuthorizationException.organizationAccessDenied(null);
+        ErrorResponse body = ErrorResponse.builder()
+            .error(HttpStatus.FORBIDDEN.getReasonPhrase())
+            .errorCode(denied.getErrorCode())
+            .message(denied.getMessage())
+            .build();
+        try {
+            return new ObjectMapper().writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize tenant isolation response", e);
+        }
+    }
+}
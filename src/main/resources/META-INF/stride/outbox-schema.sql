@@ -0,0 +1,12 @@
+-- Transactional outbox table used by OutboxEventPublisher and OutboxRelay.
+-- Portable across PostgreSQL and H2; services apply it through their own migrations.
+CREATE TABLE IF NOT EXISTS stride_outbox (
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    topic          VARCHAR(255) NOT NULL,
+    partition_key  VARCHAR(255),
+    event_type     VARCHAR(255) NOT NULL,
+    payload        TEXT         NOT NULL,
+    correlation_id VARCHAR(255),
+    created_at     TIMESTAMP    NOT NULL,
+    claimed_until  TIMESTAMP
+);
@@ -0,0 +1,84 @@
+package com.stride.stride_common.auth;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+import com.stride.stride_common.security.SecurityConstants;
+
+/**
+ * Tests for the role/permission bitset model
+ */
+class AuthorityMaskTest {
+
+    @Test
+    void shouldAssignOneBitPerRoleAndPermission() {
+        assertThat(StrideAuthority.values()).hasSizeLessThan(63);
+        long all = 0;
+        for (StrideAuthority authority : StrideAuthority.values()) {
+            assertThat(Long.bitCount(authority.bit())).isEqualTo(1);
+            assertThat(all & authority.bit()).isZero();
+            all |= authority.bit();
+        }
+        assertThat(StrideAuthority.forName(SecurityConstants.ROLE_ORG_ADMIN)).isEqualTo(StrideAuthority.ORG_ADMIN);
+        assertThat(StrideAuthority.ORG_ADMIN.getAuthority()).isEqualTo("ROLE_ORG_ADMIN");
+        assertThat(StrideAuthority.MANAGE_TEAMS.getAuthority()).isEqualTo(SecurityConstants.PERMISSION_MANAGE_TEAMS);
+        assertThat(StrideAuthority.forAuthority("ROLE_TEAM_MEMBER")).isEqualTo(StrideAuthority.TEAM_MEMBER);
+    }
+
+    @Test
+    void shouldCheckAuthoritiesWithSingleMask() {
+        UserPrincipal principal = new UserPrincipal("user-1", "user-1", "org-1",
+            List.of(SecurityConstants.ROLE_TEAM_ADMIN, SecurityConstants.PERMISSION_MANAGE_TEAMS), true);
+
+        assertThat(principal.hasAuthority(StrideAuthority.TEAM_ADMIN)).isTrue();
+        assertThat(principal.hasAuthority(StrideAuthority.ORG_ADMIN)).isFalse();
+        assertThat(principal.hasAll(AuthorityMask.of(StrideAuthority.TEAM_ADMIN, StrideAuthority.MANAGE_TEAMS))).isTrue();
+        assertThat(principal.hasAll(AuthorityMask.of(StrideAuthority.TEAM_ADMIN, StrideAuthority.MANAGE_USERS))).isFalse();
+        assertThat(principal.hasAny(AuthorityMask.of(StrideAuthority.SUPER_ADMIN, StrideAuthority.MANAGE_TEAMS))).isTrue();
+    }
+
+    @Test
+    void shouldShareAuthorityListsAcrossPrincipals() {
+        UserPrincipal first = new UserPrincipal("user-1", "user-1", "org-1", List.of("ORG_ADMIN", "TEAM_MEMBER"), true);
+        UserPrincipal second = new UserPrincipal("user-2", "user-2", "org-2", List.of("TEAM_MEMBER", "ORG_ADMIN"), true);
+
+        List<GrantedAuthority> authorities = first.getAuthorities();
+
+        assertThat(authorities).isSameAs(second.getAuthorities());
+        assertThat(authorities).containsExactly(StrideAuthority.ORG_ADMIN, StrideAuthority.TEAM_MEMBER);
+        assertThat(authorities).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_ORG_ADMIN", "ROLE_TEAM_MEMBER");
+    }
+
+    @Test
+    void shouldKeepCustomRolesAsInternedAuthorities() {
+        UserPrincipal first = new UserPrincipal("user-1", "user-1", "org-1", List.of("TEAM_MEMBER", "BILLING_VIEWER"), true);
+        UserPrincipal second = new UserPrincipal("user-2", "user-2", "org-1", List.of("BILLING_VIEWER"), true);
+
+        assertThat(first.authorityMask() & AuthorityMask.CUSTOM).isNotZero();
+        assertThat(first.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+            .containsExactly("ROLE_TEAM_MEMBER", "ROLE_BILLING_VIEWER");
+        assertThat(first.getAuthorities().get(1)).isSameAs(second.getAuthorities().get(0));
+    }
+
+    @Test
+    void shouldKeepRoleAuthorityForPermissionNamesInTheRoleClaim() {
+        UserPrincipal principal = new UserPrincipal("user-1", "user-1", "org-1",
+            List.of(SecurityConstants.ROLE_TEAM_ADMIN, SecurityConstants.PERMISSION_MANAGE_TEAMS), true);
+
+        assertThat(principal.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+            .containsExactly("ROLE_TEAM_ADMIN", "MANAGE_TEAMS", "ROLE_MANAGE_TEAMS");
+        assertThat(principal.getAuthorities()).startsWith(StrideAuthority.TEAM_ADMIN, StrideAuthority.MANAGE_TEAMS);
+    }
+
+    @Test
+    void shouldHandleMissingRoles() {
+        UserPrincipal principal = new UserPrincipal("user-1", "user-1", null, List.of(), true);
+
+        assertThat(principal.authorityMask()).isZero();
+        assertThat(principal.getAuthorities()).isEmpty();
+        assertThat(AuthorityMask.of((List<String>) null)).isZero();
+    }
+}
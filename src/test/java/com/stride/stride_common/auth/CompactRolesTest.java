@@ -0,0 +1,94 @@
+package com.stride.stride_common.auth;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the compact role claim and the token encodings that use it
+ */
+class CompactRolesTest {
+
+    private static final String SECRET = "testSecretKeyThatIsAtLeast256BitsLongForHS256Signing";
+
+    @Test
+    void shouldRoundTripEveryPlatformMask() {
+        int authorities = StrideAuthority.values().length;
+        for (long mask = 0; mask < 1L << authorities; mask++) {
+            String claim = CompactRoles.encode(mask);
+
+            assertThat(claim).startsWith("1.").hasSizeLessThanOrEqualTo(5);
+            assertThat(CompactRoles.decode(claim)).isEqualTo(mask);
+        }
+        assertThat(CompactRoles.encode(AuthorityMask.of(StrideAuthority.TEAM_MEMBER))).isEqualTo("1.CA");
+        assertThat(CompactRoles.encode(AuthorityMask.CUSTOM)).isEqualTo("1.AA");
+    }
+
+    @Test
+    void shouldRejectMalformedOrUnknownClaims() {
+        assertThat(CompactRoles.decode(null)).isEqualTo(-1);
+        assertThat(CompactRoles.decode("")).isEqualTo(-1);
+        assertThat(CompactRoles.decode("1.")).isEqualTo(-1);
+        assertThat(CompactRoles.decode(".CA")).isEqualTo(-1);
+        assertThat(CompactRoles.decode("x.CA")).isEqualTo(-1);
+        assertThat(CompactRoles.decode("2.CA")).isEqualTo(-1);
+        assertThat(CompactRoles.decode("1.C*")).isEqualTo(-1);
+        // Bit 10 has no authority in mapping 1
+        assertThat(CompactRoles.decode("1.BAA")).isEqualTo(-1);
+    }
+
+    @Test
+    void shouldShareNameListsInAuthorityOrder() {
+        long mask = AuthorityMask.of(List.of("TEAM_MEMBER", "ORG_ADMIN", "MANAGE_USERS"));
+
+        assertThat(CompactRoles.names(mask)).containsExactly("ORG_ADMIN", "TEAM_MEMBER", "MANAGE_USERS");
+        assertThat(CompactRoles.names(mask)).isSameAs(CompactRoles.names(mask));
+    }
+
+    @Test
+    void shouldMintAndVerifyCompactTokens() {
+        JwtTokenProvider compact = provider(CompactRoles.Encoding.COMPACT);
+        String token = compact.generateAccessToken("user-1", "org-1", List.of("ORG_ADMIN", "TEAM_MEMBER"));
+
+        assertThat(payload(token)).contains("\"rm\":\"1.Cg\"").doesNotContain("\"roles\"");
+        VerifiedToken verified = compact.introspect(token);
+        assertThat(verified.roles()).containsExactly("ORG_ADMIN", "TEAM_MEMBER");
+        assertThat(verified.authorityMask())
+            .isEqualTo(new UserPrincipal("user-1", "user-1", "org-1", verified.roles(), true).authorityMask());
+        // Services still on list encoding verify compact tokens too
+        assertThat(provider(CompactRoles.Encoding.LIST).introspect(token).roles()).containsExactly("ORG_ADMIN", "TEAM_MEMBER");
+    }
+
+    @Test
+    void shouldWriteBothClaimsDuringMigration() {
+        String token = provider(CompactRoles.Encoding.BOTH).generateAccessToken("user-1", "org-1", List.of("TEAM_MEMBER"));
+
+        assertThat(payload(token)).contains("\"roles\":[\"TEAM_MEMBER\"]").contains("\"rm\":\"1.CA\"");
+        assertThat(provider(CompactRoles.Encoding.LIST).introspect(token).roles()).containsExactly("TEAM_MEMBER");
+    }
+
+    @Test
+    void shouldKeepListForCustomRolesAndListTokens() {
+        JwtTokenProvider compact = provider(CompactRoles.Encoding.COMPACT);
+        String custom = compact.generateAccessToken("user-1", "org-1", List.of("TEAM_MEMBER", "BILLING_VIEWER"));
+        String legacy = provider(CompactRoles.Encoding.LIST).generateAccessToken("user-1", "org-1", List.of("ORG_ADMIN"));
+
+        assertThat(payload(custom)).contains("\"roles\"").doesNotContain("\"rm\"");
+        assertThat(compact.introspect(custom).roles()).containsExactly("TEAM_MEMBER", "BILLING_VIEWER");
+        assertThat(compact.introspect(custom).authorityMask() & AuthorityMask.CUSTOM).isNotZero();
+        assertThat(payload(legacy)).doesNotContain("\"rm\"");
+        assertThat(compact.introspect(legacy).authorityMask())
+            .isEqualTo(AuthorityMask.of(StrideAuthority.ORG_ADMIN));
+    }
+
+    private static JwtTokenProvider provider(CompactRoles.Encoding encoding) {
+        return new JwtTokenProvider(SECRET, 60, 30, "stride-test", encoding);
+    }
+
+    private static String payload(String token) {
+        return new String(Base64.getUrlDecoder().decode(token.split("\\.")[1]), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,155 @@
+package com.stride.stride_common.auth;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.stride.stride_common.exceptions.AuthenticationException;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.Jwks;
+
+/**
+ * Tests for the kid-indexed JWKS key ring
+ */
+class JwtKeyRingTest {
+
+    private static final String SECRET = "testSecretKeyThatIsAtLeast256BitsLongForHS256Signing";
+
+    @TempDir
+    Path dir;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"HS256", "RS256", "ES256", "EdDSA"})
+    void shouldSignAndVerifyByKid(String algorithm) throws IOException {
+        Path jwks = writeJwks(signingJwk("key-1", algorithm), verifyOnlyJwk("other", "RS256"));
+        JwtKeyRing ring = new JwtKeyRing(jwks.toString(), "", Duration.ZERO);
+        JwtTokenProvider provider = provider(ring);
+
+        String token = provider.generateAccessToken("user-1", "org-1", List.of("TEAM_MEMBER"));
+
+        assertThat(header(token)).contains("\"kid\":\"key-1\"").contains("\"alg\":\"" + algorithm + "\"");
+        assertThat(provider.introspect(token).subject()).isEqualTo("user-1");
+        assertThat(ring.size()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldKeepVerifyingTokensWithoutKidAgainstConfiguredSecret() throws IOException {
+        JwtTokenProvider legacy = new JwtTokenProvider(SECRET, 60, 30, "stride-test");
+        String token = legacy.generateAccessToken("user-1", "org-1", List.of());
+        JwtTokenProvider provider = provider(new JwtKeyRing(writeJwks(verifyOnlyJwk("rsa-1", "RS256")).toString(), "", Duration.ZERO));
+
+        assertThat(provider.introspect(token).subject()).isEqualTo("user-1");
+    }
+
+    @Test
+    void shouldRejectUnknownKidAndMismatchedAlgorithm() throws IOException {
+        Jwk<?> rsa = signingJwk("rsa-1", "RS256");
+        JwtTokenProvider issuer = provider(new JwtKeyRing(writeJwks(rsa).toString(), "", Duration.ZERO));
+        String token = issuer.generateAccessToken("user-1", "org-1", List.of());
+
+        Path otherDir = Files.createDirectory(dir.resolve("other"));
+        JwtTokenProvider unknown = provider(new JwtKeyRing(
+            write(otherDir.resolve("jwks.json"), verifyOnlyJwk("rsa-2", "RS256")).toString(), "", Duration.ZERO));
+        assertThatThrownBy(() -> unknown.introspect(token)).isInstanceOf(AuthenticationException.class);
+
+        // Same kid, header claims a different algorithm than the key
+        String[] parts = token.split("\\.");
+        String swapped = Base64.getUrlEncoder().withoutPadding()
+            .encodeToString("{\"kid\":\"rsa-1\",\"alg\":\"HS256\"}".getBytes()) + "." + parts[1] + "." + parts[2];
+        assertThatThrownBy(() -> issuer.introspect(swapped)).isInstanceOf(AuthenticationException.class);
+    }
+
+    @Test
+    void shouldRotateKeysWithoutRestart() throws Exception {
+        Jwk<?> oldKey = signingJwk("key-old", "ES256");
+        Path jwks = writeJwks(oldKey);
+        JwtKeyRing ring = new JwtKeyRing(jwks.toString(), "", Duration.ofMillis(20));
+        try {
+            JwtTokenProvider provider = provider(ring);
+            String oldToken = provider.generateAccessToken("user-1", "org-1", List.of());
+
+            // Publish the new signing key, keep the old one for verification only
+            writeJwks(signingJwk("key-new", "ES256"), Jwks.builder().add(oldKey).operations().clear().and().build());
+            Files.setLastModifiedTime(jwks, FileTime.from(Instant.now().plusSeconds(5)));
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (!"key-new".equals(ring.signingKey().kid()) && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+
+            String newToken = provider.generateAccessToken("user-1", "org-1", List.of());
+            assertThat(header(newToken)).contains("\"kid\":\"key-new\"");
+            assertThat(provider.introspect(newToken).subject()).isEqualTo("user-1");
+            assertThat(provider.introspect(oldToken).subject()).isEqualTo("user-1");
+        } finally {
+            ring.destroy();
+        }
+    }
+
+    @Test
+    void shouldKeepCurrentKeysWhenReloadFails() throws IOException {
+        Path jwks = writeJwks(verifyOnlyJwk("rsa-1", "RS256"));
+        JwtKeyRing ring = new JwtKeyRing(jwks.toString(), "", Duration.ZERO);
+
+        Files.writeString(jwks, "{\"keys\":[{\"kty\":\"broken\"");
+
+        assertThat(ring.reload()).isFalse();
+        assertThat(ring.getKey("rsa-1")).isNotNull();
+    }
+
+    @Test
+    void shouldRequireConfiguredSigningKidToHavePrivateKey() throws IOException {
+        Path jwks = writeJwks(verifyOnlyJwk("rsa-1", "RS256"));
+
+        assertThatThrownBy(() -> new JwtKeyRing(jwks.toString(), "rsa-1", Duration.ZERO))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static JwtTokenProvider provider(JwtKeyRing ring) {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, 60, 30, "stride-test");
+        provider.setKeyRing(ring);
+        return provider;
+    }
+
+    private static Jwk<?> signingJwk(String kid, String algorithm) {
+        var builder = switch (algorithm) {
+            case "HS256" -> Jwks.builder().key(Jwts.SIG.HS256.key().build());
+            case "RS256" -> Jwks.builder().keyPair(Jwts.SIG.RS256.keyPair().build());
+            case "ES256" -> Jwks.builder().keyPair(Jwts.SIG.ES256.keyPair().build());
+            default -> Jwks.builder().keyPair(Jwks.CRV.Ed25519.keyPair().build());
+        };
+        return builder.id(kid).algorithm(algorithm).operations().add(Jwks.OP.SIGN).add(Jwks.OP.VERIFY).and().build();
+    }
+
+    private static Jwk<?> verifyOnlyJwk(String kid, String algorithm) {
+        return Jwks.builder().key(Jwts.SIG.RS256.keyPair().build().getPublic()).id(kid).algorithm(algorithm).build();
+    }
+
+    private Path writeJwks(Jwk<?>... jwks) throws IOException {
+        return write(dir.resolve("jwks.json"), jwks);
+    }
+
+    private static Path write(Path file, Jwk<?>... jwks) throws IOException {
+        String keys = Arrays.stream(jwks).map(Jwks::UNSAFE_JSON).collect(Collectors.joining(","));
+        return Files.writeString(file, "{\"keys\":[" + keys + "]}");
+    }
+
+    private static String header(String token) {
+        return new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))));
+    }
+}
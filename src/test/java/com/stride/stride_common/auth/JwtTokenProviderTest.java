@@ -0,0 +1,148 @@
+package com.stride.stride_common.auth;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.stride.stride_common.exceptions.AuthenticationException;
+
+/**
+ * Tests for JwtTokenProvider
+ */
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "testSecretKeyThatIsAtLeast256BitsLongForHS256Signing";
+
+    private final JwtTokenProvider provider = new JwtTokenProvider(SECRET, 60, 30, "stride-test");
+
+    @Test
+    void shouldIntrospectAllClaimsOfAccessToken() {
+        String token = provider.generateAccessToken("user-1", "org-1", List.of("ORG_ADMIN", "TEAM_MEMBER"));
+
+        VerifiedToken verified = provider.introspect(token);
+
+        assertThat(verified.subject()).isEqualTo("user-1");
+        assertThat(verified.issuer()).isEqualTo("stride-test");
+        assertThat(verified.organizationId()).isEqualTo("org-1");
+        assertThat(verified.roles()).containsExactly("ORG_ADMIN", "TEAM_MEMBER");
+        assertThat(verified.isAccessToken()).isTrue();
+        assertThat(verified.isRefreshToken()).isFalse();
+        assertThat(verified.expiresAt()).isAfter(Instant.now());
+        assertThat(verified.isExpiredAt(verified.expiresAt())).isTrue();
+    }
+
+    @Test
+    void shouldRouteAccessorsThroughIntrospection() {
+        String token = provider.generateAccessToken("user-1", "org-1", List.of("TEAM_MEMBER"));
+        VerifiedToken verified = provider.introspect(token);
+
+        assertThat(provider.getUserId(token)).isEqualTo(verified.subject());
+        assertThat(provider.getOrganizationId(token)).isEqualTo(verified.organizationId());
+        assertThat(provider.getRoles(token)).isEqualTo(verified.roles());
+        assertThat(provider.isAccessToken(token)).isTrue();
+        assertThat(provider.getExpirationTime(token)).isEqualTo(verified.expiresAt());
+        assertThat(provider.isTokenExpired(token)).isFalse();
+    }
+
+    @Test
+    void shouldIntrospectRefreshTokenWithoutRoles() {
+        VerifiedToken verified = provider.introspect(provider.generateRefreshToken("user-1"));
+
+        assertThat(verified.isRefreshToken()).isTrue();
+        assertThat(verified.roles()).isEmpty();
+        assertThat(verified.organizationId()).isNull();
+    }
+
+    @Test
+    void shouldReturnEmptyRolesInsteadOfNullWhenClaimIsAbsent() {
+        String refresh = provider.generateRefreshToken("user-1");
+        String withoutRoles = provider.generateAccessToken("user-1", "org-1", null);
+
+        assertThat(provider.getRoles(refresh)).isNotNull().isEmpty();
+        assertThat(provider.getRoles(withoutRoles)).isNotNull().isEmpty();
+    }
+
+    @Test
+    void shouldRejectTokenSignedWithAnotherKey() {
+        JwtTokenProvider other = new JwtTokenProvider("anotherSecretKeyThatIsAtLeast256BitsLongForHS256", 60, 30, "stride-test");
+        String token = other.generateAccessToken("user-1", "org-1", List.of());
+
+        assertThatThrownBy(() -> provider.introspect(token))
+            .isInstanceOf(AuthenticationException.class)
+            .hasMessage("Invalid authentication token");
+        assertThat(provider.isTokenExpired(token)).isTrue();
+    }
+
+    @Test
+    void shouldRejectExpiredToken() {
+        JwtTokenProvider expired = new JwtTokenProvider(SECRET, -1, 30, "stride-test");
+        String token = expired.generateAccessToken("user-1", "org-1", List.of());
+
+        assertThatThrownBy(() -> provider.introspect(token))
+            .isInstanceOf(AuthenticationException.class)
+            .hasMessage("Authentication token has expired");
+    }
+
+    @Test
+    void shouldRejectMalformedToken() {
+        assertThatThrownBy(() -> provider.introspect("not-a-jwt"))
+            .isInstanceOf(AuthenticationException.class);
+    }
+
+    @Test
+    void shouldValidateBatchInOrderWithoutThrowing() {
+        String access = provider.generateAccessToken("user-1", "org-1", List.of("TEAM_MEMBER"));
+        String refresh = provider.generateRefreshToken("user-2");
+        String expired = new JwtTokenProvider(SECRET, -1, 30, "stride-test").generateAccessToken("user-3", "org-1", List.of());
+
+        List<TokenValidation> results = provider.validateAll(Arrays.asList(access, "not-a-jwt", refresh, null, expired, access));
+
+        assertThat(results).hasSize(6);
+        assertThat(results.get(0).verified().subject()).isEqualTo("user-1");
+        assertThat(results.get(1).failure()).isEqualTo(TokenValidation.Failure.INVALID);
+        assertThat(results.get(2).verified().isRefreshToken()).isTrue();
+        assertThat(results.get(3).failure()).isEqualTo(TokenValidation.Failure.INVALID);
+        assertThat(results.get(4).failure()).isEqualTo(TokenValidation.Failure.EXPIRED);
+        assertThat(results.get(5)).isSameAs(results.get(0));
+        assertThat(provider.validateAll(List.of())).isEmpty();
+    }
+
+    @Test
+    void shouldVerifyDistinctTokensOnceAcrossParallelTasks() {
+        TokenPrecheck precheck = spy(new TokenPrecheck(8192));
+        AtomicInteger forked = new AtomicInteger();
+        provider.setTokenPrecheck(precheck);
+        provider.setBatchParallelism(4);
+        provider.setBatchExecutor(task -> {
+            forked.incrementAndGet();
+            Thread.ofVirtual().start(task);
+        });
+        List<String> distinct = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            distinct.add(provider.generateAccessToken("user-" + i, "org-1", List.of()));
+        }
+        List<String> batch = new ArrayList<>(distinct);
+        batch.addAll(distinct);
+        batch.add("a.b");
+
+        List<TokenValidation> results = provider.validateAll(batch);
+
+        assertThat(forked.get()).isEqualTo(3);
+        verify(precheck, times(201)).check(anyString());
+        for (int i = 0; i < 200; i++) {
+            assertThat(results.get(i).verified().subject()).isEqualTo("user-" + i);
+            assertThat(results.get(200 + i)).isSameAs(results.get(i));
+        }
+        assertThat(results.get(400).isValid()).isFalse();
+    }
+}
@@ -0,0 +1,195 @@
+package com.stride.stride_common.auth;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.stride.stride_common.events.BaseEvent;
+import com.stride.stride_common.events.RefreshTokenRevokedEvent;
+import com.stride.stride_common.exceptions.AuthenticationException;
+import com.stride.stride_common.kafka.EventSerializer;
+import com.stride.stride_common.kafka.KafkaEventProducer;
+
+/**
+ * Tests for Bloom-filter backed refresh-token revocation
+ */
+class RefreshTokenRevocationsTest {
+
+    private static final String SECRET = "testSecretKeyThatIsAtLeast256BitsLongForHS256Signing";
+    private static final Instant ISSUED = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+    private static final Instant EXPIRES = ISSUED.plus(Duration.ofDays(30));
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldKeepFalsePositiveRateNearTarget() {
+        // Keys are digest bits in production, so uniformly random longs stand in for them
+        SplittableRandom random = new SplittableRandom(42);
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        long[] revoked = random.longs(10_000).toArray();
+        for (long key : revoked) {
+            filter.put(key);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            assertThat(filter.mightContain(revoked[i % revoked.length])).isTrue();
+            if (filter.mightContain(random.nextLong())) {
+                falsePositives++;
+            }
+        }
+
+        assertThat(filter.hashCount()).isEqualTo(7);
+        assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+    }
+
+    @Test
+    void shouldAnswerFromFilterAndConfirmHitsInExactSet() {
+        RefreshTokenRevocations revocations = revocations(null, Clock.systemUTC());
+
+        revocations.apply(RefreshTokenRevocations.tokenHash("token-1"), EXPIRES);
+
+        assertThat(revocations.isRevoked("token-1")).isTrue();
+        assertThat(revocations.isRevoked("token-2")).isFalse();
+        assertThat(revocations.isRevoked(null)).isFalse();
+        assertThat(revocations.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldGrowFilterBeyondExpectedRevocations() {
+        RefreshTokenRevocations revocations = new RefreshTokenRevocations(16, 0.01, null, Duration.ZERO, Clock.systemUTC());
+
+        for (int i = 0; i < 1_000; i++) {
+            revocations.apply(RefreshTokenRevocations.tokenHash("token-" + i), EXPIRES);
+        }
+        int falsePositivesBefore = (int) revocations.getFalsePositiveCount();
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(revocations.isRevoked("token-" + i)).isTrue();
+            revocations.isRevoked("other-" + i);
+        }
+
+        assertThat(revocations.getFalsePositiveCount() - falsePositivesBefore).isLessThan(50);
+    }
+
+    @Test
+    void shouldForgetRevocationsOfExpiredTokens() {
+        Clock clock = mock(Clock.class);
+        when(clock.millis()).thenReturn(ISSUED.toEpochMilli());
+        RefreshTokenRevocations revocations = revocations(null, clock);
+        revocations.apply(RefreshTokenRevocations.tokenHash("token-1"), ISSUED.plusSeconds(60));
+        revocations.apply(RefreshTokenRevocations.tokenHash("token-2"), EXPIRES);
+        revocations.apply(RefreshTokenRevocations.tokenHash("token-3"), ISSUED.minusSeconds(60));
+
+        when(clock.millis()).thenReturn(ISSUED.plusSeconds(61).toEpochMilli());
+
+        assertThat(revocations.purgeExpired()).isEqualTo(1);
+        assertThat(revocations.isRevoked("token-1")).isFalse();
+        assertThat(revocations.isRevoked("token-2")).isTrue();
+        assertThat(revocations.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRestoreRevocationsFromSnapshot() throws Exception {
+        Path snapshot = tempDir.resolve("revocations/snapshot.bin");
+        RefreshTokenRevocations first = revocations(snapshot, Clock.systemUTC());
+        first.apply(RefreshTokenRevocations.tokenHash("token-1"), EXPIRES);
+        first.apply(RefreshTokenRevocations.tokenHash("token-2"), Instant.now().plusMillis(50));
+        first.destroy();
+        Thread.sleep(100);
+
+        RefreshTokenRevocations restarted = revocations(snapshot, Clock.systemUTC());
+
+        assertThat(Files.exists(snapshot)).isTrue();
+        assertThat(restarted.isRevoked("token-1")).isTrue();
+        assertThat(restarted.isRevoked("token-2")).isFalse();
+        assertThat(restarted.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldStartEmptyOnUnreadableSnapshot() throws Exception {
+        Path snapshot = tempDir.resolve("snapshot.bin");
+        Files.writeString(snapshot, "not a snapshot");
+
+        assertThat(revocations(snapshot, Clock.systemUTC()).size()).isZero();
+    }
+
+    @Test
+    void shouldRejectRevokedRefreshTokensAndPublishRevocation() {
+        KafkaEventProducer producer = mock(KafkaEventProducer.class);
+        when(producer.publish(any(BaseEvent.class)))
+            .thenReturn(CompletableFuture.completedFuture(null));
+        RefreshTokenRevocations revocations = revocations(null, Clock.systemUTC());
+        revocations.setEventProducer(producer);
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, 60, 30, "stride-test");
+        provider.setTokenCache(new VerifiedTokenCache(100));
+        provider.setRevocations(revocations);
+        String refreshToken = provider.generateRefreshToken("user-1");
+        String sameSecondToken = provider.generateRefreshToken("user-1");
+        String accessToken = provider.generateAccessToken("user-1", "org-1", List.of("TEAM_MEMBER"));
+        assertThat(provider.isRefreshToken(refreshToken)).isTrue();
+
+        provider.revokeRefreshToken(refreshToken).join();
+
+        assertThatThrownBy(() -> provider.validateToken(refreshToken))
+            .isInstanceOf(AuthenticationException.class)
+            .hasMessageContaining("revoked");
+        assertThat(provider.isRefreshToken(sameSecondToken)).isTrue();
+        assertThat(provider.isAccessToken(accessToken)).isTrue();
+        ArgumentCaptor<BaseEvent> published = ArgumentCaptor.forClass(BaseEvent.class);
+        verify(producer).publish(published.capture());
+        assertThat(published.getValue()).isInstanceOfSatisfying(RefreshTokenRevokedEvent.class,
+            event -> {
+                assertThat(event.userId()).isEqualTo("user-1");
+                assertThat(event.tokenHash()).isEqualTo(RefreshTokenRevocations.tokenHash(refreshToken));
+            });
+    }
+
+    @Test
+    void shouldApplyRevocationsReceivedFromKafka() {
+        EventSerializer serializer = new EventSerializer();
+        RefreshTokenRevocations revocations = revocations(null, Clock.systemUTC());
+        RefreshTokenRevocationListener listener = new RefreshTokenRevocationListener(revocations, serializer);
+
+        listener.onMessage(serializer.serialize(RefreshTokenRevokedEvent.of("user-1",
+            RefreshTokenRevocations.tokenHash("token-1"), Instant.now().plusSeconds(60))));
+        listener.onMessage(serializer.serialize(RefreshTokenRevokedEvent.of("user-1", "not*base64", Instant.now().plusSeconds(60))));
+        listener.onMessage("{not json");
+
+        assertThat(revocations.isRevoked("token-1")).isTrue();
+        assertThat(revocations.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldConsumeInAGroupOfItsOwnUnlessAnInstanceIdIsSet() {
+        EventSerializer serializer = new EventSerializer();
+        RefreshTokenRevocations revocations = revocations(null, Clock.systemUTC());
+
+        String first = new RefreshTokenRevocationListener(revocations, serializer, "tasks", "").getGroupId();
+        String second = new RefreshTokenRevocationListener(revocations, serializer, "tasks", "").getGroupId();
+
+        assertThat(first).startsWith("tasks-token-revocations-").isNotEqualTo(second);
+        assertThat(new RefreshTokenRevocationListener(revocations, serializer, "tasks", "pod-1").getGroupId())
+            .isEqualTo("tasks-token-revocations-pod-1");
+    }
+
+    private static RefreshTokenRevocations revocations(Path snapshot, Clock clock) {
+        return new RefreshTokenRevocations(1_000, 0.01, snapshot, Duration.ZERO, clock);
+    }
+}
@@ -0,0 +1,96 @@
+package com.stride.stride_common.auth;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import javax.crypto.SecretKey;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Tests that the direct token writer matches the jjwt builder byte for byte
+ */
+class TokenMinterTest {
+
+    private static final Instant ISSUED_AT = Instant.parse("2025-10-01T12:00:00.750Z");
+    private static final Instant EXPIRES_AT = ISSUED_AT.plusSeconds(3600);
+
+    @ParameterizedTest
+    @ValueSource(ints = {32, 48, 64})
+    void shouldMatchJjwtAccessTokenForEveryHmacStrength(int keyBytes) {
+        SecretKey key = Keys.hmacShaKeyFor("k".repeat(keyBytes).getBytes(StandardCharsets.US_ASCII));
+        TokenMinter minter = new TokenMinter(key);
+
+        assertThat(minter.mint("user-1", "stride-platform", ISSUED_AT, EXPIRES_AT, "org-1", List.of("ORG_ADMIN", "TEAM_MEMBER"), "access"))
+            .isEqualTo(jjwt(key, "user-1", "stride-platform", "org-1", List.of("ORG_ADMIN", "TEAM_MEMBER"), "access"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "plain",
+        "quote\" backslash\\ slash/ <tag>",
+        "controls \b\t\n\f\r \u0000 \u001f \u007f",
+        "unicode é ü 漢字 😀 \uD83D",
+        " padded ",
+        "   ",
+        ""
+    })
+    void shouldEscapeExactlyLikeJackson(String value) {
+        SecretKey key = Keys.hmacShaKeyFor("defaultSecretKeyThatIsAtLeast256BitsLongForHS256Algorithm".getBytes());
+        TokenMinter minter = new TokenMinter(key);
+
+        assertThat(minter.mint(value, "iss", ISSUED_AT, EXPIRES_AT, value, Arrays.asList(value, null), "access"))
+            .isEqualTo(jjwt(key, value, "iss", value, Arrays.asList(value, null), "access"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void shouldOmitNullClaimsAndKeepEmptyOnes(boolean empty) {
+        SecretKey key = Keys.hmacShaKeyFor("k".repeat(32).getBytes(StandardCharsets.US_ASCII));
+        TokenMinter minter = new TokenMinter(key);
+        String organizationId = empty ? "" : null;
+        List<String> roles = empty ? List.of() : null;
+
+        assertThat(minter.mint("user-1", "iss", ISSUED_AT, EXPIRES_AT, organizationId, roles, "refresh"))
+            .isEqualTo(jjwt(key, "user-1", "iss", organizationId, roles, "refresh"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0b7f3c1e-8d2a-4c55-9e61-2f4a7b9c0d13", ""})
+    void shouldWriteTokenIdLikeJjwt(String tokenId) {
+        SecretKey key = Keys.hmacShaKeyFor("k".repeat(32).getBytes(StandardCharsets.US_ASCII));
+        TokenMinter minter = new TokenMinter(key);
+
+        assertThat(minter.mint("user-1", "iss", ISSUED_AT, EXPIRES_AT, tokenId, null, null, null, "refresh"))
+            .isEqualTo(Jwts.builder()
+                .subject("user-1")
+                .issuer("iss")
+                .issuedAt(Date.from(ISSUED_AT))
+                .expiration(Date.from(EXPIRES_AT))
+                .id(tokenId)
+                .claim("type", "refresh")
+                .signWith(key)
+                .compact());
+    }
+
+    private static String jjwt(SecretKey key, String subject, String issuer, String organizationId, List<String> roles, String type) {
+        JwtBuilder builder = Jwts.builder()
+            .subject(subject)
+            .issuer(issuer)
+            .issuedAt(Date.from(ISSUED_AT))
+            .expiration(Date.from(EXPIRES_AT))
+            .claim("organizationId", organizationId)
+            .claim("roles", roles)
+            .claim("type", type);
+        return builder.signWith(key).compact();
+    }
+}
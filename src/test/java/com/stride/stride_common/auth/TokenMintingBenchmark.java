@@ -0,0 +1,75 @@
+package com.stride.stride_common.auth;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKey;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Access-token minting: the general jjwt builder against JwtTokenProvider's direct writer.
+ *
+ * Run with:
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt -Dmdep.includeScope=test
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) org.openjdk.jmh.Main TokenMintingBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class TokenMintingBenchmark {
+
+    private static final String SECRET = "benchmarkSecretKeyThatIsAtLeast256BitsLongForHS256Signing";
+    private static final List<String> ROLES = List.of("ORG_ADMIN", "TEAM_MEMBER");
+
+    private SecretKey key;
+    private JwtTokenProvider provider;
+
+    @Setup
+    public void setUp() {
+        key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        provider = new JwtTokenProvider(SECRET, 60, 30, "stride-platform");
+    }
+
+    @Benchmark
+    public String jjwtBuilder() {
+        Instant now = Instant.now();
+        return Jwts.builder()
+            .subject("3f2b8c1e-5a7d-4e9f-9c21-6b0a7d4e8f13")
+            .issuer("stride-platform")
+            .issuedAt(Date.from(now))
+            .expiration(Date.from(now.plus(60, ChronoUnit.MINUTES)))
+            .claim("organizationId", "a91c4e2d-7b3f-4d8a-8e65-2f1c9b0d3a47")
+            .claim("roles", ROLES)
+            .claim("type", "access")
+            .signWith(key)
+            .compact();
+    }
+
+    @Benchmark
+    public String directWriter() {
+        return provider.generateAccessToken("3f2b8c1e-5a7d-4e9f-9c21-6b0a7d4e8f13", "a91c4e2d-7b3f-4d8a-8e65-2f1c9b0d3a47", ROLES);
+    }
+}
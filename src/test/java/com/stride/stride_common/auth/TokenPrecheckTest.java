@@ -0,0 +1,109 @@
+package com.stride.stride_common.auth;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import com.stride.stride_common.exceptions.AuthenticationException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests for the structural pre-verification check
+ */
+class TokenPrecheckTest {
+
+    private static final String SECRET = "testSecretKeyThatIsAtLeast256BitsLongForHS256Signing";
+    private static final String SIGNATURE = "c2lnbmF0dXJlLW5vdC1jaGVja2VkLWJ5LXByZWNoZWNr";
+    private static final long NOW = 1_760_000_000L;
+
+    private final TokenPrecheck precheck = new TokenPrecheck(8192, Clock.fixed(Instant.ofEpochSecond(NOW), ZoneOffset.UTC));
+
+    @Test
+    void shouldPassTokensIssuedByProvider() {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, 60, 30, "stride-test");
+        TokenPrecheck systemPrecheck = new TokenPrecheck(8192);
+
+        assertThat(systemPrecheck.check(provider.generateAccessToken("user-1", "org-1", List.of("A", "B")))).isNull();
+        assertThat(systemPrecheck.check(provider.generateRefreshToken("user-1"))).isNull();
+        assertThat(systemPrecheck.getPassedCount()).isEqualTo(2);
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+        "{\"alg\":\"HS256\"}                 | {\"sub\":\"u\",\"exp\":1760000600}                          | ",
+        "{ \"typ\" : \"JWT\", \"alg\":\"HS512\" } | { \"nested\":{\"exp\":1},\"list\":[1,\"]\"],\"exp\" : 1760000600 } | ",
+        "{\"alg\":\"HS256\"}                 | {\"sub\":\"u\",\"exp\":1759999999}                          | EXPIRED",
+        "{\"alg\":\"HS256\"}                 | {\"sub\":\"u\",\"exp\":1760000000}                          | EXPIRED",
+        "{\"alg\":\"HS256\"}                 | {\"sub\":\"u\"}                                             | MISSING_EXPIRY",
+        "{\"alg\":\"HS256\"}                 | {\"sub\":\"u\\\",\\\"exp\\\":1760000600\"}                  | MISSING_EXPIRY",
+        "{\"alg\":\"RS256\"}                 | {\"exp\":1760000600}                                        | ",
+        "{\"alg\":\"none\"}                  | {\"exp\":1760000600}                                        | ALGORITHM",
+        "{\"alg\":\"XS256\"}                 | {\"exp\":1760000600}                                        | ALGORITHM",
+        "{\"typ\":\"JWT\"}                   | {\"exp\":1760000600}                                        | ALGORITHM",
+        "{\"alg\":\"HS256\",\"typ\":\"JWE\"} | {\"exp\":1760000600}                                        | TYPE",
+        "{\"alg\":\"HS256\"}                 | {\"exp\":\"soon\"}                                          | MALFORMED",
+        "{\"alg\":\"HS256\"}                 | {\"exp\":1760000600                                         | MALFORMED",
+        "[\"alg\",\"HS256\"]                 | {\"exp\":1760000600}                                        | MALFORMED",
+    })
+    void shouldClassifyHeaderAndPayload(String header, String payload, TokenPrecheck.Reason expected) {
+        assertThat(precheck.check(encode(header.strip()) + "." + encode(payload.strip()) + "." + SIGNATURE))
+            .isEqualTo(expected);
+    }
+
+    @Test
+    void shouldRejectStructurallyBrokenTokens() {
+        String valid = encode("{\"alg\":\"HS256\"}") + "." + encode("{\"exp\":1760000600}");
+
+        assertThat(precheck.check(null)).isEqualTo(TokenPrecheck.Reason.MALFORMED);
+        assertThat(precheck.check(valid)).isEqualTo(TokenPrecheck.Reason.SEGMENT_COUNT);
+        assertThat(precheck.check(valid + "." + SIGNATURE + ".extra")).isEqualTo(TokenPrecheck.Reason.SEGMENT_COUNT);
+        assertThat(precheck.check(valid + ".")).isEqualTo(TokenPrecheck.Reason.ALGORITHM);
+        assertThat(precheck.check(valid + ".sig+nature/=")).isEqualTo(TokenPrecheck.Reason.MALFORMED);
+        assertThat(precheck.check(valid + "." + "A".repeat(9000))).isEqualTo(TokenPrecheck.Reason.OVERSIZED);
+        assertThat(precheck.getRejectedCount(TokenPrecheck.Reason.SEGMENT_COUNT)).isEqualTo(2);
+    }
+
+    @Test
+    void shouldRejectBeforeVerificationAndStillVerifyWhatPasses() {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, 60, 30, "stride-test");
+        TokenPrecheck systemPrecheck = new TokenPrecheck(8192);
+        provider.setTokenPrecheck(systemPrecheck);
+        String forged = encode("{\"alg\":\"HS256\"}") + "." + encode("{\"sub\":\"admin\",\"exp\":9999999999}") + "." + SIGNATURE;
+        String expired = encode("{\"alg\":\"HS256\"}") + "." + encode("{\"sub\":\"admin\",\"exp\":1}") + "." + SIGNATURE;
+
+        assertThatThrownBy(() -> provider.introspect(expired))
+            .isInstanceOf(AuthenticationException.class)
+            .hasMessage("Authentication token has expired");
+        assertThatThrownBy(() -> provider.introspect(forged))
+            .isInstanceOf(AuthenticationException.class)
+            .hasMessage("Invalid authentication token");
+        assertThat(systemPrecheck.getRejectedCount(TokenPrecheck.Reason.EXPIRED)).isEqualTo(1);
+        assertThat(systemPrecheck.getPassedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldExposeRejectionsPerReason() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        precheck.bindTo(registry);
+
+        precheck.check("only.two");
+        precheck.check("a.b.c.d");
+
+        assertThat(registry.get("stride.jwt.precheck").tag("reason", "segment_count").functionCounter().count()).isEqualTo(2);
+        assertThat(registry.get("stride.jwt.precheck").tag("result", "passed").functionCounter().count()).isZero();
+    }
+
+    private static String encode(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,142 @@
+package com.stride.stride_common.auth;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.Test;
+
+import com.stride.stride_common.exceptions.AuthenticationException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests for the expiry-aware verified-token cache
+ */
+class VerifiedTokenCacheTest {
+
+    private static final String SECRET = "testSecretKeyThatIsAtLeast256BitsLongForHS256Signing";
+
+    private final MutableClock clock = new MutableClock(Instant.now());
+    private final JwtTokenProvider provider = new JwtTokenProvider(SECRET, 60, 30, "stride-test");
+
+    @Test
+    void shouldServeRepeatedVerificationsFromCache() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(100, clock);
+        provider.setTokenCache(cache);
+        String token = provider.generateAccessToken("user-1", "org-1", List.of("TEAM_MEMBER"));
+
+        VerifiedToken first = provider.introspect(token);
+        VerifiedToken second = provider.introspect(token);
+        provider.validateToken(token);
+
+        assertThat(second).isSameAs(first);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(cache.getHitCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldNeverServeEntryAtOrPastExpiry() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(100, clock);
+        provider.setTokenCache(cache);
+        String token = provider.generateAccessToken("user-1", "org-1", List.of());
+        Instant expiresAt = provider.introspect(token).expiresAt();
+
+        clock.set(expiresAt.minusMillis(1));
+        assertThat(cache.get(token)).isNotNull();
+
+        clock.set(expiresAt);
+        assertThat(cache.get(token)).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void shouldNotConfuseTokensWithCollidingHashes() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(100, clock);
+        provider.setTokenCache(cache);
+        String token = provider.generateAccessToken("user-1", "org-1", List.of());
+        provider.introspect(token);
+
+        // Same tail (and so the same hash) but a different header and payload
+        String forged = "x" + token.substring(1);
+
+        assertThat(VerifiedTokenCache.hash(forged)).isEqualTo(VerifiedTokenCache.hash(token));
+        assertThat(cache.get(forged)).isNull();
+        assertThatThrownBy(() -> provider.introspect(forged)).isInstanceOf(AuthenticationException.class);
+    }
+
+    @Test
+    void shouldInvalidateAllTokensOfSubject() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(100, clock);
+        provider.setTokenCache(cache);
+        String first = provider.generateAccessToken("user-1", "org-1", List.of("A"));
+        String second = provider.generateAccessToken("user-1", "org-1", List.of("B"));
+        String other = provider.generateAccessToken("user-2", "org-1", List.of());
+        provider.introspect(first);
+        provider.introspect(second);
+        provider.introspect(other);
+
+        assertThat(cache.invalidateSubject("user-1")).isEqualTo(2);
+        assertThat(cache.get(first)).isNull();
+        assertThat(cache.get(other)).isNotNull();
+    }
+
+    @Test
+    void shouldStayWithinSizeCap() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(32, clock);
+        provider.setTokenCache(cache);
+
+        for (int i = 0; i < 200; i++) {
+            provider.introspect(provider.generateAccessToken("user-" + i, "org-1", List.of()));
+        }
+
+        assertThat(cache.size()).isLessThanOrEqualTo(32);
+    }
+
+    @Test
+    void shouldExposeHitAndMissMetrics() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(100, clock);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+        provider.setTokenCache(cache);
+        String token = provider.generateAccessToken("user-1", "org-1", List.of());
+
+        provider.introspect(token);
+        provider.introspect(token);
+
+        assertThat(registry.get("stride.jwt.cache.requests").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("stride.jwt.cache.requests").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("stride.jwt.cache.size").gauge().value()).isEqualTo(1);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private volatile Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void set(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
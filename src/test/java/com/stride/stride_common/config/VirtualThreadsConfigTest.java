@@ -0,0 +1,75 @@
+package com.stride.stride_common.config;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import com.stride.stride_common.kafka.KafkaEventProducer;
+
+/**
+ * Tests for the virtual-thread profile and pinning detection
+ */
+class VirtualThreadsConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+        .withInitializer(context -> context.getBeanFactory().setConversionService(ApplicationConversionService.getSharedInstance()))
+        .withUserConfiguration(VirtualThreadsConfig.class);
+
+    @Test
+    void shouldCompleteKafkaPublishesOnVirtualThreads() {
+        contextRunner.run(context -> assertThat(context).doesNotHaveBean(KafkaEventProducer.COMPLETION_EXECUTOR_BEAN));
+
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=true")
+            .run(context -> {
+                ExecutorService executor = context.getBean(KafkaEventProducer.COMPLETION_EXECUTOR_BEAN, ExecutorService.class);
+                assertThat(executor.submit(() -> Thread.currentThread().isVirtual()).get(5, TimeUnit.SECONDS)).isTrue();
+            });
+    }
+
+    @Test
+    void shouldDetectPinningOnlyWhenEnabled() {
+        contextRunner.withPropertyValues("stride.threads.pinning-detection.enabled=true")
+            .run(context -> assertThat(context).doesNotHaveBean(VirtualThreadPinningMonitor.class));
+
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=true")
+            .run(context -> assertThat(context).doesNotHaveBean(VirtualThreadPinningMonitor.class));
+
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=true", "stride.threads.pinning-detection.enabled=true")
+            .run(context -> assertThat(context).hasSingleBean(VirtualThreadPinningMonitor.class));
+    }
+
+    @Test
+    void shouldReportPinningInStrideCode() throws Exception {
+        VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(Duration.ofMillis(5));
+        try {
+            assertThat(monitor.isActive()).isTrue();
+            Object lock = new Object();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(15);
+            while (monitor.getPinnedCount() == 0 && System.nanoTime() < deadline) {
+                Thread.ofVirtual().start(() -> sleepHolding(lock)).join();
+                Thread.sleep(200);
+            }
+
+            assertThat(monitor.getPinnedCount()).isPositive();
+            assertThat(monitor.getSites().keySet())
+                .anyMatch(site -> site.startsWith(VirtualThreadsConfigTest.class.getName() + ".sleepHolding:"));
+        } finally {
+            monitor.destroy();
+        }
+    }
+
+    private static void sleepHolding(Object lock) {
+        synchronized (lock) {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
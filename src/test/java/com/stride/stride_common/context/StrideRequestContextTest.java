@@ -0,0 +1,120 @@
+package com.stride.stride_common.context;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.stride.stride_common.auth.JwtAuthenticationToken;
+import com.stride.stride_common.auth.UserPrincipal;
+import com.stride.stride_common.auth.VerifiedToken;
+import com.stride.stride_common.events.RefreshTokenRevokedEvent;
+import com.stride.stride_common.security.SecurityConstants;
+import com.stride.stride_common.security.StrideRequestContextFilter;
+
+/**
+ * Tests for StrideRequestContext binding, propagation and the request filter that binds it
+ */
+class StrideRequestContextTest {
+
+    private static final VerifiedToken TOKEN = new VerifiedToken("user-1", "stride", "org-1", List.of("TEAM_MEMBER"),
+        VerifiedToken.ACCESS_TYPE, Instant.now(), Instant.now().plusSeconds(900));
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldBindForTheExtentOfTheCallOnly() throws Exception {
+        StrideRequestContext outer = StrideRequestContext.of(TOKEN, "corr-1");
+        StrideRequestContext inner = StrideRequestContext.anonymous("corr-2");
+
+        assertThat(StrideRequestContext.current()).isNull();
+        String seen = outer.call(() -> {
+            assertThat(StrideRequestContext.current()).isSameAs(outer);
+            inner.run(() -> assertThat(StrideRequestContext.current()).isSameAs(inner));
+            return StrideRequestContext.current().organizationId() + "/" + StrideRequestContext.current().userId();
+        });
+
+        assertThat(seen).isEqualTo("org-1/user-1");
+        assertThat(StrideRequestContext.current()).isNull();
+        assertThatThrownBy(() -> outer.run(() -> {
+            throw new IllegalStateException("boom");
+        })).hasMessage("boom");
+        assertThat(StrideRequestContext.current()).isNull();
+    }
+
+    @Test
+    void shouldPropagateOnlyToWrappedTasks() throws Exception {
+        StrideRequestContext context = StrideRequestContext.of(TOKEN, "corr-1");
+        AtomicReference<StrideRequestContext> plain = new AtomicReference<>();
+        AtomicReference<StrideRequestContext> wrapped = new AtomicReference<>();
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            context.run(() -> {
+                executor.execute(() -> plain.set(StrideRequestContext.current()));
+                CompletableFuture.supplyAsync(StrideRequestContext.propagate(StrideRequestContext::current), executor)
+                    .thenAccept(wrapped::set)
+                    .join();
+            });
+        }
+
+        assertThat(plain.get()).isNull();
+        assertThat(wrapped.get()).isSameAs(context);
+        Runnable task = () -> { };
+        assertThat(StrideRequestContext.propagate(task)).isSameAs(task);
+    }
+
+    @Test
+    void shouldCorrelateEventsWithTheCurrentRequest() {
+        RefreshTokenRevokedEvent inRequest = StrideRequestContext.anonymous("corr-7")
+            .call(() -> RefreshTokenRevokedEvent.of("user-1", "hash", Instant.now()));
+
+        assertThat(inRequest.correlationId()).isEqualTo("corr-7");
+        assertThat(RefreshTokenRevokedEvent.of("user-1", "hash", Instant.now()).correlationId()).isNotBlank();
+    }
+
+    @Test
+    void shouldBindVerifiedClaimsAndCorrelationIdInFilter() throws Exception {
+        UserPrincipal principal = new UserPrincipal("user-1", "user-1", "org-1", TOKEN.roles(), true);
+        SecurityContextHolder.getContext().setAuthentication(
+            new JwtAuthenticationToken("jwt", principal, principal.getAuthorities(), TOKEN));
+        AtomicReference<StrideRequestContext> seen = new AtomicReference<>();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/teams");
+        request.addHeader(SecurityConstants.CORRELATION_ID_HEADER, "corr-from-gateway");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new StrideRequestContextFilter().doFilter(request, response, (req, res) -> seen.set(StrideRequestContext.current()));
+
+        assertThat(seen.get().correlationId()).isEqualTo("corr-from-gateway");
+        assertThat(seen.get().organizationId()).isEqualTo("org-1");
+        assertThat(seen.get().token()).isSameAs(TOKEN);
+        assertThat(response.getHeader(SecurityConstants.CORRELATION_ID_HEADER)).isEqualTo("corr-from-gateway");
+        assertThat(StrideRequestContext.current()).isNull();
+    }
+
+    @Test
+    void shouldGenerateCorrelationIdForAnonymousOrMalformedRequests() throws Exception {
+        AtomicReference<StrideRequestContext> seen = new AtomicReference<>();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/health");
+        request.addHeader(SecurityConstants.CORRELATION_ID_HEADER, "bad id\r\n");
+
+        new StrideRequestContextFilter().doFilter(request, new MockHttpServletResponse(),
+            (req, res) -> seen.set(StrideRequestContext.current()));
+
+        assertThat(seen.get().correlationId()).hasSize(36);
+        assertThat(seen.get().userId()).isNull();
+        assertThat(seen.get().token()).isNull();
+    }
+}
@@ -0,0 +1,133 @@
+package com.stride.stride_common.eventlog;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.stride.stride_common.events.BaseEvent;
+import com.stride.stride_common.events.TestEvents;
+import com.stride.stride_common.kafka.EventPublisher;
+import com.stride.stride_common.kafka.EventSerializer;
+
+/**
+ * Tests for the memory-mapped EventLog and its reader
+ */
+class EventLogTest {
+
+    private static final Instant BASE = Instant.parse("2025-01-01T00:00:00Z");
+
+    private final EventSerializer serializer = new EventSerializer();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldReplayAppendedEventsInOrder() {
+        try (EventLog eventLog = EventLog.open(directory, serializer)) {
+            for (int i = 0; i < 100; i++) {
+                assertThat(eventLog.append(TestEvents.userCreated("user-" + i, "org-1", BASE.plusSeconds(i))))
+                    .isEqualTo(i);
+            }
+
+            List<EventLogEntry> entries = new ArrayList<>();
+            long count = eventLog.reader().replay(ReplayFilter.all(), entries::add);
+
+            assertThat(count).isEqualTo(100);
+            assertThat(entries).extracting(EventLogEntry::offset).startsWith(0L, 1L, 2L).endsWith(99L);
+            assertThat(entries.get(42).event().getAggregateId()).isEqualTo("user-42");
+            assertThat(entries.get(42).timestamp()).isEqualTo(BASE.plusSeconds(42));
+        }
+    }
+
+    @Test
+    void shouldFilterByTypeAndTimeRangeAcrossSegments() {
+        EventLogOptions smallSegments = new EventLogOptions(16 * 1024, 512);
+        try (EventLog eventLog = EventLog.open(directory, serializer, smallSegments)) {
+            for (int i = 0; i < 500; i++) {
+                BaseEvent event = i % 2 == 0
+                    ? TestEvents.userCreated("user-" + i, "org-1", BASE.plusSeconds(i))
+                    : TestEvents.taskCreated("task-" + i, "team-1", BASE.plusSeconds(i));
+                eventLog.append(event);
+            }
+            assertThat(directory.toFile().list((dir, name) -> name.endsWith(".log"))).hasSizeGreaterThan(1);
+
+            List<EventLogEntry> entries = new ArrayList<>();
+            ReplayFilter filter = ReplayFilter.between(BASE.plusSeconds(100), BASE.plusSeconds(200))
+                .withTypes(TestEvents.taskCreatedType());
+            eventLog.reader().replay(filter, entries::add);
+
+            assertThat(entries).hasSize(50);
+            assertThat(entries).allSatisfy(entry -> {
+                assertThat(entry.event()).isInstanceOf(TestEvents.taskCreatedType());
+                assertThat(entry.timestamp()).isBetween(BASE.plusSeconds(100), BASE.plusSeconds(199));
+            });
+            assertThat(entries.get(0).offset()).isEqualTo(101L);
+        }
+    }
+
+    @Test
+    void shouldReplayFromOffset() {
+        EventLogOptions smallSegments = new EventLogOptions(8 * 1024, 256);
+        try (EventLog eventLog = EventLog.open(directory, serializer, smallSegments)) {
+            for (int i = 0; i < 200; i++) {
+                eventLog.append(TestEvents.userCreated("user-" + i, "org-1", BASE.plusSeconds(i)));
+            }
+
+            List<EventLogEntry> entries = new ArrayList<>();
+            eventLog.reader().replay(ReplayFilter.all().withFromOffset(150), entries::add);
+
+            assertThat(entries).hasSize(50);
+            assertThat(entries.get(0).offset()).isEqualTo(150L);
+            assertThat(entries.get(0).event().getAggregateId()).isEqualTo("user-150");
+        }
+    }
+
+    @Test
+    void shouldRecoverOffsetsAfterReopen() {
+        try (EventLog eventLog = EventLog.open(directory, serializer)) {
+            for (int i = 0; i < 10; i++) {
+                eventLog.append(TestEvents.userCreated("user-" + i, "org-1", BASE.plusSeconds(i)));
+            }
+        }
+
+        try (EventLog reopened = EventLog.open(directory, serializer)) {
+            assertThat(reopened.nextOffset()).isEqualTo(10);
+            assertThat(reopened.append(TestEvents.userCreated("user-10", "org-1", BASE))).isEqualTo(10);
+            assertThat(reopened.reader().replay(ReplayFilter.all(), entry -> { })).isEqualTo(11);
+        }
+    }
+
+    @Test
+    void shouldRepublishThroughEventPublisher() {
+        EventPublisher publisher = mock(EventPublisher.class);
+        when(publisher.publish(any(BaseEvent.class))).thenReturn(CompletableFuture.completedFuture(null));
+
+        try (EventLog eventLog = EventLog.open(directory, serializer)) {
+            for (int i = 0; i < 25; i++) {
+                eventLog.append(TestEvents.userCreated("user-" + i, "org-1", BASE.plusSeconds(i)));
+            }
+
+            long published = new EventLogReader(directory, serializer).replayTo(publisher, ReplayFilter.all());
+
+            assertThat(published).isEqualTo(25);
+            verify(publisher, times(25)).publish(any(BaseEvent.class));
+        }
+    }
+
+    @Test
+    void shouldKeepSharedObjectMapperStrictAboutUnknownProperties() {
+        assertThat(serializer.getObjectMapper().isEnabled(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)).isTrue();
+    }
+}
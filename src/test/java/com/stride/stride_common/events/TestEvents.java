@@ -0,0 +1,42 @@
+package com.stride.stride_common.events;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Test fixtures for building event records from other packages
+ * (the concrete event records are package-private).
+ */
+public final class TestEvents {
+
+    private TestEvents() {
+    }
+
+    public static BaseEvent userCreated(String userId, String organizationId, Instant timestamp) {
+        return new UserCreatedEvent(UUID.randomUUID().toString(), UUID.randomUUID().toString(), timestamp,
+            userId, organizationId, userId + "@example.com", "User " + userId);
+    }
+
+    public static BaseEvent taskCreated(String taskId, String teamId, Instant timestamp) {
+        return new TaskCreatedEvent(UUID.randomUUID().toString(), UUID.randomUUID().toString(), timestamp,
+            taskId, teamId, "project-1", "Task " + taskId, null, "creator", "org-1");
+    }
+
+    public static BaseEvent teamCreated(String teamId, String organizationId) {
+        return new TeamCreatedEvent(UUID.randomUUID().toString(), UUID.randomUUID().toString(), Instant.now(),
+            teamId, organizationId, "Team " + teamId, "creator");
+    }
+
+    public static BaseEvent teamMemberAdded(String teamId, String userId) {
+        return new TeamMemberAddedEvent(UUID.randomUUID().toString(), UUID.randomUUID().toString(), Instant.now(),
+            teamId, userId, "TEAM_MEMBER", "creator");
+    }
+
+    public static Class<? extends BaseEvent> userCreatedType() {
+        return UserCreatedEvent.class;
+    }
+
+    public static Class<? extends BaseEvent> taskCreatedType() {
+        return TaskCreatedEvent.class;
+    }
+}
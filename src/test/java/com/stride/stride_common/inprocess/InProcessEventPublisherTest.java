@@ -0,0 +1,105 @@
+package com.stride.stride_common.inprocess;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.stride.stride_common.events.BaseEvent;
+import com.stride.stride_common.events.TeamEvent;
+import com.stride.stride_common.events.TestEvents;
+import com.stride.stride_common.events.UserEvent;
+import com.stride.stride_common.exceptions.EventPublishException;
+import com.stride.stride_common.kafka.EventPublisher;
+
+/**
+ * Tests for the ring-buffer backed in-process EventPublisher
+ */
+class InProcessEventPublisherTest {
+
+    @ParameterizedTest
+    @EnumSource(WaitStrategy.Kind.class)
+    void shouldDeliverEveryEventToEachMatchingSubscriber(WaitStrategy.Kind kind) throws Exception {
+        int events = 10_000;
+        try (InProcessEventPublisher publisher = new InProcessEventPublisher(64, WaitStrategy.create(kind))) {
+            CountDownLatch allUsers = new CountDownLatch(events);
+            CountDownLatch allEvents = new CountDownLatch(events);
+            publisher.subscribe(UserEvent.class, event -> allUsers.countDown());
+            publisher.subscribe(BaseEvent.class, event -> allEvents.countDown());
+
+            for (int i = 0; i < events; i++) {
+                publisher.publish(TestEvents.userCreated("user-" + i, "org-1", Instant.now()));
+            }
+
+            assertThat(allUsers.await(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(allEvents.await(10, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+
+    @Test
+    void shouldRouteBySealedEventTypeWithoutCopying() throws Exception {
+        try (InProcessEventPublisher publisher = new InProcessEventPublisher(16, WaitStrategy.create(WaitStrategy.Kind.BLOCKING))) {
+            List<TeamEvent> teamEvents = new CopyOnWriteArrayList<>();
+            CountDownLatch received = new CountDownLatch(2);
+            publisher.subscribe(TeamEvent.class, event -> {
+                teamEvents.add(event);
+                received.countDown();
+            });
+
+            BaseEvent created = TestEvents.teamCreated("team-1", "org-1");
+            BaseEvent memberAdded = TestEvents.teamMemberAdded("team-1", "user-1");
+            publisher.publish(TestEvents.userCreated("user-1", "org-1", Instant.now()));
+            publisher.publish(created);
+            publisher.publish(memberAdded);
+
+            assertThat(received.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(teamEvents).containsExactly((TeamEvent) created, (TeamEvent) memberAdded);
+            assertThat(teamEvents.get(0)).isSameAs(created);
+        }
+    }
+
+    @Test
+    void shouldTeeEventsToDelegatePublisher() {
+        EventPublisher kafka = mock(EventPublisher.class);
+        CompletableFuture<Void> kafkaFuture = new CompletableFuture<>();
+        when(kafka.publish(any(String.class), any(String.class), any(BaseEvent.class))).thenReturn(kafkaFuture);
+
+        try (InProcessEventPublisher publisher = new InProcessEventPublisher(16, WaitStrategy.create(WaitStrategy.Kind.SLEEPING), kafka)) {
+            BaseEvent event = TestEvents.teamCreated("team-1", "org-1");
+
+            CompletableFuture<Void> result = publisher.publish("stride.local.team-events", "org-1", event);
+
+            verify(kafka).publish("stride.local.team-events", "org-1", event);
+            assertThat(result).isSameAs(kafkaFuture);
+        }
+    }
+
+    @Test
+    void shouldRejectPublishAfterClose() {
+        InProcessEventPublisher publisher = new InProcessEventPublisher(16, WaitStrategy.create(WaitStrategy.Kind.YIELDING));
+        publisher.subscribe(BaseEvent.class, event -> { });
+        publisher.close();
+
+        assertThat(publisher.getSubscriberCount()).isZero();
+        assertThatThrownBy(() -> publisher.publish(TestEvents.teamCreated("team-1", "org-1")))
+            .isInstanceOf(EventPublishException.class);
+    }
+
+    @Test
+    void shouldRequirePowerOfTwoBufferSize() {
+        assertThatThrownBy(() -> new InProcessEventPublisher(100, WaitStrategy.create(WaitStrategy.Kind.BLOCKING)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,107 @@
+package com.stride.stride_common.kafka;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import com.stride.stride_common.events.BaseEvent;
+import com.stride.stride_common.events.TestEvents;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+
+/**
+ * Publish throughput when callers attach CPU-heavy continuations to the publish future.
+ * A single thread stands in for the Kafka producer's network thread and completes every send.
+ * "inline" is the default of completing on that thread; "virtual" is the opt-in completion executor
+ * ({@code stride.kafka.completion-executor.enabled=true}, or the virtual-thread profile).
+ *
+ * Run with:
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt -Dmdep.includeScope=test
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) org.openjdk.jmh.Main KafkaCompletionBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KafkaCompletionBenchmark {
+
+    private static final int BATCH = 1000;
+
+    @Param({"inline", "virtual"})
+    public String completion;
+
+    @Param({"2000"})
+    public long downstreamTokens;
+
+    private ExecutorService networkThread;
+    private KafkaEventProducer producer;
+    private BaseEvent event;
+
+    @Setup
+    public void setUp() {
+        ((Logger) LoggerFactory.getLogger("com.stride")).setLevel(Level.WARN);
+        ((Logger) LoggerFactory.getLogger("org.apache.kafka")).setLevel(Level.WARN);
+
+        networkThread = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "kafka-producer-network-thread"));
+        KafkaTemplate<String, Object> template = new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(Map.of())) {
+            @Override
+            public CompletableFuture<SendResult<String, Object>> send(String topic, String key, Object data) {
+                CompletableFuture<SendResult<String, Object>> future = new CompletableFuture<>();
+                networkThread.execute(() -> future.complete(new SendResult<>(
+                    new ProducerRecord<>(topic, key, data),
+                    new RecordMetadata(new TopicPartition(topic, 0), 0, 0, 0, 0, 0))));
+                return future;
+            }
+        };
+
+        producer = new KafkaEventProducer(template, new EventSerializer(), new KafkaTopicResolver(), null,
+            "virtual".equals(completion));
+        event = TestEvents.teamCreated("team-1", "org-1");
+    }
+
+    @TearDown
+    public void tearDown() {
+        networkThread.shutdownNow();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void publishWithSlowContinuation() {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            futures[i] = producer.publish("stride.bench.team-events", "team-1", event)
+                .thenRun(() -> Blackhole.consumeCPU(downstreamTokens));
+        }
+        CompletableFuture.allOf(futures).join();
+    }
+}
@@ -0,0 +1,147 @@
+package com.stride.stride_common.kafka;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import com.stride.stride_common.context.StrideRequestContext;
+import com.stride.stride_common.events.BaseEvent;
+import com.stride.stride_common.events.TestEvents;
+import com.stride.stride_common.exceptions.EventPublishException;
+
+/**
+ * Tests for KafkaEventProducer
+ */
+class KafkaEventProducerTest {
+
+    private static final String TOPIC = "stride.local.team-events";
+
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, Object> kafkaTemplate = mock(KafkaTemplate.class);
+    private final KafkaEventProducer producer =
+        new KafkaEventProducer(kafkaTemplate, new EventSerializer(), new KafkaTopicResolver());
+
+    @Test
+    void shouldCompletePublishFutureOnTheSenderThreadByDefault() throws Exception {
+        assertThat(completionThreadName(producer)).isEqualTo("kafka-producer-network-thread");
+    }
+
+    @Test
+    void shouldCompletePublishFutureOffTheSenderThreadWhenEnabled() throws Exception {
+        KafkaEventProducer offloading =
+            new KafkaEventProducer(kafkaTemplate, new EventSerializer(), new KafkaTopicResolver(), null, true);
+
+        assertThat(completionThreadName(offloading)).startsWith("stride-kafka-completion-");
+    }
+
+    @Test
+    void shouldUseConfiguredCompletionExecutor() throws Exception {
+        CompletableFuture<SendResult<String, Object>> sendFuture = new CompletableFuture<>();
+        when(kafkaTemplate.send(eq(TOPIC), anyString(), any())).thenReturn(sendFuture);
+        var executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "custom-completion"));
+        try {
+            producer.setCompletionExecutor(executor);
+            AtomicReference<String> continuationThread = new AtomicReference<>();
+
+            CompletableFuture<Void> result = producer.publish(TOPIC, "team-1", TestEvents.teamCreated("team-1", "org-1"))
+                .thenRun(() -> continuationThread.set(Thread.currentThread().getName()));
+            sendFuture.complete(sendResult("team-1", "{}"));
+            result.get(5, TimeUnit.SECONDS);
+
+            assertThat(continuationThread.get()).isEqualTo("custom-completion");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldWrapSendFailureInEventPublishException() {
+        when(kafkaTemplate.send(eq(TOPIC), anyString(), any()))
+            .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+        BaseEvent event = TestEvents.teamCreated("team-1", "org-1");
+
+        CompletableFuture<Void> result = producer.publish(TOPIC, "team-1", event);
+
+        assertThat(result).failsWithin(5, TimeUnit.SECONDS)
+            .withThrowableOfType(ExecutionException.class)
+            .havingRootCause()
+            .withMessage("broker down");
+        assertThat(result.exceptionNow()).hasCauseInstanceOf(EventPublishException.class);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldCarryCorrelationIdOfCurrentContext() throws Exception {
+        AtomicReference<ProducerRecord<String, Object>> sent = new AtomicReference<>();
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenAnswer(invocation -> {
+            sent.set(invocation.getArgument(0));
+            return CompletableFuture.completedFuture(sendResult("team-1", "{}"));
+        });
+        AtomicReference<StrideRequestContext> continuationContext = new AtomicReference<>();
+        StrideRequestContext context = StrideRequestContext.anonymous("corr-42");
+
+        context.call(() -> producer.publish(TOPIC, "team-1", TestEvents.teamCreated("team-1", "org-1"))
+            .thenRun(() -> continuationContext.set(StrideRequestContext.current())))
+            .get(5, TimeUnit.SECONDS);
+
+        assertThat(new String(sent.get().headers().lastHeader(KafkaEventProducer.CORRELATION_ID_HEADER).value(),
+            StandardCharsets.UTF_8)).isEqualTo("corr-42");
+        assertThat(continuationContext.get()).isSameAs(context);
+        assertThat(StrideRequestContext.current()).isNull();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldCarryCorrelationIdInTransactionalBatches() throws Exception {
+        TransactionalProducerPool pool = mock(TransactionalProducerPool.class);
+        ArgumentCaptor<List<ProducerRecord<String, String>>> records = ArgumentCaptor.forClass(List.class);
+        when(pool.executeInTransaction(records.capture())).thenReturn(CompletableFuture.completedFuture(null));
+        KafkaEventProducer transactional =
+            new KafkaEventProducer(kafkaTemplate, new EventSerializer(), new KafkaTopicResolver(), pool);
+
+        StrideRequestContext.anonymous("corr-43").call(() -> transactional.publishAll(List.of(
+                TestEvents.teamCreated("team-1", "org-1"), TestEvents.teamCreated("team-2", "org-1"))))
+            .get(5, TimeUnit.SECONDS);
+
+        assertThat(records.getValue()).hasSize(2).allSatisfy(record -> assertThat(new String(
+            record.headers().lastHeader(KafkaEventProducer.CORRELATION_ID_HEADER).value(), StandardCharsets.UTF_8))
+            .isEqualTo("corr-43"));
+    }
+
+    private String completionThreadName(KafkaEventProducer eventProducer) throws Exception {
+        CompletableFuture<SendResult<String, Object>> sendFuture = new CompletableFuture<>();
+        when(kafkaTemplate.send(eq(TOPIC), anyString(), any())).thenReturn(sendFuture);
+        AtomicReference<String> continuationThread = new AtomicReference<>();
+
+        CompletableFuture<Void> result = eventProducer.publish(TOPIC, "team-1", TestEvents.teamCreated("team-1", "org-1"))
+            .thenRun(() -> continuationThread.set(Thread.currentThread().getName()));
+        Thread sender = Thread.ofPlatform().name("kafka-producer-network-thread")
+            .start(() -> sendFuture.complete(sendResult("team-1", "{}")));
+        result.get(5, TimeUnit.SECONDS);
+        sender.join();
+        return continuationThread.get();
+    }
+
+    private static SendResult<String, Object> sendResult(String key, Object value) {
+        return new SendResult<>(new ProducerRecord<>(TOPIC, key, value),
+            new RecordMetadata(new TopicPartition(TOPIC, 0), 0, 0, 0, 0, 0));
+    }
+}
@@ -0,0 +1,125 @@
+package com.stride.stride_common.kafka;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.serialization.StringSerializer;
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.stride.stride_common.exceptions.EventPublishException;
+
+/**
+ * Tests for TransactionalProducerPool using Kafka's MockProducer
+ */
+class TransactionalProducerPoolTest {
+
+    private final Map<String, MockProducer<String, String>> producers = new ConcurrentHashMap<>();
+    private TransactionalProducerPool pool;
+
+    @AfterEach
+    void tearDown() {
+        if (pool != null) {
+            pool.destroy();
+        }
+    }
+
+    @Test
+    void shouldCommitWholeBatchInOneTransaction() throws Exception {
+        pool = newPool(2);
+
+        pool.executeInTransaction(records(5)).get(5, TimeUnit.SECONDS);
+
+        assertThat(producers).containsOnlyKeys("test-tx-0");
+        MockProducer<String, String> producer = producers.values().iterator().next();
+        assertThat(producer.transactionCommitted()).isTrue();
+        assertThat(producer.history()).hasSize(5);
+        assertThat(producer.commitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReuseProducersAndNeverExceedPoolSize() throws Exception {
+        pool = newPool(3);
+
+        List<CompletableFuture<Void>> batches = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            batches.add(pool.executeInTransaction(records(10)));
+        }
+        CompletableFuture.allOf(batches.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+
+        assertThat(producers.size()).isBetween(1, 3);
+        assertThat(pool.getCreatedCount()).isEqualTo(producers.size());
+        assertThat(producers.values().stream().mapToInt(producer -> producer.history().size()).sum()).isEqualTo(500);
+        assertThat(producers.keySet()).allMatch(id -> id.startsWith("test-tx-"));
+    }
+
+    @Test
+    void shouldAbortAndFailWhenCommitFails() {
+        pool = newPool(1);
+        pool.executeInTransaction(records(1)).join();
+        MockProducer<String, String> producer = producers.values().iterator().next();
+        producer.commitTransactionException = new KafkaException("broker unavailable");
+
+        CompletableFuture<Void> result = pool.executeInTransaction(records(3));
+
+        assertThat(result).failsWithin(5, TimeUnit.SECONDS)
+            .withThrowableOfType(ExecutionException.class)
+            .withCauseInstanceOf(EventPublishException.class);
+        assertThat(producer.transactionAborted()).isTrue();
+        assertThat(pool.getCreatedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldAbortAndReuseProducerWhenSendThrowsNonKafkaException() throws Exception {
+        pool = newPool(1);
+        pool.executeInTransaction(records(1)).join();
+        MockProducer<String, String> producer = producers.values().iterator().next();
+        producer.sendException = new IllegalStateException("serializer failed");
+
+        CompletableFuture<Void> result = pool.executeInTransaction(records(3));
+
+        assertThat(result).failsWithin(5, TimeUnit.SECONDS)
+            .withThrowableOfType(ExecutionException.class)
+            .withCauseInstanceOf(EventPublishException.class);
+        assertThat(producer.transactionAborted()).isTrue();
+
+        producer.sendException = null;
+        pool.executeInTransaction(records(2)).get(5, TimeUnit.SECONDS);
+        assertThat(producer.commitCount()).isEqualTo(2);
+        assertThat(pool.getCreatedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldUseConfiguredInstanceIdOrTheLocalHostName() throws Exception {
+        assertThat(TransactionalProducerPool.resolveInstanceId("pod-1")).isEqualTo("pod-1");
+        assertThat(TransactionalProducerPool.resolveInstanceId(""))
+            .isEqualTo(InetAddress.getLocalHost().getHostName())
+            .isNotEqualTo("0");
+    }
+
+    private TransactionalProducerPool newPool(int size) {
+        return new TransactionalProducerPool(transactionalId -> {
+            MockProducer<String, String> producer = new MockProducer<>(true, new StringSerializer(), new StringSerializer());
+            producers.put(transactionalId, producer);
+            return producer;
+        }, size, "test-tx-", 5000);
+    }
+
+    private static List<ProducerRecord<String, String>> records(int count) {
+        List<ProducerRecord<String, String>> records = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            records.add(new ProducerRecord<>("stride.local.team-events", "team-1", "{\"n\":" + i + "}"));
+        }
+        return records;
+    }
+}
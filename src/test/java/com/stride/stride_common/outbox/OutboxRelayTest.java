@@ -0,0 +1,205 @@
+package com.stride.stride_common.outbox;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.stride.stride_common.context.StrideRequestContext;
+import com.stride.stride_common.events.BaseEvent;
+import com.stride.stride_common.events.TestEvents;
+import com.stride.stride_common.exceptions.EventPublishException;
+import com.stride.stride_common.exceptions.ServiceException;
+import com.stride.stride_common.inprocess.InProcessEventConfig;
+import com.stride.stride_common.inprocess.InProcessEventProperties;
+import com.stride.stride_common.inprocess.InProcessEventPublisher;
+import com.stride.stride_common.kafka.EventPublisher;
+import com.stride.stride_common.kafka.EventSerializer;
+import com.stride.stride_common.kafka.KafkaEventProducer;
+import com.stride.stride_common.kafka.KafkaTopicResolver;
+
+/**
+ * Tests for the transactional outbox publisher and relay against embedded H2
+ */
+class OutboxRelayTest {
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private KafkaEventProducer kafkaEventProducer;
+    private OutboxEventPublisher publisher;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+            .setType(EmbeddedDatabaseType.H2)
+            .generateUniqueName(true)
+            .addScript("classpath:META-INF/stride/outbox-schema.sql")
+            .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(database));
+
+        kafkaEventProducer = mock(KafkaEventProducer.class);
+        when(kafkaEventProducer.partitionKeyFor(any(BaseEvent.class))).thenReturn("generated-key");
+        when(kafkaEventProducer.publishSerialized(anyString(), anyString(), anyString(), anyString(), any()))
+            .thenReturn(CompletableFuture.completedFuture(null));
+
+        OutboxProperties properties = new OutboxProperties();
+        properties.getRelay().setBatchSize(500);
+        publisher = new OutboxEventPublisher(jdbcTemplate, new EventSerializer(), new KafkaTopicResolver(),
+            kafkaEventProducer, properties);
+        relay = new OutboxRelay(jdbcTemplate, transactionTemplate, kafkaEventProducer, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void shouldOnlyRecordEventsFromCommittedTransactions() {
+        transactionTemplate.executeWithoutResult(status ->
+            publisher.publish("stride.local.user-events", "org-1", TestEvents.userCreated("user-1", "org-1", Instant.now())));
+        transactionTemplate.executeWithoutResult(status -> {
+            publisher.publish("stride.local.user-events", "org-1", TestEvents.userCreated("user-2", "org-1", Instant.now()));
+            status.setRollbackOnly();
+        });
+
+        assertThat(outboxSize()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldComposeWithTheInProcessBus() {
+        ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withBean(JdbcTemplate.class, () -> jdbcTemplate)
+            .withBean(PlatformTransactionManager.class, () -> new DataSourceTransactionManager(database))
+            .withBean(EventSerializer.class)
+            .withBean(KafkaTopicResolver.class)
+            .withBean(KafkaEventProducer.class, () -> kafkaEventProducer)
+            .withUserConfiguration(OutboxProperties.class, InProcessEventProperties.class,
+                OutboxConfig.class, InProcessEventConfig.class)
+            .withPropertyValues("stride.outbox.enabled=true", "stride.outbox.relay.enabled=false");
+
+        contextRunner.run(context -> assertThat(context.getBean(EventPublisher.class)).isInstanceOf(OutboxEventPublisher.class));
+        contextRunner.withPropertyValues("stride.events.in-process.enabled=true").run(context -> {
+            EventPublisher publisher = context.getBean(EventPublisher.class);
+            assertThat(publisher).isInstanceOf(InProcessEventPublisher.class);
+
+            transactionTemplate.executeWithoutResult(status -> publisher.publish("stride.local.user-events", "org-1",
+                TestEvents.userCreated("user-1", "org-1", Instant.now())));
+
+            assertThat(outboxSize()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    void shouldRequireActiveTransaction() {
+        assertThatThrownBy(() -> publisher.publishSync("stride.local.user-events",
+                TestEvents.userCreated("user-1", "org-1", Instant.now())))
+            .isInstanceOf(EventPublishException.class);
+        assertThat(outboxSize()).isZero();
+    }
+
+    @Test
+    void shouldRelayAndDeleteInBatches() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < 1200; i++) {
+                publisher.publish("stride.local.task-events", TestEvents.taskCreated("task-" + i, "team-1", Instant.now()));
+            }
+        });
+
+        assertThat(relay.relayBatch()).isEqualTo(500);
+        assertThat(relay.relayBatch()).isEqualTo(500);
+        assertThat(relay.relayBatch()).isEqualTo(200);
+        assertThat(relay.relayBatch()).isZero();
+        assertThat(outboxSize()).isZero();
+        assertThat(relay.getRelayedCount()).isEqualTo(1200);
+    }
+
+    @Test
+    void shouldRelayTheCorrelationIdOfThePublishingRequest() {
+        transactionTemplate.executeWithoutResult(status -> StrideRequestContext.anonymous("corr-9").run(() ->
+            publisher.publish("stride.local.user-events", "in-request", TestEvents.userCreated("user-1", "org-1", Instant.now()))));
+        transactionTemplate.executeWithoutResult(status ->
+            publisher.publishAll(List.of(TestEvents.userCreated("user-2", "org-1", Instant.now()))));
+
+        assertThat(relay.relayBatch()).isEqualTo(2);
+        verify(kafkaEventProducer).publishSerialized(eq("stride.local.user-events"), eq("in-request"), anyString(),
+            anyString(), eq("corr-9"));
+        verify(kafkaEventProducer).publishSerialized(anyString(), eq("generated-key"), anyString(),
+            anyString(), isNull());
+    }
+
+    @Test
+    void shouldKeepRowsWhoseSendFailed() {
+        when(kafkaEventProducer.publishSerialized(anyString(), eq("poison"), anyString(), anyString(), any()))
+            .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            publisher.publish("stride.local.user-events", "ok", TestEvents.userCreated("user-1", "org-1", Instant.now()));
+            publisher.publish("stride.local.user-events", "poison", TestEvents.userCreated("user-2", "org-1", Instant.now()));
+        });
+
+        assertThat(relay.relayBatch()).isEqualTo(1);
+        assertThat(outboxSize()).isEqualTo(1);
+        assertThat(relay.getFailedCount()).isEqualTo(1);
+        assertThat(claimedSize()).isZero();
+    }
+
+    @Test
+    void shouldCommitClaimBeforeSending() {
+        AtomicInteger claimedDuringSend = new AtomicInteger(-1);
+        when(kafkaEventProducer.publishSerialized(anyString(), anyString(), anyString(), anyString(), any()))
+            .thenAnswer(invocation -> {
+                // Another relay must already see the lease and skip the rows without blocking on a row lock
+                claimedDuringSend.set(claimedSize());
+                return CompletableFuture.completedFuture(null);
+            });
+
+        transactionTemplate.executeWithoutResult(status ->
+            publisher.publish("stride.local.user-events", "org-1", TestEvents.userCreated("user-1", "org-1", Instant.now())));
+
+        assertThat(relay.relayBatch()).isEqualTo(1);
+        assertThat(claimedDuringSend).hasValue(1);
+        assertThat(outboxSize()).isZero();
+    }
+
+    @Test
+    void shouldRejectClaimTimeoutNotLongerThanPublishTimeout() {
+        OutboxProperties properties = new OutboxProperties();
+        properties.getRelay().setClaimTimeout(properties.getRelay().getPublishTimeout());
+
+        assertThatThrownBy(() -> new OutboxRelay(jdbcTemplate, transactionTemplate, kafkaEventProducer, properties))
+            .isInstanceOf(ServiceException.class);
+    }
+
+    private int claimedSize() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM stride_outbox WHERE claimed_until IS NOT NULL", Integer.class);
+    }
+
+    private int outboxSize() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM stride_outbox", Integer.class);
+    }
+}
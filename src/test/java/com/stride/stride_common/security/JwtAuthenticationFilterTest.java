@@ -0,0 +1,110 @@
+package com.stride.stride_common.security;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.stride.stride_common.auth.JwtAuthenticationToken;
+import com.stride.stride_common.auth.JwtTokenProvider;
+import com.stride.stride_common.auth.UserPrincipal;
+
+/**
+ * Tests for the bearer-token authentication filter
+ */
+class JwtAuthenticationFilterTest {
+
+    private final JwtTokenProvider tokenProvider = spy(new JwtTokenProvider(
+        "testSecretKeyThatIsAtLeast256BitsLongForHS256Signing", 60, 30, "stride-test"));
+    private final JwtAuthenticationFilter filter =
+        new JwtAuthenticationFilter(tokenProvider, List.of(SecurityConstants.PUBLIC_URLS));
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldAuthenticateFromVerifiedClaimsWithSingleVerification() throws Exception {
+        String token = tokenProvider.generateAccessToken("user-1", "org-1", List.of("ORG_ADMIN", "TEAM_MEMBER"));
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request("/api/tasks", "Bearer " + token), new MockHttpServletResponse(), chain);
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertThat(authentication).isInstanceOf(JwtAuthenticationToken.class);
+        assertThat(authentication.isAuthenticated()).isTrue();
+        assertThat(authentication.getCredentials()).isEqualTo(token);
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+        assertThat(principal.userId()).isEqualTo("user-1");
+        assertThat(principal.organizationId()).isEqualTo("org-1");
+        assertThat(authentication.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+            .containsExactly("ROLE_ORG_ADMIN", "ROLE_TEAM_MEMBER");
+        assertThat(chain.getRequest()).isNotNull();
+        verify(tokenProvider, times(1)).introspect(token);
+        verify(tokenProvider, never()).validateToken(anyString());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/api/auth/login", "/api/health", "/api/health/live", "/actuator/prometheus", "/v3/api-docs/x"})
+    void shouldSkipPublicUrlsWithoutReadingToken(String path) throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request(path, "Bearer not-even-checked"), new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verify(tokenProvider, never()).introspect(anyString());
+    }
+
+    @Test
+    void shouldHonourContextPathWhenMatchingPublicUrls() throws Exception {
+        MockHttpServletRequest request = request("/tasks-service/api/auth/login", "Bearer x.y.z");
+        request.setContextPath("/tasks-service");
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        verify(tokenProvider, never()).introspect(anyString());
+    }
+
+    @Test
+    void shouldContinueUnauthenticatedOnInvalidOrRefreshToken() throws Exception {
+        MockFilterChain invalidChain = new MockFilterChain();
+        filter.doFilter(request("/api/tasks", "Bearer a.b.c"), new MockHttpServletResponse(), invalidChain);
+        assertThat(invalidChain.getRequest()).isNotNull();
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+
+        String refresh = tokenProvider.generateRefreshToken("user-1");
+        filter.doFilter(request("/api/tasks", "Bearer " + refresh), new MockHttpServletResponse(), new MockFilterChain());
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    void shouldExtractBearerTokenWithoutRegex() {
+        assertThat(JwtAuthenticationFilter.bearerToken("Bearer abc.def.ghi")).isEqualTo("abc.def.ghi");
+        assertThat(JwtAuthenticationFilter.bearerToken("bearer   abc.def.ghi ")).isEqualTo("abc.def.ghi");
+        assertThat(JwtAuthenticationFilter.bearerToken("Basic dXNlcjpwYXNz")).isNull();
+        assertThat(JwtAuthenticationFilter.bearerToken("Bearer    ")).isNull();
+        assertThat(JwtAuthenticationFilter.bearerToken(null)).isNull();
+    }
+
+    private static MockHttpServletRequest request(String uri, String authorization) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.addHeader(SecurityConstants.JWT_TOKEN_HEADER, authorization);
+        return request;
+    }
+}
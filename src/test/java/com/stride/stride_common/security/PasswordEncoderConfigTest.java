@@ -1,29 +1,35 @@
 package com.stride.stride_common.security;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import org.junit.jupiter.api.Test;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 /**
- * Tests for PasswordEncoderConfig
+ * Tests for PasswordEncoderConfig and the CalibratedPasswordEncoder
  */
 class PasswordEncoderConfigTest {
 
     private final PasswordEncoderConfig config = new PasswordEncoderConfig();
 
     @Test
-    void shouldReturnBCryptPasswordEncoder() {
-        PasswordEncoder encoder = config.passwordEncoder();
+    void shouldReturnBCryptEncoderWhenNotCalibrated() {
+        CalibratedPasswordEncoder encoder = config.passwordEncoder(uncalibrated());
         
-        assertThat(encoder).isInstanceOf(BCryptPasswordEncoder.class);
+        assertThat(encoder.getAlgorithm()).isEqualTo(PasswordHashAlgorithm.BCRYPT);
     }
 
     @Test
-    void shouldUseStrength12() {
-        BCryptPasswordEncoder encoder = (BCryptPasswordEncoder) config.passwordEncoder();
+    void shouldUseStrength12WhenNotCalibrated() {
+        CalibratedPasswordEncoder encoder = config.passwordEncoder(uncalibrated());
         
-        // BCryptPasswordEncoder doesn't expose strength directly, but we can test behavior
+        assertThat(encoder.getStrength()).isEqualTo(12);
         String password = "testPassword123";
         String encoded1 = encoder.encode(password);
         String encoded2 = encoder.encode(password);
@@ -40,21 +46,33 @@ class PasswordEncoderConfigTest {
     }
 
     @Test
-    void shouldProduceBCryptHashFormat() {
-        PasswordEncoder encoder = config.passwordEncoder();
+    void shouldProducePlainBCryptHashFormatAtDefaultCost() {
+        PasswordEncoder encoder = config.passwordEncoder(uncalibrated());
         String password = "testPassword123";
         String encoded = encoder.encode(password);
         
-        // BCrypt hashes start with $2a$, $2b$, or $2y$ followed by cost parameter
-        assertThat(encoded).matches("\\$2[aby]\\$\\d{2}\\$.{53}");
+        // $2a$, $2b$, or $2y$ and the cost parameter, without prefix
+        assertThat(encoded).matches("\\$2[aby]\\$12\\$.{53}");
         
-        // Should be exactly 60 characters for BCrypt
+        // Exactly 60 characters for BCrypt, readable by nodes still on a plain BCryptPasswordEncoder
         assertThat(encoded).hasSize(60);
+        assertThat(new BCryptPasswordEncoder(12).matches(password, encoded)).isTrue();
+        assertThat(new CalibratedPasswordEncoder(PasswordHashAlgorithm.BCRYPT, 13).encode(password)).startsWith("{bcrypt}");
+    }
+
+    @Test
+    void shouldKeepBCryptWhenArgon2IsAvailable() {
+        CalibratedPasswordEncoder encoder = CalibratedPasswordEncoder.calibrate(
+            uncalibrated().getPasswordHashing(), algorithm -> true);
+        
+        assertThat(encoder.getAlgorithm()).isEqualTo(PasswordHashAlgorithm.BCRYPT);
+        assertThat(encoder.getStrength()).isEqualTo(12);
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(12).encode("testPassword123"))).isFalse();
     }
 
     @Test
     void shouldHandleSpecialCharacters() {
-        PasswordEncoder encoder = config.passwordEncoder();
+        PasswordEncoder encoder = config.passwordEncoder(uncalibrated());
         String specialPassword = "p@ssw0rd!#$%^&*()";
         String encoded = encoder.encode(specialPassword);
         
@@ -64,7 +82,7 @@ class PasswordEncoderConfigTest {
 
     @Test
     void shouldHandleEmptyAndNullPasswords() {
-        PasswordEncoder encoder = config.passwordEncoder();
+        PasswordEncoder encoder = config.passwordEncoder(uncalibrated());
         
         // Empty string
         String emptyEncoded = encoder.encode("");
@@ -80,8 +98,8 @@ class PasswordEncoderConfigTest {
 
     @Test
     void shouldBeConsistentAcrossInstances() {
-        PasswordEncoder encoder1 = new PasswordEncoderConfig().passwordEncoder();
-        PasswordEncoder encoder2 = new PasswordEncoderConfig().passwordEncoder();
+        PasswordEncoder encoder1 = new PasswordEncoderConfig().passwordEncoder(uncalibrated());
+        PasswordEncoder encoder2 = new PasswordEncoderConfig().passwordEncoder(uncalibrated());
         
         String password = "testPassword123";
         String encoded = encoder1.encode(password);
@@ -89,4 +107,98 @@ class PasswordEncoderConfigTest {
         // Different instances should be able to verify each other's hashes
         assertThat(encoder2.matches(password, encoded)).isTrue();
     }
+
+    @Test
+    void shouldVerifyUnprefixedLegacyHashes() {
+        PasswordEncoder encoder = config.passwordEncoder(uncalibrated());
+        String legacy = new BCryptPasswordEncoder(12).encode("testPassword123");
+        
+        assertThat(encoder.matches("testPassword123", legacy)).isTrue();
+        assertThat(encoder.matches("wrongPassword", legacy)).isFalse();
+        assertThat(encoder.upgradeEncoding(legacy)).isFalse();
+        assertThat(encoder.matches("testPassword123", "{unknown}abc")).isFalse();
+        assertThat(encoder.matches("testPassword123", null)).isFalse();
+    }
+
+    @Test
+    void shouldNotCalibrateByDefault() {
+        SecurityProperties.PasswordHashing properties = new SecurityProperties().getPasswordHashing();
+        
+        assertThat(properties.isCalibrate()).isFalse();
+        assertThat(properties.isRehashCostlier()).isFalse();
+        assertThat(PasswordHashAlgorithm.BCRYPT.minimumStrength()).isEqualTo(12);
+    }
+
+    @Test
+    void shouldRehashWeakerButKeepCostlierHashesOnLogin() {
+        CalibratedPasswordEncoder encoder = new CalibratedPasswordEncoder(PasswordHashAlgorithm.BCRYPT, 5);
+        List<String> rehashed = new ArrayList<>();
+        
+        assertThat(encoder.verify("secret", new BCryptPasswordEncoder(4).encode("secret"), rehashed::add)).isTrue();
+        assertThat(encoder.verify("secret", "{bcrypt}" + new BCryptPasswordEncoder(6).encode("secret"), rehashed::add)).isTrue();
+        assertThat(encoder.verify("wrong", new BCryptPasswordEncoder(4).encode("secret"), rehashed::add)).isFalse();
+        assertThat(rehashed).hasSize(1);
+        assertThat(rehashed.get(0)).startsWith("{bcrypt}$2a$05$");
+        
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(7).encode("secret"))).isFalse();
+        assertThat(encoder.upgradeEncoding(rehashed.get(0))).isFalse();
+        
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        encoder.bindTo(registry);
+        assertThat(registry.get("stride.password.rehash").functionCounter().count()).isEqualTo(1.0);
+        assertThat(registry.get("stride.password.hash").tag("operation", "encode").functionTimer().count()).isEqualTo(1.0);
+        assertThat(registry.get("stride.password.hash").tag("operation", "matches").functionTimer().count()).isEqualTo(3.0);
+    }
+
+    @Test
+    void shouldRehashMuchCostlierHashesOnlyWhenEnabled() {
+        CalibratedPasswordEncoder encoder = new CalibratedPasswordEncoder(PasswordHashAlgorithm.BCRYPT, 5, true);
+        
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("secret"))).isFalse();
+        assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(7).encode("secret"))).isTrue();
+    }
+
+    @Test
+    void shouldMigrateBetweenAlgorithms() {
+        CalibratedPasswordEncoder pbkdf2 = new CalibratedPasswordEncoder(PasswordHashAlgorithm.PBKDF2, 20_000);
+        CalibratedPasswordEncoder bcrypt = new CalibratedPasswordEncoder(PasswordHashAlgorithm.BCRYPT, 4);
+        String encoded = pbkdf2.encode("secret");
+        
+        assertThat(encoded).startsWith("{pbkdf2:20000}");
+        assertThat(bcrypt.matches("secret", encoded)).isTrue();
+        assertThat(bcrypt.upgradeEncoding(encoded)).isTrue();
+        assertThat(pbkdf2.matches("secret", bcrypt.encode("secret"))).isTrue();
+        assertThat(new CalibratedPasswordEncoder(PasswordHashAlgorithm.PBKDF2, 30_000).matches("secret", encoded)).isTrue();
+        assertThat(pbkdf2.matches("secret", "{pbkdf2}" + encoded.substring(14))).isFalse();
+    }
+
+    @Test
+    void shouldEstimateStrengthFromProbeTime() {
+        // bcrypt doubles per log round, PBKDF2 is linear in iterations
+        assertThat(PasswordHashAlgorithm.BCRYPT.strengthFor(10_000_000, 100_000_000)).isEqualTo(11);
+        assertThat(PasswordHashAlgorithm.BCRYPT.strengthFor(10_000_000, 1_000_000)).isLessThan(10);
+        assertThat(PasswordHashAlgorithm.BCRYPT.strengthFor(1, Long.MAX_VALUE)).isEqualTo(20);
+        assertThat(PasswordHashAlgorithm.PBKDF2.strengthFor(2_000_000, 100_000_000)).isEqualTo(1_000_000);
+        assertThat(PasswordHashAlgorithm.PBKDF2.strengthFor(3_000_000, 100_000_000)).isEqualTo(660_000);
+    }
+
+    @Test
+    void shouldCalibrateWithinFloorAndSkipUnavailableAlgorithms() {
+        SecurityProperties properties = new SecurityProperties();
+        properties.getPasswordHashing().setCalibrate(true);
+        properties.getPasswordHashing().setTargetHashTime(Duration.ofMillis(1));
+        
+        CalibratedPasswordEncoder encoder = config.passwordEncoder(properties);
+        
+        // Argon2 needs BouncyCastle, which is not on the test classpath; 1 ms is below every floor
+        assertThat(PasswordHashAlgorithm.ARGON2.isAvailable()).isFalse();
+        assertThat(encoder.getAlgorithm()).isEqualTo(PasswordHashAlgorithm.BCRYPT);
+        assertThat(encoder.getStrength()).isEqualTo(PasswordHashAlgorithm.BCRYPT.minimumStrength());
+    }
+
+    private static SecurityProperties uncalibrated() {
+        SecurityProperties properties = new SecurityProperties();
+        properties.getPasswordHashing().setCalibrate(false);
+        return properties;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,128 @@
+package com.stride.stride_common.security;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.stride.stride_common.exceptions.ServiceException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests for the PasswordVerificationService bulkhead
+ */
+class PasswordVerificationServiceTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+    private volatile String hashingThread;
+    private PasswordVerificationService service;
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        if (service != null) {
+            service.destroy();
+        }
+    }
+
+    @Test
+    void shouldHashOnDedicatedThreads() throws Exception {
+        service = new PasswordVerificationService(new CalibratedPasswordEncoder(PasswordHashAlgorithm.BCRYPT, 4), 2, 8, 2);
+
+        String encoded = service.encode("alice", "secret").get(5, TimeUnit.SECONDS);
+
+        assertThat(service.matches("alice", "secret", encoded).get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(service.matches("alice", "wrong", encoded).get(5, TimeUnit.SECONDS)).isFalse();
+    }
+
+    @Test
+    void shouldRejectWhenAccountHasTooManyInFlight() throws Exception {
+        service = new PasswordVerificationService(blockingEncoder(), 1, 8, 2);
+
+        CompletableFuture<Boolean> first = service.matches("victim", "a", "hash");
+        CompletableFuture<Boolean> second = service.matches("victim", "b", "hash");
+        CompletableFuture<Boolean> third = service.matches("victim", "c", "hash");
+        CompletableFuture<Boolean> other = service.matches("bystander", "d", "hash");
+
+        assertOverloaded(third, "account-limit");
+        assertThat(other).isNotDone();
+        release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(second.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(other.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(service.matches("victim", "e", "hash").get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void shouldRejectFastWhenQueueIsFull() throws Exception {
+        service = new PasswordVerificationService(blockingEncoder(), 1, 2, 1);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        service.bindTo(registry);
+
+        CompletableFuture<Boolean> running = service.matches("user-1", "a", "hash");
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Boolean> queued1 = service.matches("user-2", "b", "hash");
+        CompletableFuture<Boolean> queued2 = service.matches("user-3", "c", "hash");
+        CompletableFuture<Boolean> rejected = service.matches("user-4", "d", "hash");
+
+        assertOverloaded(rejected, "queue-full");
+        assertThat(hashingThread).startsWith("stride-password-");
+        assertThat(registry.get("stride.password.verification.queued").gauge().value()).isEqualTo(2.0);
+        assertThat(registry.get("stride.password.verification.rejected").tag("reason", "queue-full")
+            .functionCounter().count()).isEqualTo(1.0);
+        release.countDown();
+        CompletableFuture.allOf(running, queued1, queued2).get(5, TimeUnit.SECONDS);
+        // The rejected account's slot was released
+        assertThat(service.matches("user-4", "d", "hash").get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void shouldPropagateEncoderFailuresAndReleaseSlot() throws Exception {
+        service = new PasswordVerificationService(new CalibratedPasswordEncoder(PasswordHashAlgorithm.BCRYPT, 4), 1, 4, 1);
+
+        assertThatThrownBy(() -> service.encode("alice", null).get(5, TimeUnit.SECONDS))
+            .hasCauseInstanceOf(IllegalArgumentException.class);
+        assertThat(service.encode("alice", "secret").get(5, TimeUnit.SECONDS)).startsWith("{bcrypt}");
+        assertThatThrownBy(() -> new PasswordVerificationService(blockingEncoder(), 1, 0, 1))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void assertOverloaded(CompletableFuture<?> future, String reason) {
+        assertThat(future).isCompletedExceptionally();
+        assertThatThrownBy(future::join)
+            .cause()
+            .isInstanceOf(ServiceException.class)
+            .satisfies(e -> {
+                assertThat(((ServiceException) e).getErrorCode()).isEqualTo("SERVICE_OVERLOADED");
+                assertThat(((ServiceException) e).getContext()).containsEntry("reason", reason);
+            });
+    }
+
+    private PasswordEncoder blockingEncoder() {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                hashingThread = Thread.currentThread().getName();
+                started.countDown();
+                try {
+                    return release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        };
+    }
+}
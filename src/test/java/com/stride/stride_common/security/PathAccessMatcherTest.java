@@ -0,0 +1,94 @@
+package com.stride.stride_common.security;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.util.AntPathMatcher;
+
+import com.stride.stride_common.security.PathAccessMatcher.Access;
+
+/**
+ * Tests for the path-trie access matcher
+ */
+class PathAccessMatcherTest {
+
+    private static final List<String> PUBLIC = new ArrayList<>(Arrays.asList(SecurityConstants.PUBLIC_URLS));
+    private static final List<String> INTERNAL = List.of(SecurityConstants.INTERNAL_URLS);
+
+    static {
+        PUBLIC.addAll(List.of("/api/orgs/{orgId}/invites/*", "/static/*.js", "/api/public/**/docs", "/internal/status"));
+    }
+
+    private final PathAccessMatcher matcher = new PathAccessMatcher(PUBLIC, INTERNAL);
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "/api/auth/login", "/api/auth/login/", "/api/auth/loginx", "/api/auth", "/api/health", "/api/health/",
+        "/api/health/live/deep", "/api/healthz", "/actuator", "/actuator/prometheus", "/v3/api-docs/x",
+        "/swagger-ui/index.html", "/internal", "/internal/", "/internal/users/1", "/internal/status",
+        "/internals", "/api/tasks", "/", "", "/api/orgs/o-1/invites/abc", "/api/orgs/o-1/invites",
+        "/api/orgs/o-1/invites/abc/extra", "/static/app.js", "/static/app.css", "/api/public/v1/docs",
+        "/api/public/docs", "//api//auth//login"
+    })
+    void shouldAgreeWithOrderedAntPatterns(String path) {
+        assertThat(matcher.decide(path)).isEqualTo(reference(path));
+    }
+
+    @Test
+    void shouldPreferPublicOverInternalAndDefaultToAuthenticated() {
+        assertThat(matcher.decide("/internal/status")).isEqualTo(Access.PUBLIC);
+        assertThat(matcher.decide("/internal/users")).isEqualTo(Access.INTERNAL);
+        assertThat(matcher.decide("/api/tasks/1")).isEqualTo(Access.AUTHENTICATED);
+    }
+
+    @Test
+    void shouldDecideRelativeToContextPathAndReuseDecision() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/tasks-service/api/auth/login");
+        request.setContextPath("/tasks-service");
+
+        assertThat(matcher.decide(request)).isEqualTo(Access.PUBLIC);
+        assertThat(matcher.matcherFor(Access.PUBLIC).matches(request)).isTrue();
+
+        request.setRequestURI("/tasks-service/error");
+        assertThat(matcher.decide(request)).isEqualTo(Access.AUTHENTICATED);
+    }
+
+    @Test
+    void shouldGrantPermittedPathsAndRequireAuthenticationElsewhere() {
+        UsernamePasswordAuthenticationToken user = UsernamePasswordAuthenticationToken.authenticated(
+            "user-1", null, AuthorityUtils.NO_AUTHORITIES);
+        AnonymousAuthenticationToken anonymous = new AnonymousAuthenticationToken(
+            "key", "anonymous", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS"));
+
+        assertThat(matcher.authorize(() -> anonymous, context("/api/auth/login")).isGranted()).isTrue();
+        assertThat(matcher.authorize(() -> anonymous, context("/internal/users")).isGranted()).isTrue();
+        assertThat(matcher.authorize(() -> anonymous, context("/api/tasks")).isGranted()).isFalse();
+        assertThat(matcher.authorize(() -> null, context("/api/tasks")).isGranted()).isFalse();
+        assertThat(matcher.authorize(() -> user, context("/api/tasks")).isGranted()).isTrue();
+    }
+
+    private static RequestAuthorizationContext context(String path) {
+        return new RequestAuthorizationContext(new MockHttpServletRequest("GET", path));
+    }
+
+    private static Access reference(String path) {
+        AntPathMatcher ant = new AntPathMatcher();
+        if (PUBLIC.stream().anyMatch(pattern -> ant.match(pattern, path))) {
+            return Access.PUBLIC;
+        }
+        if (INTERNAL.stream().anyMatch(pattern -> ant.match(pattern, path))) {
+            return Access.INTERNAL;
+        }
+        return Access.AUTHENTICATED;
+    }
+}
@@ -0,0 +1,176 @@
+package com.stride.stride_common.security;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.method.AuthorizationManagerBeforeMethodInterceptor;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.stride.stride_common.auth.JwtAuthenticationToken;
+import static com.stride.stride_common.auth.StrideAuthority.ASSIGN_TASKS;
+import static com.stride.stride_common.auth.StrideAuthority.CREATE_ORGANIZATION;
+import static com.stride.stride_common.auth.StrideAuthority.MANAGE_TEAMS;
+import static com.stride.stride_common.auth.StrideAuthority.MANAGE_USERS;
+import com.stride.stride_common.auth.PermissionMatrix;
+import com.stride.stride_common.auth.StrideAuthority;
+import com.stride.stride_common.auth.UserPrincipal;
+
+/**
+ * Tests for @RequiresPermission method security and the role/permission matrix
+ */
+class PermissionAuthorizationTest {
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldCompileRolePermissionMatrixFromConstants() {
+        assertThat(PermissionMatrix.impliedBy(StrideAuthority.SUPER_ADMIN) & CREATE_ORGANIZATION.bit()).isNotZero();
+        assertThat(PermissionMatrix.impliedBy(StrideAuthority.ORG_ADMIN) & CREATE_ORGANIZATION.bit()).isZero();
+        assertThat(PermissionMatrix.impliedBy(StrideAuthority.TEAM_ADMIN) & MANAGE_TEAMS.bit()).isNotZero();
+        assertThat(PermissionMatrix.impliedBy(StrideAuthority.TEAM_MEMBER) & MANAGE_TEAMS.bit()).isZero();
+    }
+
+    @Test
+    void shouldGrantPermissionsImpliedByRoles() {
+        TeamService service = proxy(new TeamService());
+
+        authenticate("TEAM_ADMIN");
+        assertThat(service.updateTeam()).isEqualTo("updated");
+        assertThat(service.assignOrManage()).isEqualTo("assigned");
+        assertThatThrownBy(service::deleteUser).isInstanceOf(AccessDeniedException.class);
+
+        authenticate("ORG_ADMIN");
+        assertThat(service.deleteUser()).isEqualTo("deleted");
+    }
+
+    @Test
+    void shouldApplyClassLevelAndMetaAnnotations() {
+        OrganizationService service = proxy(new OrganizationService());
+
+        authenticate("ORG_ADMIN");
+        assertThatThrownBy(service::create).isInstanceOf(AccessDeniedException.class);
+        assertThat(service.invite()).isEqualTo("invited");
+
+        authenticate("SUPER_ADMIN");
+        assertThat(service.create()).isEqualTo("created");
+    }
+
+    @Test
+    void shouldRejectMissingAuthenticationAndFallBackToGrantedAuthorities() {
+        TeamService service = proxy(new TeamService());
+
+        assertThatThrownBy(service::updateTeam).isInstanceOf(AuthenticationCredentialsNotFoundException.class);
+
+        SecurityContextHolder.getContext().setAuthentication(UsernamePasswordAuthenticationToken.authenticated(
+            "svc", null, List.of(new SimpleGrantedAuthority("ROLE_TEAM_ADMIN"))));
+        assertThat(service.updateTeam()).isEqualTo("updated");
+    }
+
+    @Test
+    void shouldResolveRequirementOncePerMethod() {
+        PermissionAuthorizationManager manager = new PermissionAuthorizationManager();
+        ProxyFactory factory = new ProxyFactory(new TeamService());
+        factory.setProxyTargetClass(true);
+        factory.addAdvisor(new AuthorizationManagerBeforeMethodInterceptor(MethodSecurityConfig.requiresPermissionPointcut(), manager));
+        TeamService service = (TeamService) factory.getProxy();
+        authenticate("ORG_ADMIN");
+
+        for (int i = 0; i < 100; i++) {
+            service.updateTeam();
+            service.deleteUser();
+        }
+
+        assertThat(manager.getCachedMethodCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldEvaluateHasPermissionFromMask() {
+        StridePermissionEvaluator evaluator = new StridePermissionEvaluator();
+        JwtAuthenticationToken authentication = token("TEAM_ADMIN");
+
+        assertThat(evaluator.hasPermission(authentication, null, "MANAGE_TEAMS")).isTrue();
+        assertThat(evaluator.hasPermission(authentication, "team-1", "Team", MANAGE_USERS)).isFalse();
+        assertThat(evaluator.hasPermission(authentication, null, "UNKNOWN")).isFalse();
+    }
+
+    @Test
+    void shouldExpandPermissionsOnlyForPermissionChecks() {
+        JwtAuthenticationToken authentication = token("TEAM_ADMIN");
+
+        assertThat(authentication.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+            .containsExactly("ROLE_TEAM_ADMIN");
+        assertThat(new StridePermissionEvaluator().hasPermission(authentication, null, MANAGE_TEAMS)).isTrue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(T target) {
+        Advisor advisor = MethodSecurityConfig.requiresPermissionAuthorizationAdvisor();
+        ProxyFactory factory = new ProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAdvisor(advisor);
+        return (T) factory.getProxy();
+    }
+
+    private static void authenticate(String... roles) {
+        SecurityContextHolder.getContext().setAuthentication(token(roles));
+    }
+
+    private static JwtAuthenticationToken token(String... roles) {
+        UserPrincipal principal = new UserPrincipal("user-1", "user-1", "org-1", List.of(roles), true);
+        return new JwtAuthenticationToken("token", principal, principal.getAuthorities());
+    }
+
+    static class TeamService {
+
+        @RequiresPermission(MANAGE_TEAMS)
+        public String updateTeam() {
+            return "updated";
+        }
+
+        @RequiresPermission(value = {ASSIGN_TASKS, MANAGE_USERS}, anyOf = true)
+        public String assignOrManage() {
+            return "assigned";
+        }
+
+        @RequiresPermission(MANAGE_USERS)
+        public String deleteUser() {
+            return "deleted";
+        }
+    }
+
+    @Target(ElementType.METHOD)
+    @Retention(RetentionPolicy.RUNTIME)
+    @RequiresPermission(MANAGE_USERS)
+    @interface CanManageUsers {
+    }
+
+    @RequiresPermission(CREATE_ORGANIZATION)
+    static class OrganizationService {
+
+        public String create() {
+            return "created";
+        }
+
+        @CanManageUsers
+        public String invite() {
+            return "invited";
+        }
+    }
+}
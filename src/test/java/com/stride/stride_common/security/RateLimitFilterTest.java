@@ -0,0 +1,170 @@
+package com.stride.stride_common.security;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.stride.stride_common.auth.JwtAuthenticationToken;
+import com.stride.stride_common.auth.UserPrincipal;
+
+/**
+ * Tests for the packed token-bucket RateLimiter and RateLimitFilter
+ */
+class RateLimitFilterTest {
+
+    private final AtomicLong nanos = new AtomicLong(1_000_000_000L);
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldAllowBurstThenRefillAtConfiguredRate() {
+        RateLimiter limiter = new RateLimiter(60, 3, 1024, nanos::get);
+        long key = RateLimiter.hash('u', "user-1");
+
+        assertThat(limiter.tryAcquire(key)).isZero();
+        assertThat(limiter.tryAcquire(key)).isZero();
+        assertThat(limiter.tryAcquire(key)).isZero();
+        assertThat(limiter.tryAcquire(key)).isEqualTo(1_000_000L);
+
+        nanos.addAndGet(999_000_000L);
+        assertThat(limiter.tryAcquire(key)).isEqualTo(1_000L);
+        nanos.addAndGet(1_000_000L);
+        assertThat(limiter.tryAcquire(key)).isZero();
+        assertThat(limiter.tryAcquire(RateLimiter.hash('u', "user-2"))).isZero();
+        assertThat(limiter.getRejectedCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldReclaimIdleBucketsWithoutDisplacingBusyOnes() {
+        RateLimiter limiter = new RateLimiter(60, 1, 8, nanos::get);
+        assertThat(limiter.capacity()).isEqualTo(8);
+
+        for (int i = 0; i < 8; i++) {
+            assertThat(limiter.tryAcquire(RateLimiter.hash('i', "10.0.0." + i))).isZero();
+        }
+        assertThat(limiter.getDisplacedCount()).isZero();
+        assertThat(limiter.tryAcquire(RateLimiter.hash('i', "10.0.1.1"))).isZero();
+        assertThat(limiter.getDisplacedCount()).isEqualTo(1);
+
+        nanos.addAndGet(2_000_000_000L);
+        for (int i = 0; i < 8; i++) {
+            assertThat(limiter.tryAcquire(RateLimiter.hash('i', "10.0.2." + i))).isZero();
+        }
+        assertThat(limiter.getDisplacedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNeverAdmitMoreThanBurstUnderContention() throws Exception {
+        RateLimiter limiter = new RateLimiter(1, 50, 1024, nanos::get);
+        long key = RateLimiter.hash('o', "org-1");
+        AtomicInteger admitted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < 100; i++) {
+                    if (limiter.tryAcquire(key) == 0) {
+                        admitted.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(admitted.get()).isEqualTo(50);
+    }
+
+    @Test
+    void shouldRejectWithPrecomputedErrorBodyAndRetryAfter() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(new RateLimiter(30, 1, 1024, nanos::get),
+            SecurityProperties.RateLimiting.KeyStrategy.PRINCIPAL, true);
+
+        MockHttpServletResponse first = filter(filter, "203.0.113.7");
+        MockHttpServletResponse second = filter(filter, "203.0.113.7");
+
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(second.getStatus()).isEqualTo(429);
+        assertThat(second.getHeader("Retry-After")).isEqualTo("2");
+        assertThat(second.getContentType()).isEqualTo("application/json");
+        assertThat(second.getContentAsString())
+            .contains("\"errorCode\":\"RATE_LIMITED\"")
+            .contains("\"error\":\"Too Many Requests\"")
+            .doesNotContain("timestamp");
+        assertThat(filter(filter, "203.0.113.8").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void shouldKeyAuthenticatedRequestsByPrincipalOrOrganization() throws Exception {
+        RateLimitFilter byPrincipal = new RateLimitFilter(new RateLimiter(30, 1, 1024, nanos::get),
+            SecurityProperties.RateLimiting.KeyStrategy.PRINCIPAL, false);
+        RateLimitFilter byOrganization = new RateLimitFilter(new RateLimiter(30, 1, 1024, nanos::get),
+            SecurityProperties.RateLimiting.KeyStrategy.ORGANIZATION, false);
+
+        authenticate("user-1", "org-1");
+        assertThat(filter(byPrincipal, "203.0.113.7").getStatus()).isEqualTo(200);
+        assertThat(filter(byOrganization, "203.0.113.7").getStatus()).isEqualTo(200);
+
+        authenticate("user-2", "org-1");
+        assertThat(filter(byPrincipal, "203.0.113.7").getStatus()).isEqualTo(200);
+        assertThat(filter(byOrganization, "203.0.113.9").getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    void shouldNotLimitAnonymousRequestsUnlessEnabled() throws Exception {
+        RateLimitFilter filter = new RateLimitFilter(new RateLimiter(30, 1, 1024, nanos::get),
+            SecurityProperties.RateLimiting.KeyStrategy.PRINCIPAL, false);
+
+        // Behind a load balancer without forwarded headers every anonymous request has the proxy's address
+        for (int i = 0; i < 5; i++) {
+            assertThat(filter(filter, "10.0.0.1").getStatus()).isEqualTo(200);
+        }
+        authenticate("user-1", "org-1");
+        assertThat(filter(filter, "10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(filter(filter, "10.0.0.1").getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    void shouldDefaultToConfiguredProperties() {
+        SecurityProperties.RateLimiting properties = new SecurityProperties().getRateLimiting();
+
+        assertThat(properties.getKeyBy()).isEqualTo(SecurityProperties.RateLimiting.KeyStrategy.PRINCIPAL);
+        assertThat(properties.isLimitAnonymous()).isFalse();
+        assertThat(new RateLimiter(properties.getRequestsPerMinute(), properties.getBurstCapacity(),
+            properties.getMaxKeys()).capacity()).isEqualTo(1 << 20);
+    }
+
+    private static MockHttpServletResponse filter(RateLimitFilter filter, String remoteAddress) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+        request.setRemoteAddr(remoteAddress);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static void authenticate(String userId, String organizationId) {
+        UserPrincipal principal = new UserPrincipal(userId, userId, organizationId, List.of("TEAM_MEMBER"), true);
+        SecurityContextHolder.getContext().setAuthentication(
+            new JwtAuthenticationToken("token", principal, principal.getAuthorities()));
+    }
+}
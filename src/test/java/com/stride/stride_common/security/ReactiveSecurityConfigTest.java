@@ -0,0 +1,168 @@
+package com.stride.stride_common.security;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ReactiveWebApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.config.EnableWebFlux;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.stride.stride_common.auth.JwtTokenProvider;
+import static com.stride.stride_common.auth.StrideAuthority.MANAGE_TEAMS;
+import com.stride.stride_common.auth.UserPrincipal;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Tests for the WebFlux security chain
+ */
+class ReactiveSecurityConfigTest {
+
+    private static final String SECRET = "testSecretKeyThatIsAtLeast256BitsLongForHS256Signing";
+
+    private final JwtTokenProvider tokenProvider = new JwtTokenProvider(SECRET, 60, 30, "stride-test");
+
+    @Test
+    void shouldReplaceServletConfigurationInReactiveApplications() {
+        contextRunner(new SecurityProperties()).withUserConfiguration(SecurityConfig.class)
+            .run(context -> assertThat(context)
+                .hasSingleBean(SecurityWebFilterChain.class)
+                .hasSingleBean(ReactiveJwtAuthenticationManager.class)
+                .doesNotHaveBean(SecurityFilterChain.class)
+                .doesNotHaveBean(StrideCorsProcessor.class));
+    }
+
+    @Test
+    void shouldAuthenticateBearerTokensAndProtectNonPublicPaths() {
+        withClient(new SecurityProperties(), client -> {
+            String accessToken = tokenProvider.generateAccessToken("user-1", "org-1", List.of("TEAM_MEMBER"));
+
+            client.get().uri("/api/health/ping").exchange().expectStatus().isOk();
+            client.get().uri("/internal/sync").exchange().expectStatus().isOk();
+            client.get().uri("/api/teams").exchange().expectStatus().isUnauthorized();
+            client.get().uri("/api/teams").header(HttpHeaders.AUTHORIZATION, "Bearer not-a-token")
+                .exchange().expectStatus().isUnauthorized();
+            client.get().uri("/api/teams").header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenProvider.generateRefreshToken("user-1"))
+                .exchange().expectStatus().isUnauthorized();
+            client.get().uri("/api/teams").header(HttpHeaders.AUTHORIZATION, "bearer " + accessToken)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("X-Frame-Options", "DENY")
+                .expectBody(String.class).isEqualTo("user-1:org-1");
+        });
+    }
+
+    @Test
+    void shouldCheckRequiresPermissionAgainstTheReactiveSecurityContext() {
+        withClient(new SecurityProperties(), client -> {
+            String member = tokenProvider.generateAccessToken("user-1", "org-1", List.of("TEAM_MEMBER"));
+            String admin = tokenProvider.generateAccessToken("user-2", "org-1", List.of("TEAM_ADMIN"));
+
+            client.put().uri("/api/teams/team-1").header(HttpHeaders.AUTHORIZATION, "Bearer " + member)
+                .exchange().expectStatus().isForbidden();
+            client.put().uri("/api/teams/team-1").header(HttpHeaders.AUTHORIZATION, "Bearer " + admin)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("updated team-1");
+        });
+    }
+
+    @Test
+    void shouldRateLimitPerPrincipal() {
+        SecurityProperties properties = new SecurityProperties();
+        properties.getRateLimiting().setRequestsPerMinute(1);
+        properties.getRateLimiting().setBurstCapacity(1);
+        withClient(properties, client -> {
+            String first = tokenProvider.generateAccessToken("user-1", "org-1", List.of("TEAM_MEMBER"));
+            String second = tokenProvider.generateAccessToken("user-2", "org-1", List.of("TEAM_MEMBER"));
+
+            client.get().uri("/api/teams").header(HttpHeaders.AUTHORIZATION, "Bearer " + first)
+                .exchange().expectStatus().isOk();
+            client.get().uri("/api/teams").header(HttpHeaders.AUTHORIZATION, "Bearer " + first)
+                .exchange()
+                .expectStatus().isEqualTo(429)
+                .expectHeader().exists(HttpHeaders.RETRY_AFTER)
+                .expectBody(String.class).value(body -> assertThat(body).contains("RATE_LIMITED"));
+            client.get().uri("/api/teams").header(HttpHeaders.AUTHORIZATION, "Bearer " + second)
+                .exchange().expectStatus().isOk();
+        });
+    }
+
+    @Test
+    void shouldApplySharedCorsRules() {
+        withClient(new SecurityProperties(), client -> {
+            client.options().uri("/api/teams")
+                .header(HttpHeaders.ORIGIN, "https://app.stride.com")
+                .header(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, "GET")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, "https://app.stride.com");
+            client.options().uri("/api/teams")
+                .header(HttpHeaders.ORIGIN, "https://evil.example")
+                .header(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, "GET")
+                .exchange()
+                .expectStatus().isForbidden();
+        });
+    }
+
+    private void withClient(SecurityProperties properties, Consumer<WebTestClient> test) {
+        contextRunner(properties).withUserConfiguration(TestWebFluxConfig.class)
+            .run(context -> test.accept(WebTestClient.bindToApplicationContext(context).configureClient()
+                // Absolute request URIs, as a server sees them; CORS compares the origin with the host
+                .baseUrl("http://localhost:8080")
+                .build()));
+    }
+
+    private ReactiveWebApplicationContextRunner contextRunner(SecurityProperties properties) {
+        return new ReactiveWebApplicationContextRunner()
+            .withInitializer(context -> context.getBeanFactory().setConversionService(new ApplicationConversionService()))
+            .withBean(SecurityProperties.class, () -> properties)
+            .withBean(JwtTokenProvider.class, () -> tokenProvider)
+            .withUserConfiguration(CorsConfig.class, ReactiveSecurityConfig.class, MethodSecurityConfig.class);
+    }
+
+    /**
+     * Not a @Configuration, so the library's component scan in other tests does not pick it up
+     */
+    @EnableWebFlux
+    static class TestWebFluxConfig {
+
+        @Bean
+        TeamService teamService() {
+            return new TeamService();
+        }
+
+        @Bean
+        RouterFunction<ServerResponse> routes(TeamService teamService) {
+            return RouterFunctions.route()
+                .GET("/api/teams", request -> request.principal()
+                    .cast(Authentication.class)
+                    .flatMap(current -> ServerResponse.ok().bodyValue(current.getName() + ":"
+                        + ((UserPrincipal) current.getPrincipal()).organizationId())))
+                .GET("/api/health/ping", request -> ServerResponse.ok().bodyValue("ok"))
+                .GET("/internal/sync", request -> ServerResponse.ok().bodyValue("ok"))
+                .PUT("/api/teams/{id}", request -> teamService.updateTeam(request.pathVariable("id"))
+                    .flatMap(body -> ServerResponse.ok().bodyValue(body)))
+                .build();
+        }
+    }
+
+    static class TeamService {
+
+        @RequiresPermission(MANAGE_TEAMS)
+        Mono<String> updateTeam(String id) {
+            return Mono.just("updated " + id);
+        }
+    }
+}
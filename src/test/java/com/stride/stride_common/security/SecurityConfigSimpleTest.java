@@ -68,7 +68,7 @@ class SecurityConfigSimpleTest {
     void passwordEncoderConfigShouldBeCreatable() {
         PasswordEncoderConfig config = new PasswordEncoderConfig();
         
-        assertThat(config.passwordEncoder()).isNotNull();
+        assertThat(config.passwordEncoder(new SecurityProperties())).isNotNull();
     }
 
     @Test
@@ -0,0 +1,122 @@
+package com.stride.stride_common.security;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.DefaultCorsProcessor;
+
+/**
+ * Tests for StrideCorsProcessor against Spring's DefaultCorsProcessor
+ */
+class StrideCorsProcessorTest {
+
+    private static final CorsConfiguration CONFIG = new CorsConfig().corsConfigurationSource()
+        .getCorsConfiguration(new MockHttpServletRequest("GET", "/api/tasks"));
+
+    static {
+        CONFIG.addAllowedOriginPattern("https://*.stride.dev");
+    }
+
+    private final StrideCorsProcessor processor = new StrideCorsProcessor(1024);
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', nullValues = "-", value = {
+        "GET     | https://app.stride.com     | -      | -",
+        "GET     | https://app.stride.com/    | -      | -",
+        "GET     | HTTPS://APP.STRIDE.COM     | -      | -",
+        "GET     | https://evil.com           | -      | -",
+        "GET     | https://tenant.stride.dev  | -      | -",
+        "TRACE   | https://app.stride.com     | -      | -",
+        "GET     | http://localhost           | -      | -",
+        "GET     | -                          | -      | -",
+        "OPTIONS | https://app.stride.com     | PUT    | authorization, content-type",
+        "OPTIONS | https://app.stride.com     | PUT    | -",
+        "OPTIONS | https://app.stride.com     | PUT    | x-custom",
+        "OPTIONS | https://app.stride.com     | PUT    | authorization, x-custom",
+        "OPTIONS | https://app.stride.com     | TRACE  | authorization",
+        "OPTIONS | http://localhost:5173      | PATCH  | Content-Type",
+        "OPTIONS | https://a.b.stride.dev     | DELETE | authorization",
+        "OPTIONS | https://evil.com           | GET    | authorization"
+    })
+    void shouldAnswerLikeDefaultProcessor(String method, String origin, String requestMethod, String requestHeaders)
+            throws Exception {
+        MockHttpServletResponse expected = process(new DefaultCorsProcessor()::processRequest,
+            request(method, origin, requestMethod, requestHeaders));
+        MockHttpServletResponse first = process(processor::processRequest, request(method, origin, requestMethod, requestHeaders));
+        MockHttpServletResponse cached = process(processor::processRequest, request(method, origin, requestMethod, requestHeaders));
+
+        for (MockHttpServletResponse actual : List.of(first, cached)) {
+            assertThat(actual.getStatus()).isEqualTo(expected.getStatus());
+            assertThat(actual.getContentAsString()).isEqualTo(expected.getContentAsString());
+            assertThat(actual.getHeaders(HttpHeaders.VARY)).isEqualTo(expected.getHeaders(HttpHeaders.VARY));
+            for (String header : List.of(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, HttpHeaders.ACCESS_CONTROL_ALLOW_CREDENTIALS,
+                    HttpHeaders.ACCESS_CONTROL_MAX_AGE)) {
+                assertThat(actual.getHeader(header)).as(header).isEqualTo(expected.getHeader(header));
+            }
+            for (String header : List.of(HttpHeaders.ACCESS_CONTROL_ALLOW_METHODS, HttpHeaders.ACCESS_CONTROL_ALLOW_HEADERS,
+                    HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS)) {
+                assertThat(values(actual, header)).as(header).isEqualTo(values(expected, header));
+            }
+        }
+    }
+
+    @Test
+    void shouldKeepPreflightCacheBounded() throws Exception {
+        StrideCorsProcessor small = new StrideCorsProcessor(2);
+
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletResponse response = process(small::processRequest,
+                request("OPTIONS", "https://app.stride.com", "GET", "authorization, x-header-" + i));
+            assertThat(response.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_HEADERS)).isEqualTo("authorization");
+        }
+        assertThatThrownBy(() -> new StrideCorsProcessor(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldDelegateWildcardOriginToSpringHandling() throws Exception {
+        CorsConfiguration anyOrigin = new CorsConfiguration().applyPermitDefaultValues();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThat(processor.processRequest(anyOrigin, request("GET", "https://anything.example", null, null), response)).isTrue();
+        assertThat(response.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN)).isEqualTo("*");
+    }
+
+    private interface Processor {
+        boolean process(CorsConfiguration config, MockHttpServletRequest request, MockHttpServletResponse response)
+            throws Exception;
+    }
+
+    private static MockHttpServletResponse process(Processor processor, MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        processor.process(CONFIG, request, response);
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String method, String origin, String requestMethod, String requestHeaders) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/tasks");
+        request.setServerName("api.stride.com");
+        if (origin != null) {
+            request.addHeader(HttpHeaders.ORIGIN, origin);
+        }
+        if (requestMethod != null) {
+            request.addHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, requestMethod);
+        }
+        if (requestHeaders != null) {
+            request.addHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_HEADERS, requestHeaders);
+        }
+        return request;
+    }
+
+    private static List<String> values(MockHttpServletResponse response, String header) {
+        String value = response.getHeader(header);
+        return value == null ? List.of() : List.of(value.split("\\s*,\\s*"));
+    }
+}
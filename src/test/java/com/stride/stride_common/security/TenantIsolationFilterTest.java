@@ -0,0 +1,110 @@
+package com.stride.stride_common.security;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.stride.stride_common.auth.JwtAuthenticationToken;
+import com.stride.stride_common.auth.UserPrincipal;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests for TenantIsolationFilter
+ */
+class TenantIsolationFilterTest {
+
+    private final TenantIsolationFilter filter = new TenantIsolationFilter(new SecurityProperties.TenantIsolation());
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldPassRequestsForOwnOrganization() throws Exception {
+        authenticate("org-1", SecurityConstants.ROLE_ORG_ADMIN);
+
+        assertThat(filter(request("/api/organizations/org-1/teams", "org-1"))).isEqualTo(200);
+        assertThat(filter(request("/api/organizations/org-1", null))).isEqualTo(200);
+        assertThat(filter(request("/api/teams", null))).isEqualTo(200);
+    }
+
+    @Test
+    void shouldRejectOtherOrganizationInHeaderOrPath() throws Exception {
+        authenticate("org-1", SecurityConstants.ROLE_ORG_ADMIN);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        filter.bindTo(registry);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request("/api/teams", "org-2"), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(403);
+        assertThat(chain.getRequest()).isNull();
+        assertThat(response.getContentAsString()).contains("AUTHZ_ERROR").doesNotContain("org-2");
+        assertThat(filter(request("/api/organizations/org-2/teams", null))).isEqualTo(403);
+        assertThat(filter(request("/api/organizations/org-2/teams", "org-1"))).isEqualTo(403);
+        assertThat(registry.get("stride.security.tenant-isolation.rejected").functionCounter().count()).isEqualTo(3.0);
+    }
+
+    @Test
+    void shouldRejectTokensWithoutOrganization() throws Exception {
+        authenticate(null, SecurityConstants.ROLE_TEAM_MEMBER);
+
+        assertThat(filter(request("/api/teams", "org-1"))).isEqualTo(403);
+        assertThat(filter(request("/api/teams", null))).isEqualTo(200);
+    }
+
+    @Test
+    void shouldLetSuperAdminAndAnonymousRequestsThrough() throws Exception {
+        assertThat(filter(request("/api/organizations/org-2/teams", "org-2"))).isEqualTo(200);
+
+        authenticate("org-1", SecurityConstants.ROLE_SUPER_ADMIN);
+        assertThat(filter(request("/api/organizations/org-2/teams", "org-3"))).isEqualTo(200);
+    }
+
+    @Test
+    void shouldHonourConfiguredPatternsAndContextPath() throws Exception {
+        SecurityProperties.TenantIsolation properties = new SecurityProperties.TenantIsolation();
+        properties.setPathPatterns(List.of("/tenants/{tenant}/**"));
+        properties.setPathVariable("tenant");
+        TenantIsolationFilter custom = new TenantIsolationFilter(properties);
+        authenticate("org-1", SecurityConstants.ROLE_TEAM_MEMBER);
+
+        MockHttpServletRequest request = request("/svc/tenants/org-2/tasks", null);
+        request.setContextPath("/svc");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        custom.doFilter(request, response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(403);
+        assertThat(TenantIsolationFilter.literalPrefix("/tenants/{tenant}/**")).isEqualTo("/tenants/");
+        assertThat(TenantIsolationFilter.literalPrefix("/static")).isEqualTo("/static");
+    }
+
+    private int filter(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+
+    private static MockHttpServletRequest request(String uri, String organizationHeader) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        if (organizationHeader != null) {
+            request.addHeader(SecurityConstants.ORGANIZATION_HEADER, organizationHeader);
+        }
+        return request;
+    }
+
+    private static void authenticate(String organizationId, String role) {
+        UserPrincipal principal = new UserPrincipal("user-1", "user-1", organizationId, List.of(role), true);
+        SecurityContextHolder.getContext().setAuthentication(
+            new JwtAuthenticationToken("jwt", principal, principal.getAuthorities()));
+    }
+}